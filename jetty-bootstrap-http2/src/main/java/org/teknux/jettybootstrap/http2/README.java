@@ -0,0 +1,4 @@
+package org.teknux.jettybootstrap.http2;
+
+/** No Source and no Javadoc */
+public class README {}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.metrics;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.NetworkConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.teknux.jettybootstrap.handler.RequestStatisticsHandler;
+import org.teknux.jettybootstrap.statistics.ConnectorStatistics;
+import org.teknux.jettybootstrap.statistics.LatencyHistogram;
+import org.teknux.jettybootstrap.statistics.RequestStatistics;
+
+
+/**
+ * Context exposing the metrics of the server in the Prometheus text format, to be added with
+ * {@link org.teknux.jettybootstrap.JettyBootstrap#addHandler(org.eclipse.jetty.server.Handler)}.
+ * <p>
+ * Exposes the thread pool utilization, the connections and bytes of each connector, the JVM memory and garbage collections and, when
+ * {@link org.teknux.jettybootstrap.configuration.IJettyConfiguration#isStatisticsEnabled()} is set, the requests and latencies of each context. Connection metrics
+ * come from the {@link ConnectorStatistics} of the connectors when
+ * {@link org.teknux.jettybootstrap.configuration.IJettyConfiguration#isConnectionStatisticsEnabled()} is set. Otherwise a Jetty {@link ConnectionStatistics} is added
+ * on start to the connectors without one, which counts the TLS connections twice (once for the TLS layer, once for the HTTP connection). Bytes are counted when
+ * connections are closed.
+ */
+public class PrometheusMetricsHandler extends ContextHandler {
+
+    public static final String DEFAULT_CONTEXT_PATH = "/metrics";
+
+    private static final double MICROSECONDS_PER_SECOND = 1000000d;
+    private static final double MILLISECONDS_PER_SECOND = 1000d;
+    private static final String[] QUANTILES = { "0.5", "0.99", "0.999" };
+
+    public PrometheusMetricsHandler() {
+        this(DEFAULT_CONTEXT_PATH);
+    }
+
+    public PrometheusMetricsHandler(String contextPath) {
+        super(contextPath);
+        setAllowNullPathInfo(true);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        for (Connector connector : getServer().getConnectors()) {
+            if (connector.getBean(ConnectorStatistics.class) == null && connector.getBean(ConnectionStatistics.class) == null) {
+                connector.addBean(new ConnectionStatistics());
+            }
+        }
+
+        super.doStart();
+    }
+
+    @Override
+    public void doHandle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        baseRequest.setHandled(true);
+
+        if (!HttpMethod.GET.is(request.getMethod()) && !HttpMethod.HEAD.is(request.getMethod())) {
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        byte[] content = writeMetrics().toString().getBytes(StandardCharsets.UTF_8);
+
+        response.setContentType(PrometheusTextWriter.CONTENT_TYPE);
+        response.setContentLength(content.length);
+        if (HttpMethod.GET.is(request.getMethod())) {
+            response.getOutputStream().write(content);
+        }
+    }
+
+    /**
+     * Collect the metrics.
+     * 
+     * @return PrometheusTextWriter
+     */
+    protected PrometheusTextWriter writeMetrics() {
+        PrometheusTextWriter writer = new PrometheusTextWriter();
+
+        writeThreadPoolMetrics(writer, getServer().getThreadPool());
+        writeConnectorMetrics(writer, getServer().getConnectors());
+
+        RequestStatisticsHandler requestStatisticsHandler = getServer().getChildHandlerByClass(RequestStatisticsHandler.class);
+        if (requestStatisticsHandler != null) {
+            writeRequestMetrics(writer, requestStatisticsHandler);
+        }
+
+        writeJvmMetrics(writer);
+
+        return writer;
+    }
+
+    private void writeThreadPoolMetrics(PrometheusTextWriter writer, ThreadPool threadPool) {
+        writer.metric("jetty_threads", PrometheusTextWriter.TYPE_GAUGE, "Number of threads in the pool").sample("jetty_threads", threadPool.getThreads());
+        writer.metric("jetty_threads_idle", PrometheusTextWriter.TYPE_GAUGE, "Number of idle threads in the pool").sample("jetty_threads_idle",
+                threadPool.getIdleThreads());
+        writer.metric("jetty_threads_busy", PrometheusTextWriter.TYPE_GAUGE, "Number of busy threads in the pool").sample("jetty_threads_busy",
+                threadPool.getThreads() - threadPool.getIdleThreads());
+        writer.metric("jetty_threads_low", PrometheusTextWriter.TYPE_GAUGE, "1 if the pool is low on threads").sample("jetty_threads_low",
+                threadPool.isLowOnThreads() ? 1 : 0);
+
+        if (threadPool instanceof ThreadPool.SizedThreadPool) {
+            writer.metric("jetty_threads_max", PrometheusTextWriter.TYPE_GAUGE, "Max number of threads in the pool").sample("jetty_threads_max",
+                    ((ThreadPool.SizedThreadPool) threadPool).getMaxThreads());
+        }
+        if (threadPool instanceof QueuedThreadPool) {
+            writer.metric("jetty_queue_size", PrometheusTextWriter.TYPE_GAUGE, "Number of jobs waiting for a thread").sample("jetty_queue_size",
+                    ((QueuedThreadPool) threadPool).getQueueSize());
+        }
+    }
+
+    private void writeConnectorMetrics(PrometheusTextWriter writer, Connector[] connectors) {
+        List<ConnectorMetrics> connectorMetrics = new ArrayList<>();
+        for (Connector connector : connectors) {
+            ConnectorStatistics connectorStatistics = connector.getBean(ConnectorStatistics.class);
+            if (connectorStatistics != null) {
+                connectorMetrics.add(new ConnectorMetrics(getConnectorName(connector), connectorStatistics));
+                continue;
+            }
+
+            ConnectionStatistics connectionStatistics = connector.getBean(ConnectionStatistics.class);
+            if (connectionStatistics != null) {
+                connectorMetrics.add(new ConnectorMetrics(getConnectorName(connector), connectionStatistics));
+            }
+        }
+
+        writer.metric("jetty_connections", PrometheusTextWriter.TYPE_GAUGE, "Number of open connections");
+        for (ConnectorMetrics metrics : connectorMetrics) {
+            writer.sample("jetty_connections", metrics.connections, "connector", metrics.name);
+        }
+        writer.metric("jetty_connections_max", PrometheusTextWriter.TYPE_GAUGE, "Max number of simultaneously open connections");
+        for (ConnectorMetrics metrics : connectorMetrics) {
+            writer.sample("jetty_connections_max", metrics.connectionsMax, "connector", metrics.name);
+        }
+        writer.metric("jetty_connections_total", PrometheusTextWriter.TYPE_COUNTER, "Number of opened connections");
+        for (ConnectorMetrics metrics : connectorMetrics) {
+            writer.sample("jetty_connections_total", metrics.connectionsTotal, "connector", metrics.name);
+        }
+        writer.metric("jetty_connections_received_bytes_total", PrometheusTextWriter.TYPE_COUNTER, "Bytes received by the closed connections");
+        for (ConnectorMetrics metrics : connectorMetrics) {
+            writer.sample("jetty_connections_received_bytes_total", metrics.receivedBytes, "connector", metrics.name);
+        }
+        writer.metric("jetty_connections_sent_bytes_total", PrometheusTextWriter.TYPE_COUNTER, "Bytes sent by the closed connections");
+        for (ConnectorMetrics metrics : connectorMetrics) {
+            writer.sample("jetty_connections_sent_bytes_total", metrics.sentBytes, "connector", metrics.name);
+        }
+    }
+
+    private void writeRequestMetrics(PrometheusTextWriter writer, RequestStatisticsHandler requestStatisticsHandler) {
+        List<RequestStatistics> requestStatistics = new ArrayList<>();
+        requestStatistics.add(requestStatisticsHandler.getServerStatistics());
+        for (Map.Entry<String, RequestStatistics> entry : requestStatisticsHandler.getContextStatistics().entrySet()) {
+            requestStatistics.add(entry.getValue());
+        }
+
+        writer.metric("jetty_requests_total", PrometheusTextWriter.TYPE_COUNTER, "Number of requests");
+        for (RequestStatistics statistics : requestStatistics) {
+            writer.sample("jetty_requests_total", statistics.getRequests(), "context", statistics.getName());
+        }
+        writer.metric("jetty_requests_active", PrometheusTextWriter.TYPE_GAUGE, "Number of requests being handled");
+        for (RequestStatistics statistics : requestStatistics) {
+            writer.sample("jetty_requests_active", statistics.getActiveRequests(), "context", statistics.getName());
+        }
+        writer.metric("jetty_responses_total", PrometheusTextWriter.TYPE_COUNTER, "Number of responses by status class");
+        for (RequestStatistics statistics : requestStatistics) {
+            writer.sample("jetty_responses_total", statistics.getResponses1xx(), "context", statistics.getName(), "code", "1xx");
+            writer.sample("jetty_responses_total", statistics.getResponses2xx(), "context", statistics.getName(), "code", "2xx");
+            writer.sample("jetty_responses_total", statistics.getResponses3xx(), "context", statistics.getName(), "code", "3xx");
+            writer.sample("jetty_responses_total", statistics.getResponses4xx(), "context", statistics.getName(), "code", "4xx");
+            writer.sample("jetty_responses_total", statistics.getResponses5xx(), "context", statistics.getName(), "code", "5xx");
+        }
+        writer.metric("jetty_request_duration_seconds", PrometheusTextWriter.TYPE_SUMMARY, "Latency of the requests");
+        for (RequestStatistics statistics : requestStatistics) {
+            LatencyHistogram latencies = statistics.getLatencies();
+            for (String quantile : QUANTILES) {
+                writer.sample("jetty_request_duration_seconds", latencies.getValueAtPercentile(Double.parseDouble(quantile) * 100) / MICROSECONDS_PER_SECOND, "context",
+                        statistics.getName(), "quantile", quantile);
+            }
+            writer.sample("jetty_request_duration_seconds_sum", latencies.getSum() / MICROSECONDS_PER_SECOND, "context", statistics.getName());
+            writer.sample("jetty_request_duration_seconds_count", latencies.getCount(), "context", statistics.getName());
+        }
+    }
+
+    private void writeJvmMetrics(PrometheusTextWriter writer) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        writer.metric("jvm_memory_bytes_used", PrometheusTextWriter.TYPE_GAUGE, "Used memory").sample("jvm_memory_bytes_used", heap.getUsed(), "area", "heap")
+                .sample("jvm_memory_bytes_used", nonHeap.getUsed(), "area", "nonheap");
+        writer.metric("jvm_memory_bytes_committed", PrometheusTextWriter.TYPE_GAUGE, "Committed memory")
+                .sample("jvm_memory_bytes_committed", heap.getCommitted(), "area", "heap").sample("jvm_memory_bytes_committed", nonHeap.getCommitted(), "area", "nonheap");
+        writer.metric("jvm_memory_bytes_max", PrometheusTextWriter.TYPE_GAUGE, "Max memory, -1 if undefined").sample("jvm_memory_bytes_max", heap.getMax(), "area", "heap")
+                .sample("jvm_memory_bytes_max", nonHeap.getMax(), "area", "nonheap");
+
+        List<MemoryPoolMXBean> memoryPools = ManagementFactory.getMemoryPoolMXBeans();
+        writer.metric("jvm_memory_pool_bytes_used", PrometheusTextWriter.TYPE_GAUGE, "Used memory by pool");
+        for (MemoryPoolMXBean memoryPool : memoryPools) {
+            writer.sample("jvm_memory_pool_bytes_used", memoryPool.getUsage().getUsed(), "pool", memoryPool.getName());
+        }
+
+        List<GarbageCollectorMXBean> garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+        writer.metric("jvm_gc_collections_total", PrometheusTextWriter.TYPE_COUNTER, "Number of garbage collections");
+        for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+            writer.sample("jvm_gc_collections_total", garbageCollector.getCollectionCount(), "gc", garbageCollector.getName());
+        }
+        writer.metric("jvm_gc_collection_seconds_total", PrometheusTextWriter.TYPE_COUNTER, "Time spent in garbage collections");
+        for (GarbageCollectorMXBean garbageCollector : garbageCollectors) {
+            writer.sample("jvm_gc_collection_seconds_total", garbageCollector.getCollectionTime() / MILLISECONDS_PER_SECOND, "gc", garbageCollector.getName());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        writer.metric("jvm_threads_current", PrometheusTextWriter.TYPE_GAUGE, "Number of live threads").sample("jvm_threads_current", threads.getThreadCount());
+        writer.metric("jvm_threads_daemon", PrometheusTextWriter.TYPE_GAUGE, "Number of live daemon threads").sample("jvm_threads_daemon", threads.getDaemonThreadCount());
+    }
+
+    private static String getConnectorName(Connector connector) {
+        if (connector.getName() != null) {
+            return connector.getName();
+        }
+
+        StringBuilder name = new StringBuilder(String.join("+", connector.getProtocols()));
+        if (connector instanceof NetworkConnector) {
+            NetworkConnector networkConnector = (NetworkConnector) connector;
+            name.append('@').append(networkConnector.getHost() == null ? "0.0.0.0" : networkConnector.getHost()).append(':').append(networkConnector.getLocalPort());
+        }
+
+        return name.toString();
+    }
+
+    /**
+     * Connection metrics of a connector, read from its {@link ConnectorStatistics} or from Jetty's {@link ConnectionStatistics}.
+     */
+    private static class ConnectorMetrics {
+
+        private final String name;
+        private final long connections;
+        private final long connectionsMax;
+        private final long connectionsTotal;
+        private final long receivedBytes;
+        private final long sentBytes;
+
+        public ConnectorMetrics(String name, ConnectorStatistics statistics) {
+            this.name = name;
+            this.connections = statistics.getConnections();
+            this.connectionsMax = statistics.getConnectionsMax();
+            this.connectionsTotal = statistics.getConnectionsOpened();
+            this.receivedBytes = statistics.getBytesIn();
+            this.sentBytes = statistics.getBytesOut();
+        }
+
+        public ConnectorMetrics(String name, ConnectionStatistics statistics) {
+            this.name = name;
+            this.connections = statistics.getConnections();
+            this.connectionsMax = statistics.getConnectionsMax();
+            this.connectionsTotal = statistics.getConnectionsTotal();
+            this.receivedBytes = statistics.getReceivedBytes();
+            this.sentBytes = statistics.getSentBytes();
+        }
+    }
+}
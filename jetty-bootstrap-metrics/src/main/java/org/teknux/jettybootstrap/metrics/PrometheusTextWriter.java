@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.metrics;
+
+/**
+ * Builds a document in the Prometheus text exposition format (version 0.0.4).
+ * <p>
+ * The samples of a metric must be written right after its header, before the header of the next metric.
+ */
+public class PrometheusTextWriter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    public static final String TYPE_GAUGE = "gauge";
+    public static final String TYPE_COUNTER = "counter";
+    public static final String TYPE_SUMMARY = "summary";
+
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Write the header of a metric.
+     * 
+     * @param name
+     *            metric name
+     * @param type
+     *            {@value #TYPE_GAUGE}, {@value #TYPE_COUNTER} or {@value #TYPE_SUMMARY}
+     * @param help
+     *            description
+     * @return this
+     */
+    public PrometheusTextWriter metric(String name, String type, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+
+        return this;
+    }
+
+    /**
+     * Write a sample.
+     * 
+     * @param name
+     *            sample name
+     * @param value
+     *            sample value
+     * @param labels
+     *            label names and values, alternately
+     * @return this
+     */
+    public PrometheusTextWriter sample(String name, double value, String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name and value pairs");
+        }
+
+        text.append(name);
+        if (labels.length > 0) {
+            text.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    text.append(',');
+                }
+                text.append(labels[i]).append("=\"");
+                appendLabelValue(labels[i + 1]);
+                text.append('"');
+            }
+            text.append('}');
+        }
+        text.append(' ');
+        appendValue(value);
+        text.append('\n');
+
+        return this;
+    }
+
+    private void appendLabelValue(String value) {
+        if (value == null) {
+            return;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    text.append("\\\\");
+                    break;
+                case '"':
+                    text.append("\\\"");
+                    break;
+                case '\n':
+                    text.append("\\n");
+                    break;
+                default:
+                    text.append(c);
+            }
+        }
+    }
+
+    private void appendValue(double value) {
+        if (Double.isNaN(value)) {
+            text.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            text.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            text.append((long) value);
+        } else {
+            text.append(value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.io.ConnectionStatistics;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.teknux.jettybootstrap.JettyBootstrap;
+import org.teknux.jettybootstrap.JettyBootstrapException;
+import org.teknux.jettybootstrap.configuration.JettyConfiguration;
+import org.teknux.jettybootstrap.configuration.JettyConnector;
+import org.teknux.jettybootstrap.metrics.PrometheusMetricsHandler;
+import org.teknux.jettybootstrap.metrics.PrometheusTextWriter;
+
+
+public class PrometheusMetricsHandlerTest {
+
+	private static final String HOST = "127.0.0.1";
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private JettyBootstrap jettyBootstrap = null;
+
+	@After
+	public void stopServer() throws JettyBootstrapException {
+		if (jettyBootstrap != null) {
+			jettyBootstrap.stopServer();
+		}
+	}
+
+	@Test
+	public void metricsTest() throws IOException, JettyBootstrapException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setStopAtShutdown(false);
+		jettyConfiguration.setAutoJoinOnStart(false);
+		jettyConfiguration.setTempDirectory(temporaryFolder.newFolder());
+		jettyConfiguration.setHost(HOST);
+		jettyConfiguration.setPort(0);
+		jettyConfiguration.setJettyConnectors(JettyConnector.HTTP);
+		jettyConfiguration.setStatisticsEnabled(true);
+
+		jettyBootstrap = new JettyBootstrap(jettyConfiguration);
+		jettyBootstrap.addHandler(new PrometheusMetricsHandler());
+		jettyBootstrap.startServer();
+
+		URL url = new URL("http://" + HOST + ":" + ((ServerConnector) jettyBootstrap.getServer().getConnectors()[0]).getLocalPort() + "/metrics");
+		get(url);
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		Assert.assertEquals(200, connection.getResponseCode());
+		Assert.assertEquals(PrometheusTextWriter.CONTENT_TYPE, connection.getContentType().toLowerCase());
+
+		String metrics = get(url);
+		Assert.assertTrue(metrics.contains("# TYPE jetty_threads gauge\njetty_threads "));
+		Assert.assertTrue(metrics.contains("\njetty_queue_size "));
+		Assert.assertTrue(metrics.contains("\njetty_connections_total{connector=\"http/1.1@" + HOST + ":"));
+		Assert.assertTrue(metrics.contains("\njetty_requests_total{context=\"/metrics\"} "));
+		Assert.assertTrue(metrics.contains("\njetty_responses_total{context=\"server\",code=\"2xx\"} "));
+		Assert.assertTrue(metrics.contains("\njetty_request_duration_seconds{context=\"/metrics\",quantile=\"0.99\"} "));
+		Assert.assertTrue(metrics.contains("\njvm_memory_bytes_used{area=\"heap\"} "));
+		Assert.assertTrue(metrics.contains("\njvm_threads_current "));
+	}
+
+	@Test
+	public void connectorStatisticsTest() throws IOException, JettyBootstrapException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setStopAtShutdown(false);
+		jettyConfiguration.setAutoJoinOnStart(false);
+		jettyConfiguration.setTempDirectory(temporaryFolder.newFolder());
+		jettyConfiguration.setHost(HOST);
+		jettyConfiguration.setPort(0);
+		jettyConfiguration.setJettyConnectors(JettyConnector.HTTP);
+		jettyConfiguration.setConnectionStatisticsEnabled(true);
+
+		jettyBootstrap = new JettyBootstrap(jettyConfiguration);
+		jettyBootstrap.addHandler(new PrometheusMetricsHandler());
+		jettyBootstrap.startServer();
+
+		// the connector statistics are used instead of Jetty's, which count the TLS connections twice
+		ServerConnector serverConnector = (ServerConnector) jettyBootstrap.getServer().getConnectors()[0];
+		Assert.assertNull(serverConnector.getBean(ConnectionStatistics.class));
+
+		URL url = new URL("http://" + HOST + ":" + serverConnector.getLocalPort() + "/metrics");
+		String metrics = get(url);
+		long connectionsOpened = jettyBootstrap.getConnectorStatistics().get(JettyBootstrap.CONNECTOR_NAME_HTTP).getConnectionsOpened();
+		Assert.assertTrue(connectionsOpened > 0);
+		Assert.assertTrue(metrics.contains("\njetty_connections_total{connector=\"http/1.1@" + HOST + ":" + serverConnector.getLocalPort() + "\"} " + connectionsOpened + "\n"));
+	}
+
+	@Test
+	public void textWriterTest() {
+		PrometheusTextWriter writer = new PrometheusTextWriter();
+		writer.metric("test_metric", PrometheusTextWriter.TYPE_GAUGE, "Test").sample("test_metric", 1.5, "label", "a\"b\\c\nd").sample("test_metric", 2);
+
+		Assert.assertEquals("# HELP test_metric Test\n# TYPE test_metric gauge\ntest_metric{label=\"a\\\"b\\\\c\\nd\"} 1.5\ntest_metric 2\n", writer.toString());
+	}
+
+	private static String get(URL url) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try (InputStream inputStream = connection.getInputStream()) {
+			return IOUtils.toString(inputStream, StandardCharsets.UTF_8.name());
+		}
+	}
+}
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.standalone;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.teknux.jettybootstrap.JettyBootstrap;
+import org.teknux.jettybootstrap.JettyBootstrapException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+
+/**
+ * Watches a deploy directory, deploying, redeploying and undeploying its web applications (war files, directories) as they are added, changed and removed.
+ * <p>
+ * A change is applied once the application has not changed for the debounce delay and its checksum is the same as on the previous check, one debounce delay earlier,
+ * so that an application being copied is never deployed. A war file must also be a readable zip file. The checksum of a directory covers the paths, sizes and
+ * modification times of its files.
+ */
+public class DeployDirectoryWatcher implements Runnable, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DeployDirectoryWatcher.class);
+    private static final String CHECKSUM_ALGORITHM = "MD5";
+
+    /**
+     * Default debounce delay (in ms)
+     */
+    public static final long DEFAULT_DEBOUNCE = 1000;
+
+    private final JettyBootstrap jettyBootstrap;
+    private final Path directory;
+    private final long debounceNanos;
+    private final WatchService watchService;
+
+    // Watched directories (the deploy directory and the directories of the exploded applications) by key
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    // Time (System.nanoTime) of the last change of the changed applications, by name in the deploy directory
+    private final Map<String, Long> changeTimes = new HashMap<>();
+    // Checksum of the changed applications on their last check
+    private final Map<String, String> checkedChecksums = new HashMap<>();
+    private final Map<String, Deployment> deployments = new HashMap<>();
+
+    /**
+     * @param jettyBootstrap
+     *            JettyBootstrap the applications are deployed on
+     * @param directory
+     *            the deploy directory, created if necessary. The applications already in the directory are deployed on the first check
+     * @param debounce
+     *            the delay (in ms) without change after which a change is applied
+     * @throws IOException
+     *             if the directory can not be created or watched
+     */
+    public DeployDirectoryWatcher(JettyBootstrap jettyBootstrap, File directory, long debounce) throws IOException {
+        this.jettyBootstrap = jettyBootstrap;
+        this.directory = Files.createDirectories(directory.toPath()).toAbsolutePath();
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounce);
+        this.watchService = this.directory.getFileSystem().newWatchService();
+
+        register(this.directory);
+        scan();
+    }
+
+    /**
+     * Watches the deploy directory until the server stops, the thread is interrupted or the watcher is closed.
+     */
+    @Override
+    public void run() {
+        try {
+            while (jettyBootstrap.isServerStarted() && !Thread.currentThread().isInterrupted()) {
+                WatchKey watchKey = watchService.poll(debounceNanos, TimeUnit.NANOSECONDS);
+                if (watchKey != null) {
+                    processEvents(watchKey);
+                }
+
+                applyChanges();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            LOG.debug("Watcher of [{}] closed", directory);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void processEvents(WatchKey watchKey) {
+        Path watchedDirectory = watchedDirectories.get(watchKey);
+
+        for (WatchEvent<?> event : watchKey.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // events lost, checks all the applications
+                scan();
+                for (String name : deployments.keySet()) {
+                    changed(name);
+                }
+                continue;
+            }
+
+            Path path = watchedDirectory.resolve((Path) event.context());
+            changed(directory.relativize(path).getName(0).toString());
+
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                register(path);
+            }
+        }
+
+        if (!watchKey.reset()) {
+            watchedDirectories.remove(watchKey);
+        }
+    }
+
+    private void applyChanges() {
+        long now = System.nanoTime();
+
+        Iterator<Map.Entry<String, Long>> iterator = changeTimes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> changeTime = iterator.next();
+            if (now - changeTime.getValue() < debounceNanos) {
+                continue;
+            }
+
+            String name = changeTime.getKey();
+            File file = directory.resolve(name).toFile();
+            if (!Main.isApp(file)) {
+                iterator.remove();
+                checkedChecksums.remove(name);
+                undeploy(name);
+                continue;
+            }
+
+            String checksum = checksum(file);
+            if (checksum == null || !checksum.equals(checkedChecksums.put(name, checksum))) {
+                // still changing, checked again after the debounce delay
+                changeTime.setValue(now);
+                continue;
+            }
+
+            iterator.remove();
+            checkedChecksums.remove(name);
+            deploy(name, file, checksum);
+        }
+    }
+
+    private void deploy(String name, File file, String checksum) {
+        Deployment deployment = deployments.get(name);
+        if (deployment != null && deployment.checksum.equals(checksum)) {
+            return;
+        }
+
+        String contextPath = Main.getContextPath(file);
+        try {
+            if (deployment == null) {
+                // Deployed from this directory or added to JettyBootstrap otherwise
+                if (jettyBootstrap.getContextPaths().contains(contextPath)) {
+                    LOG.warn("Context path [{}] of [{}] already deployed. Ignore application", contextPath, file);
+                    return;
+                }
+
+                Main.addApp(jettyBootstrap, file);
+            } else {
+                jettyBootstrap.redeploy(contextPath);
+            }
+
+            deployments.put(name, new Deployment(contextPath, checksum));
+        } catch (JettyBootstrapException e) {
+            LOG.error("Can't deploy [{}]", file, e);
+        }
+    }
+
+    private void undeploy(String name) {
+        Deployment deployment = deployments.remove(name);
+        if (deployment == null) {
+            return;
+        }
+
+        try {
+            jettyBootstrap.undeploy(deployment.contextPath);
+        } catch (JettyBootstrapException e) {
+            LOG.error("Can't undeploy [{}]", deployment.contextPath, e);
+        }
+    }
+
+    /**
+     * Marks all the entries of the deploy directory as changed, and watches the directories.
+     */
+    private void scan() {
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+            for (Path path : paths) {
+                changed(path.getFileName().toString());
+
+                if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    register(path);
+                }
+            }
+        } catch (IOException e) {
+            LOG.error("Can't list [{}]", directory, e);
+        }
+    }
+
+    private void changed(String name) {
+        changeTimes.put(name, System.nanoTime());
+    }
+
+    /**
+     * Watches the directory and its sub directories.
+     */
+    private void register(Path directory) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!watchedDirectories.containsValue(dir)) {
+                        watchedDirectories.put(dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                                StandardWatchEventKinds.ENTRY_DELETE), dir);
+                    }
+
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            LOG.warn("Can't watch [{}]", directory, e);
+        }
+    }
+
+    /**
+     * @return checksum of the application, <code>null</code> if it can not be read (a war file being copied is not a valid zip file)
+     */
+    private static String checksum(File file) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+
+            if (file.isDirectory()) {
+                List<Path> paths;
+                try (Stream<Path> stream = Files.walk(file.toPath())) {
+                    paths = stream.sorted().collect(Collectors.toList());
+                }
+                for (Path path : paths) {
+                    File pathFile = path.toFile();
+                    messageDigest.update((path + "|" + pathFile.length() + "|" + pathFile.lastModified() + "\n").getBytes());
+                }
+            } else {
+                try (ZipFile zipFile = new ZipFile(file)) {
+                    zipFile.size();
+                }
+                try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file.toPath()), messageDigest)) {
+                    byte[] buffer = new byte[8192];
+                    while (inputStream.read(buffer) >= 0) {
+                        // digested while read
+                    }
+                }
+            }
+
+            StringBuilder stringBuilder = new StringBuilder();
+            for (byte byt : messageDigest.digest()) {
+                stringBuilder.append(String.format("%02x", byt & 0xff));
+            }
+
+            return stringBuilder.toString();
+        } catch (IOException | UncheckedIOException e) {
+            LOG.debug("Can't read [{}]", file, e);
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Deployed application.
+     */
+    private static class Deployment {
+
+        private final String contextPath;
+        private final String checksum;
+
+        public Deployment(String contextPath, String checksum) {
+            this.contextPath = contextPath;
+            this.checksum = checksum;
+        }
+    }
+}
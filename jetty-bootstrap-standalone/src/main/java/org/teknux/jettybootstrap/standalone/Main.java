@@ -27,6 +27,9 @@ import org.teknux.jettybootstrap.JettyBootstrap;
 import org.teknux.jettybootstrap.JettyBootstrapException;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -36,53 +39,111 @@ public class Main {
 
     private static final Logger LOG = LoggerFactory.getLogger(Main.class);
     private static final String WAR_FILE_SUFFIX = ".war";
+    private static final String WATCH_OPTION = "--watch";
 
     /**
      * @param args
-     *            each argument is a web application (war file, directory).
+     *            each argument is a web application (war file, directory), or <code>--watch</code> followed by a deploy directory whose web applications are
+     *            deployed, redeployed and undeployed as they are added, changed and removed.
      * @throws JettyBootstrapException
      *             on failure
      */
     public static void main(String[] args) throws JettyBootstrapException {
-        if (args.length == 0) {
+        List<File> files = new ArrayList<>();
+        File deployDirectory = null;
+        for (int i = 0; i < args.length; i++) {
+            if (WATCH_OPTION.equals(args[i]) && i + 1 < args.length) {
+                deployDirectory = new File(args[++i]);
+            } else {
+                files.add(new File(args[i]));
+            }
+        }
+
+        if (files.isEmpty() && deployDirectory == null) {
             LOG.warn("Nothing to deploy, Exiting...");
         } else {
             JettyBootstrap jettyBootstrap = new JettyBootstrap();
 
-            for (String arg : args) {
-                File file = new File(arg);
-
+            for (File file : files) {
                 if (!file.exists()) {
                     LOG.warn("File [{}] doesn't exists. Ignore application", file);
                 } else {
+                    addApp(jettyBootstrap, file);
+                }
+            }
 
-                    String fileName;
-                    if (file.isFile() && file.getName().toLowerCase().endsWith(WAR_FILE_SUFFIX)) {
-                        fileName = file.getName().substring(0, file.getName().length() - WAR_FILE_SUFFIX.length());
-                    } else {
-                        fileName =  file.getName();
-                    }
-
-                    String contextPath = "/";
-                    if (! fileName.equals("ROOT")) {
-                        contextPath += fileName;
-                    }
-
-                    if (file.isDirectory()) {
-                        LOG.debug("[{}] exists and is a directory. Adding Exploded War Application...", file);
-                        jettyBootstrap.addExplodedWarApp(file.getPath(), null, contextPath);
-                    } else {
-                        if (file.isFile() && file.getName().toLowerCase().endsWith(".war")) {
-                            LOG.debug("[{}] exists and is a war file. Add War Application...", file);
-                            jettyBootstrap.addWarApp(file.getPath(), contextPath);
-                        } else {
-                            LOG.warn("[{}] exists but is an unknown file. Ignore application", file);
-                        }
-                    }
+            if (deployDirectory == null) {
+                jettyBootstrap.startServer();
+            } else {
+                try (DeployDirectoryWatcher deployDirectoryWatcher = new DeployDirectoryWatcher(jettyBootstrap, deployDirectory, DeployDirectoryWatcher.DEFAULT_DEBOUNCE)) {
+                    jettyBootstrap.startServer(false);
+
+                    LOG.info("Watching [{}]...", deployDirectory);
+                    deployDirectoryWatcher.run();
+                } catch (IOException e) {
+                    throw new JettyBootstrapException(e);
                 }
             }
+        }
+    }
+
+    /**
+     * Add the web application of an existing file.
+     * 
+     * @param jettyBootstrap
+     *            JettyBootstrap
+     * @param file
+     *            war file or directory
+     * @throws JettyBootstrapException
+     *             on failure
+     */
+    static void addApp(JettyBootstrap jettyBootstrap, File file) throws JettyBootstrapException {
+        String contextPath = getContextPath(file);
 
-            jettyBootstrap.startServer();
+        if (file.isDirectory()) {
+            LOG.debug("[{}] exists and is a directory. Adding Exploded War Application...", file);
+            jettyBootstrap.addExplodedWarApp(file.getPath(), null, contextPath);
+        } else {
+            if (isWarFile(file)) {
+                LOG.debug("[{}] exists and is a war file. Add War Application...", file);
+                jettyBootstrap.addWarApp(file.getPath(), contextPath);
+            } else {
+                LOG.warn("[{}] exists but is an unknown file. Ignore application", file);
+            }
         }
     }
+
+    /**
+     * @param file
+     *            war file or directory
+     * @return the context path of the web application of the file: its name without the war extension, the root context path for <code>ROOT</code>
+     */
+    static String getContextPath(File file) {
+        String fileName;
+        if (isWarFile(file)) {
+            fileName = file.getName().substring(0, file.getName().length() - WAR_FILE_SUFFIX.length());
+        } else {
+            fileName =  file.getName();
+        }
+
+        String contextPath = "/";
+        if (! fileName.equals("ROOT")) {
+            contextPath += fileName;
+        }
+
+        return contextPath;
+    }
+
+    /**
+     * @param file
+     *            File
+     * @return <code>true</code> if the file is a war file or a directory
+     */
+    static boolean isApp(File file) {
+        return file.isDirectory() || isWarFile(file);
+    }
+
+    private static boolean isWarFile(File file) {
+        return file.isFile() && file.getName().toLowerCase().endsWith(WAR_FILE_SUFFIX);
+    }
 }
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.standalone;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.webapp.WebAppContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.MethodSorters;
+import org.teknux.jettybootstrap.JettyBootstrap;
+import org.teknux.jettybootstrap.JettyBootstrapException;
+import org.teknux.jettybootstrap.configuration.JettyConfiguration;
+import org.teknux.jettybootstrap.configuration.JettyConnector;
+import org.teknux.jettybootstrap.standalone.DeployDirectoryWatcher;
+
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DeployDirectoryWatcherTest {
+
+	private static final String HOST = "127.0.0.1";
+	private static final long DEBOUNCE = 200;
+	private static final long TIMEOUT = 10000;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private JettyBootstrap jettyBootstrap = null;
+	private File deployDirectory = null;
+	private DeployDirectoryWatcher deployDirectoryWatcher = null;
+	private Thread watcherThread = null;
+
+	@Before
+	public void startServer() throws IOException, JettyBootstrapException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setStopAtShutdown(false);
+		jettyConfiguration.setAutoJoinOnStart(false);
+		jettyConfiguration.setTempDirectory(temporaryFolder.newFolder());
+		jettyConfiguration.setHost(HOST);
+		jettyConfiguration.setPort(0);
+		jettyConfiguration.setJettyConnectors(JettyConnector.HTTP);
+
+		jettyBootstrap = new JettyBootstrap(jettyConfiguration);
+		jettyBootstrap.addHandler(createTakenContext());
+		jettyBootstrap.startServer();
+
+		deployDirectory = temporaryFolder.newFolder();
+		deployDirectoryWatcher = new DeployDirectoryWatcher(jettyBootstrap, deployDirectory, DEBOUNCE);
+		watcherThread = new Thread(deployDirectoryWatcher);
+		watcherThread.start();
+	}
+
+	@After
+	public void stopServer() throws IOException, InterruptedException, JettyBootstrapException {
+		if (deployDirectoryWatcher != null) {
+			deployDirectoryWatcher.close();
+			watcherThread.join(TIMEOUT);
+		}
+		if (jettyBootstrap != null) {
+			jettyBootstrap.stopServer();
+		}
+	}
+
+	@Test
+	public void test01Debounce() throws Exception {
+		File app = new File(deployDirectory, "app");
+		long start = System.nanoTime();
+		FileUtils.writeStringToFile(new File(app, "index.html"), "App", StandardCharsets.UTF_8);
+
+		// applied once unchanged for the debounce delay
+		Assert.assertNull(get("/app/index.html"));
+		waitContent("/app/index.html", "App");
+		Assert.assertTrue(System.nanoTime() - start >= DEBOUNCE * 1000000);
+	}
+
+	@Test
+	public void test02HalfCopiedWar() throws Exception {
+		byte[] war = createWar("War");
+		File warFile = new File(deployDirectory, "war.war");
+
+		// not a readable zip file yet
+		Files.write(warFile.toPath(), Arrays.copyOf(war, war.length / 2));
+		Thread.sleep(DEBOUNCE * 5);
+		Assert.assertNull(get("/war/index.html"));
+
+		Files.write(warFile.toPath(), war);
+		waitContent("/war/index.html", "War");
+	}
+
+	@Test
+	public void test03Redeploy() throws Exception {
+		File warFile = new File(deployDirectory, "war.war");
+		Files.write(warFile.toPath(), createWar("Deployed"));
+		waitContent("/war/index.html", "Deployed");
+
+		Files.write(warFile.toPath(), createWar("Redeployed"));
+		waitContent("/war/index.html", "Redeployed");
+	}
+
+	@Test
+	public void test04Undeploy() throws Exception {
+		File warFile = new File(deployDirectory, "war.war");
+		Files.write(warFile.toPath(), createWar("Deployed"));
+		waitContent("/war/index.html", "Deployed");
+
+		Assert.assertTrue(warFile.delete());
+		waitContent("/war/index.html", null);
+		Assert.assertFalse(jettyBootstrap.getContextPaths().contains("/war"));
+	}
+
+	@Test
+	public void test05ContextPathAlreadyDeployed() throws Exception {
+		// the context path of a handler added to JettyBootstrap
+		FileUtils.writeStringToFile(new File(new File(deployDirectory, "taken"), "index.html"), "Watched", StandardCharsets.UTF_8);
+		Thread.sleep(DEBOUNCE * 5);
+
+		Assert.assertEquals("Taken", get("/taken/index.html"));
+		Assert.assertEquals(0, jettyBootstrap.getServer().getChildHandlersByClass(WebAppContext.class).length);
+	}
+
+	private String get(String path) throws IOException, JettyBootstrapException {
+		URL url = new URL("http://" + HOST + ":" + ((ServerConnector) jettyBootstrap.getServer().getConnectors()[0]).getLocalPort() + path);
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+				return null;
+			}
+			try (InputStream inputStream = connection.getInputStream()) {
+				return IOUtils.toString(inputStream, StandardCharsets.UTF_8.name());
+			}
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	private void waitContent(String path, String content) throws IOException, InterruptedException, JettyBootstrapException {
+		long timeout = System.currentTimeMillis() + TIMEOUT;
+		while (!Objects.equals(content, get(path)) && System.currentTimeMillis() < timeout) {
+			Thread.sleep(50);
+		}
+		Assert.assertEquals(content, get(path));
+	}
+
+	private static byte[] createWar(String content) throws IOException {
+		ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		try (ZipOutputStream zipOutputStream = new ZipOutputStream(byteArrayOutputStream)) {
+			zipOutputStream.putNextEntry(new ZipEntry("index.html"));
+			zipOutputStream.write(content.getBytes(StandardCharsets.UTF_8));
+			zipOutputStream.closeEntry();
+		}
+
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	private static ServletContextHandler createTakenContext() {
+		ServletContextHandler context = new ServletContextHandler();
+		context.setContextPath("/taken");
+		context.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				resp.getWriter().print("Taken");
+			}
+		}), "/*");
+
+		return context;
+	}
+}
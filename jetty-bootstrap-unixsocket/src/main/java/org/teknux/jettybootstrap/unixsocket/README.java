@@ -0,0 +1,4 @@
+package org.teknux.jettybootstrap.unixsocket;
+
+/** No Source and no Javadoc */
+public class README {}
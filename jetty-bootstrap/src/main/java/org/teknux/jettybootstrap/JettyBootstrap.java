@@ -23,37 +23,93 @@ package org.teknux.jettybootstrap;
 
 import org.apache.commons.io.FileUtils;
 import org.eclipse.jetty.http.HttpScheme;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.jmx.ConnectorServer;
+import org.eclipse.jetty.jmx.MBeanContainer;
+import org.eclipse.jetty.server.AbstractConnector;
 import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.ForwardedRequestCustomizer;
 import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HandlerContainer;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.LowResourceMonitor;
+import org.eclipse.jetty.server.ProxyConnectionFactory;
+import org.eclipse.jetty.server.RequestLog;
+import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.server.handler.ContextHandlerCollection;
 import org.eclipse.jetty.server.handler.HandlerList;
+import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.ExecutorThreadPool;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
 import org.eclipse.jetty.webapp.WebAppContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.teknux.jettybootstrap.accesslog.AccessLogWriter;
+import org.teknux.jettybootstrap.accesslog.AsyncAccessLog;
+import org.teknux.jettybootstrap.accesslog.RolloverFileAccessLogWriter;
+import org.teknux.jettybootstrap.accesslog.Slf4jAccessLogWriter;
 import org.teknux.jettybootstrap.configuration.IJettyConfiguration;
+import org.teknux.jettybootstrap.configuration.JettyAccessLogMode;
 import org.teknux.jettybootstrap.configuration.JettyConnector;
+import org.teknux.jettybootstrap.configuration.JettyThreadPoolMode;
 import org.teknux.jettybootstrap.configuration.PropertiesJettyConfiguration;
+import org.teknux.jettybootstrap.handler.AbstractAppJettyHandler;
+import org.teknux.jettybootstrap.handler.DeploymentHandler;
 import org.teknux.jettybootstrap.handler.ExplodedWarAppJettyHandler;
 import org.teknux.jettybootstrap.handler.JettyHandler;
+import org.teknux.jettybootstrap.handler.PooledGzipHandler;
+import org.teknux.jettybootstrap.handler.RequestDrainHandler;
+import org.teknux.jettybootstrap.handler.RequestStatisticsHandler;
+import org.teknux.jettybootstrap.handler.SlowRequestHandler;
+import org.teknux.jettybootstrap.handler.VirtualHostRoutingHandler;
 import org.teknux.jettybootstrap.handler.WarAppFromClasspathJettyHandler;
 import org.teknux.jettybootstrap.handler.WarAppJettyHandler;
+import org.teknux.jettybootstrap.handler.util.HandlerCollectionUtil;
+import org.teknux.jettybootstrap.io.AcceptGate;
+import org.teknux.jettybootstrap.io.BoundedByteBufferPool;
+import org.teknux.jettybootstrap.io.ConnectionLimiter;
+import org.teknux.jettybootstrap.io.GatedLowResourceMonitor;
 import org.teknux.jettybootstrap.keystore.JettyKeystoreConvertorBuilder;
 import org.teknux.jettybootstrap.keystore.JettyKeystoreException;
 import org.teknux.jettybootstrap.keystore.JettyKeystoreGeneratorBuilder;
+import org.teknux.jettybootstrap.statistics.ConnectorStatistics;
+import org.teknux.jettybootstrap.statistics.RequestStatistics;
+import org.teknux.jettybootstrap.utils.Http2Util;
+import org.teknux.jettybootstrap.utils.OptionalDependencyUtil;
 import org.teknux.jettybootstrap.utils.PathUtil;
+import org.teknux.jettybootstrap.utils.UnixSocketUtil;
+import org.teknux.jettybootstrap.utils.VirtualThreadUtil;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.MalformedURLException;
 import java.security.KeyStore;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.management.remote.JMXServiceURL;
 
 
 /**
@@ -73,11 +129,27 @@ public class JettyBootstrap {
     public static final String RESOURCE_WEBAPP = "/webapp";
     public static final String CONTEXT_PATH_ROOT = "/";
 
+    public static final String CONNECTOR_NAME_HTTP = "http";
+    public static final String CONNECTOR_NAME_HTTPS = "https";
+    public static final String CONNECTOR_NAME_UNIX_SOCKET = "unixsocket";
+
+    private static final String CONNECTION_LIMIT_NAME_SERVER = "server";
+
+    private static final String JMX_PROTOCOL = "rmi";
+    private static final String JMX_CONNECTOR_SERVER_NAME = "org.eclipse.jetty.jmx:name=rmiconnectorserver";
+
     private final IJettyConfiguration iJettyConfiguration;
     private boolean isInitializedConfiguration = false;
 
     private Server server = null;
-    private final HandlerList handlers = new HandlerList();
+    // Contexts are routed by virtual host then context path, the other handlers are tried in order when no context handles the request
+    private final ContextHandlerCollection contexts = new ContextHandlerCollection();
+    private final VirtualHostRoutingHandler virtualHostRoutingHandler = new VirtualHostRoutingHandler(contexts);
+    private final HandlerList handlers = new HandlerList(virtualHostRoutingHandler);
+    // Handlers creating the applications, by deployment, to redeploy them
+    private final Map<DeploymentHandler, AbstractAppJettyHandler> appJettyHandlers = new LinkedHashMap<>();
+    private RequestStatisticsHandler requestStatisticsHandler = null;
+    private RequestDrainHandler requestDrainHandler = null;
 
     /**
      * Shortcut to start Jetty when called within a JAR file containing the WEB-INF folder and needed libraries.
@@ -149,12 +221,15 @@ public class JettyBootstrap {
         }
 
         // display server addresses
-        if (iJettyConfiguration.getJettyConnectors().contains(JettyConnector.HTTP)) {
+        if (hasPlainConnector(iJettyConfiguration)) {
             LOG.info("http://{}:{}", iJettyConfiguration.getHost(), iJettyConfiguration.getPort());
         }
-        if (iJettyConfiguration.getJettyConnectors().contains(JettyConnector.HTTPS)) {
+        if (hasSecureConnector(iJettyConfiguration)) {
             LOG.info("https://{}:{}", iJettyConfiguration.getHost(), iJettyConfiguration.getSslPort());
         }
+        if (iJettyConfiguration.hasJettyConnector(JettyConnector.UNIX_SOCKET)) {
+            LOG.info("unix:{}", iJettyConfiguration.getUnixSocketPath());
+        }
 
         if ((join != null && join) || (join == null && iJettyConfiguration.isAutoJoinOnStart())) {
             joinServer();
@@ -196,7 +271,8 @@ public class JettyBootstrap {
     }
 
     /**
-     * Stops the Jetty server.
+     * Stops the Jetty server. With {@link IJettyConfiguration#isGracefulShutdown()}, the connectors first stop accepting and the in-flight requests are given up to
+     * {@link IJettyConfiguration#getGracefulShutdownTimeout()} to complete.
      * 
      * @return this instance
      * @throws JettyBootstrapException
@@ -206,7 +282,11 @@ public class JettyBootstrap {
         LOG.info("Stopping Server...");
         try {
             if (isServerStarted()) {
-                handlers.stop();
+                if (requestDrainHandler != null) {
+                    drainRequests(iJettyConfiguration.getGracefulShutdownTimeout());
+                } else {
+                    handlers.stop();
+                }
 
                 server.stop();
 
@@ -221,6 +301,35 @@ public class JettyBootstrap {
         return this;
     }
 
+    /**
+     * Stops accepting and waits for the in-flight requests to complete. The requests received meanwhile on the open connections are served, with a
+     * <code>Connection: close</code> header, until the timeout, and rejected after it.
+     * 
+     * @param timeout
+     *            max duration (in ms) of the wait
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    private void drainRequests(long timeout) throws InterruptedException {
+        LOG.info("Draining {} requests...", requestDrainHandler.getActiveRequests());
+
+        for (Connector connector : server.getConnectors()) {
+            if (connector instanceof AbstractConnector) {
+                AcceptGate.of((AbstractConnector) connector).pause(requestDrainHandler);
+            }
+        }
+
+        try {
+            requestDrainHandler.drain().get(timeout, TimeUnit.MILLISECONDS);
+
+            LOG.info("Requests drained.");
+        } catch (TimeoutException e) {
+            LOG.warn("{} requests aborted, still in flight after {} ms", requestDrainHandler.expire(), timeout);
+        } catch (ExecutionException e) {
+            LOG.warn("Requests drain failed", e);
+        }
+    }
+
     /**
      * Add a War application the default context path {@value #CONTEXT_PATH_ROOT}
      * 
@@ -246,14 +355,28 @@ public class JettyBootstrap {
      *             on failure
      */
     public WebAppContext addWarApp(String war, String contextPath) throws JettyBootstrapException {
+        return addWarApp(war, contextPath, null);
+    }
+
+    /**
+     * Add a War application specifying the context path and the virtual hosts it is available on.
+     * 
+     * @param war
+     *            the path to a war file
+     * @param contextPath
+     *            the path (base URL) to make the war available
+     * @param virtualHosts
+     *            the host names (<code>*.</code> prefixed for all the sub domains of a domain) to make the war available on, <code>null</code> for all the hosts
+     * @return WebAppContext
+     * @throws JettyBootstrapException
+     *             on failure
+     */
+    public WebAppContext addWarApp(String war, String contextPath, String[] virtualHosts) throws JettyBootstrapException {
         WarAppJettyHandler warAppJettyHandler = new WarAppJettyHandler(getInitializedConfiguration());
         warAppJettyHandler.setWar(war);
         warAppJettyHandler.setContextPath(contextPath);
 
-        WebAppContext webAppContext = warAppJettyHandler.getHandler();
-        handlers.addHandler(webAppContext);
-
-        return webAppContext;
+        return addAppHandler(warAppJettyHandler, virtualHosts);
     }
 
     /**
@@ -285,10 +408,7 @@ public class JettyBootstrap {
         warAppFromClasspathJettyHandler.setWarFromClasspath(warFromClasspath);
         warAppFromClasspathJettyHandler.setContextPath(contextPath);
 
-        WebAppContext webAppContext = warAppFromClasspathJettyHandler.getHandler();
-        handlers.addHandler(webAppContext);
-
-        return webAppContext;
+        return addAppHandler(warAppFromClasspathJettyHandler, null);
     }
 
     /**
@@ -320,15 +440,56 @@ public class JettyBootstrap {
      *             on failed
      */
     public WebAppContext addExplodedWarApp(String explodedWar, String descriptor, String contextPath) throws JettyBootstrapException {
+        return addExplodedWarApp(explodedWar, descriptor, contextPath, getInitializedConfiguration().getMappedFileThreshold());
+    }
+
+    /**
+     * Add an exploded (not packaged) War application specifying the context path and the size from which its static files are served from memory-mapped buffers.
+     * 
+     * @param explodedWar
+     *            the exploded war path
+     * @param descriptor
+     *            the web.xml descriptor path
+     * @param contextPath
+     *            the path (base URL) to make the resource available
+     * @param mappedFileThreshold
+     *            the size (in bytes) from which the static files are served from memory-mapped buffers, -1 to disable
+     * @return WebAppContext
+     * @throws JettyBootstrapException
+     *             on failed
+     */
+    public WebAppContext addExplodedWarApp(String explodedWar, String descriptor, String contextPath, long mappedFileThreshold) throws JettyBootstrapException {
+        return addExplodedWarApp(explodedWar, descriptor, contextPath, mappedFileThreshold, null);
+    }
+
+    /**
+     * Add an exploded (not packaged) War application specifying the context path and the virtual hosts it is available on.
+     * 
+     * @param explodedWar
+     *            the exploded war path
+     * @param descriptor
+     *            the web.xml descriptor path
+     * @param contextPath
+     *            the path (base URL) to make the resource available
+     * @param virtualHosts
+     *            the host names (<code>*.</code> prefixed for all the sub domains of a domain) to make the resource available on, <code>null</code> for all the hosts
+     * @return WebAppContext
+     * @throws JettyBootstrapException
+     *             on failed
+     */
+    public WebAppContext addExplodedWarApp(String explodedWar, String descriptor, String contextPath, String[] virtualHosts) throws JettyBootstrapException {
+        return addExplodedWarApp(explodedWar, descriptor, contextPath, getInitializedConfiguration().getMappedFileThreshold(), virtualHosts);
+    }
+
+    private WebAppContext addExplodedWarApp(String explodedWar, String descriptor, String contextPath, long mappedFileThreshold, String[] virtualHosts)
+            throws JettyBootstrapException {
         ExplodedWarAppJettyHandler explodedWarAppJettyHandler = new ExplodedWarAppJettyHandler(getInitializedConfiguration());
         explodedWarAppJettyHandler.setWebAppBase(explodedWar);
+        explodedWarAppJettyHandler.setMappedFileThreshold(mappedFileThreshold);
         explodedWarAppJettyHandler.setDescriptor(descriptor);
         explodedWarAppJettyHandler.setContextPath(contextPath);
 
-        WebAppContext webAppContext = explodedWarAppJettyHandler.getHandler();
-        handlers.addHandler(webAppContext);
-
-        return webAppContext;
+        return addAppHandler(explodedWarAppJettyHandler, virtualHosts);
     }
 
     /**
@@ -378,10 +539,7 @@ public class JettyBootstrap {
         explodedWarAppJettyHandler.setDescriptor(descriptor);
         explodedWarAppJettyHandler.setContextPath(contextPath);
 
-        WebAppContext webAppContext = explodedWarAppJettyHandler.getHandler();
-        handlers.addHandler(webAppContext);
-
-        return webAppContext;
+        return addAppHandler(explodedWarAppJettyHandler, null);
     }
 
     /**
@@ -411,7 +569,7 @@ public class JettyBootstrap {
     }
 
     /**
-     * Add Handler
+     * Add Handler. Handlers containing a {@link ContextHandler} are routed by virtual host and context path, the other ones are only called when no context handles the request.
      * 
      * @param handler
      *            Jetty Handler
@@ -423,11 +581,223 @@ public class JettyBootstrap {
         JettyHandler jettyHandler = new JettyHandler();
         jettyHandler.setHandler(handler);
 
-        handlers.addHandler(handler);
+        if (isContextHandler(handler)) {
+            addContextHandler(handler);
+        } else {
+            handlers.addHandler(handler);
+        }
 
         return handler;
     }
 
+    /**
+     * Redeploys the applications added on the given context path without interrupting them. The new applications are created like the current ones and started,
+     * then swapped with the current ones in the routing of the requests. The current applications are stopped once their in-flight requests are completed, or after
+     * {@link IJettyConfiguration#getGracefulShutdownTimeout()}. Only the applications added through the <code>add*App</code> and <code>addSelf</code> methods can be
+     * redeployed, and the changes made to the {@link WebAppContext} of the current applications are not carried over.
+     * 
+     * @param contextPath
+     *            the path (base URL) of the applications
+     * @return WebAppContexts of the new applications
+     * @throws JettyBootstrapException
+     *             if no application is added on the context path or if a new application fails to start, the current one being kept
+     */
+    public List<WebAppContext> redeploy(String contextPath) throws JettyBootstrapException {
+        List<WebAppContext> webAppContexts = new ArrayList<>();
+        Map<DeploymentHandler, Handler> retiredDeploymentHandlers = new LinkedHashMap<>();
+        try {
+            // The handlers are swapped under the lock, the old ones being drained outside it
+            synchronized (this) {
+                for (DeploymentHandler deploymentHandler : getDeploymentHandlers(contextPath)) {
+                    webAppContexts.add(redeploy(deploymentHandler, retiredDeploymentHandlers));
+                }
+            }
+        } finally {
+            retire(retiredDeploymentHandlers);
+        }
+
+        return webAppContexts;
+    }
+
+    private WebAppContext redeploy(DeploymentHandler oldDeploymentHandler, Map<DeploymentHandler, Handler> retiredDeploymentHandlers)
+            throws JettyBootstrapException {
+        AbstractAppJettyHandler appJettyHandler = appJettyHandlers.get(oldDeploymentHandler);
+        LOG.info("Redeploying {}...", appJettyHandler);
+
+        WebAppContext webAppContext = appJettyHandler.getHandler();
+        webAppContext.setVirtualHosts(getWebAppContext(oldDeploymentHandler).getVirtualHosts());
+        DeploymentHandler deploymentHandler = new DeploymentHandler(webAppContext);
+
+        if (oldDeploymentHandler.isStarted()) {
+            deploymentHandler.setServer(server);
+            try {
+                deploymentHandler.start();
+            } catch (Exception e) {
+                stopDeploymentHandler(deploymentHandler);
+                throw new JettyBootstrapException(e);
+            }
+            if (!webAppContext.isAvailable()) {
+                stopDeploymentHandler(deploymentHandler);
+                throw new JettyBootstrapException("Can't redeploy " + appJettyHandler + ". New application unavailable", webAppContext.getUnavailableException());
+            }
+        }
+
+        if (!virtualHostRoutingHandler.replaceHandler(oldDeploymentHandler, deploymentHandler)) {
+            HandlerCollectionUtil.replaceHandler(contexts, oldDeploymentHandler, deploymentHandler);
+        }
+        updateRequestStatisticsContexts();
+        appJettyHandlers.remove(oldDeploymentHandler);
+        appJettyHandlers.put(deploymentHandler, appJettyHandler);
+        retiredDeploymentHandlers.put(oldDeploymentHandler, deploymentHandler);
+
+        LOG.info("{} redeployed", appJettyHandler);
+
+        return webAppContext;
+    }
+
+    /**
+     * Undeploys the applications added on the given context path. They are removed from the routing of the requests at once, and stopped once their in-flight
+     * requests are completed, or after {@link IJettyConfiguration#getGracefulShutdownTimeout()}. Only the applications added through the <code>add*App</code> and
+     * <code>addSelf</code> methods can be undeployed.
+     * 
+     * @param contextPath
+     *            the path (base URL) of the applications
+     * @return WebAppContexts of the undeployed applications
+     * @throws JettyBootstrapException
+     *             if no application is added on the context path
+     */
+    public List<WebAppContext> undeploy(String contextPath) throws JettyBootstrapException {
+        List<WebAppContext> webAppContexts = new ArrayList<>();
+        Map<DeploymentHandler, Handler> retiredDeploymentHandlers = new LinkedHashMap<>();
+        synchronized (this) {
+            for (DeploymentHandler deploymentHandler : getDeploymentHandlers(contextPath)) {
+                LOG.info("Undeploying {}...", appJettyHandlers.get(deploymentHandler));
+
+                if (!virtualHostRoutingHandler.removeHandler(deploymentHandler)) {
+                    HandlerCollectionUtil.removeHandler(contexts, deploymentHandler);
+                }
+                updateRequestStatisticsContexts();
+                AbstractAppJettyHandler appJettyHandler = appJettyHandlers.remove(deploymentHandler);
+                retiredDeploymentHandlers.put(deploymentHandler, null);
+
+                LOG.info("{} undeployed", appJettyHandler);
+                webAppContexts.add(getWebAppContext(deploymentHandler));
+            }
+        }
+        retire(retiredDeploymentHandlers);
+
+        return webAppContexts;
+    }
+
+    private List<DeploymentHandler> getDeploymentHandlers(String contextPath) throws JettyBootstrapException {
+        List<DeploymentHandler> deploymentHandlers = new ArrayList<>();
+        for (DeploymentHandler deploymentHandler : appJettyHandlers.keySet()) {
+            if (getWebAppContext(deploymentHandler).getContextPath().equals(contextPath)) {
+                deploymentHandlers.add(deploymentHandler);
+            }
+        }
+        if (deploymentHandlers.isEmpty()) {
+            throw new JettyBootstrapException("No application on context path [" + contextPath + "]");
+        }
+
+        return deploymentHandlers;
+    }
+
+    /**
+     * Stops the deployments removed from the routing of the requests once their in-flight requests are completed, or after
+     * {@link IJettyConfiguration#getGracefulShutdownTimeout()}. Called without holding the lock of this instance, so that the other deployments are not blocked
+     * meanwhile.
+     * 
+     * @param retiredDeploymentHandlers
+     *            the retired deployments, with the handler of their new deployment (<code>null</code> if undeployed)
+     */
+    private void retire(Map<DeploymentHandler, Handler> retiredDeploymentHandlers) {
+        Map<DeploymentHandler, Future<Void>> retirements = new LinkedHashMap<>();
+        for (Map.Entry<DeploymentHandler, Handler> retiredDeploymentHandler : retiredDeploymentHandlers.entrySet()) {
+            if (retiredDeploymentHandler.getKey().isStarted()) {
+                retirements.put(retiredDeploymentHandler.getKey(), retiredDeploymentHandler.getKey().retire(retiredDeploymentHandler.getValue()));
+            }
+        }
+
+        // The deployments are drained together, within the same timeout
+        long timeout = iJettyConfiguration.getGracefulShutdownTimeout();
+        long deadline = System.currentTimeMillis() + timeout;
+        for (Map.Entry<DeploymentHandler, Future<Void>> retirement : retirements.entrySet()) {
+            try {
+                retirement.getValue().get(Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                LOG.warn("{} requests still in flight after {} ms", retirement.getKey().getActiveRequests(), timeout);
+            } catch (ExecutionException e) {
+                LOG.warn("Requests drain failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stopDeploymentHandler(retirement.getKey());
+        }
+    }
+
+    private static void stopDeploymentHandler(DeploymentHandler deploymentHandler) {
+        try {
+            deploymentHandler.stop();
+            deploymentHandler.destroy();
+        } catch (Exception e) {
+            LOG.warn("Can't stop {}", deploymentHandler, e);
+        }
+    }
+
+    private static WebAppContext getWebAppContext(DeploymentHandler deploymentHandler) {
+        return (WebAppContext) deploymentHandler.getHandler();
+    }
+
+    /**
+     * Adds the application created by the given handler, wrapped in a {@link DeploymentHandler} so that it can be redeployed.
+     */
+    private WebAppContext addAppHandler(AbstractAppJettyHandler appJettyHandler, String[] virtualHosts) throws JettyBootstrapException {
+        WebAppContext webAppContext = appJettyHandler.getHandler();
+        webAppContext.setVirtualHosts(virtualHosts);
+
+        DeploymentHandler deploymentHandler = new DeploymentHandler(webAppContext);
+        synchronized (this) {
+            addContextHandler(deploymentHandler);
+            appJettyHandlers.put(deploymentHandler, appJettyHandler);
+        }
+
+        return webAppContext;
+    }
+
+    /**
+     * Adds the handler to the contexts of its virtual hosts (or to the contexts of all the hosts), starting it if the server is already started.
+     */
+    private synchronized void addContextHandler(Handler handler) throws JettyBootstrapException {
+        if (!virtualHostRoutingHandler.addHandler(handler)) {
+            HandlerCollectionUtil.addHandler(contexts, handler);
+        }
+
+        if (contexts.isStarted() && !handler.isStarted()) {
+            try {
+                handler.start();
+            } catch (Exception e) {
+                throw new JettyBootstrapException(e);
+            }
+        }
+        updateRequestStatisticsContexts();
+    }
+
+    /**
+     * Resolves the contexts of the request statistics again once the contexts of the started server changed. Before the start, they are resolved when the server
+     * starts.
+     */
+    private void updateRequestStatisticsContexts() {
+        if (requestStatisticsHandler != null && requestStatisticsHandler.isStarted()) {
+            requestStatisticsHandler.updateContexts();
+        }
+    }
+
+    private static boolean isContextHandler(Handler handler) {
+        return handler instanceof ContextHandler ||
+            (handler instanceof HandlerContainer && ((HandlerContainer) handler).getChildHandlerByClass(ContextHandler.class) != null);
+    }
+
     /**
      * Get the jetty {@link Server} Object. Calls {@link #initServer(IJettyConfiguration)} if not initialized yet.
      * 
@@ -441,6 +811,81 @@ public class JettyBootstrap {
         return server;
     }
 
+    /**
+     * Get the context paths of the contexts routed by the server, whether added as applications or as handlers. Calls {@link #initServer(IJettyConfiguration)} if
+     * not initialized yet.
+     * 
+     * @return the context paths
+     * @throws JettyBootstrapException
+     *             if an error occurs during {@link #initServer(IJettyConfiguration)}
+     */
+    public synchronized Set<String> getContextPaths() throws JettyBootstrapException {
+        Set<String> contextPaths = new LinkedHashSet<>();
+        for (Handler handler : getServer().getChildHandlersByClass(ContextHandler.class)) {
+            contextPaths.add(((ContextHandler) handler).getContextPath());
+        }
+
+        return contextPaths;
+    }
+
+    /**
+     * Get the statistics of all the requests handled by the server. Calls {@link #initServer(IJettyConfiguration)} if not initialized yet.
+     * 
+     * @return RequestStatistics
+     * @throws JettyBootstrapException
+     *             if the statistics are not enabled or if an error occurs during {@link #initServer(IJettyConfiguration)}
+     */
+    public RequestStatistics getRequestStatistics() throws JettyBootstrapException {
+        return getRequestStatisticsHandler().getServerStatistics();
+    }
+
+    /**
+     * Get the statistics of the requests handled by each context, by context path. Calls {@link #initServer(IJettyConfiguration)} if not initialized yet.
+     * 
+     * @return Map of RequestStatistics, filled when the server starts and updated when contexts are added or removed
+     * @throws JettyBootstrapException
+     *             if the statistics are not enabled or if an error occurs during {@link #initServer(IJettyConfiguration)}
+     */
+    public Map<String, RequestStatistics> getContextRequestStatistics() throws JettyBootstrapException {
+        return getRequestStatisticsHandler().getContextStatistics();
+    }
+
+    /**
+     * Get the connection statistics of each connector, by connector name ({@value #CONNECTOR_NAME_HTTP}, {@value #CONNECTOR_NAME_HTTPS},
+     * {@value #CONNECTOR_NAME_UNIX_SOCKET}). Calls {@link #initServer(IJettyConfiguration)} if not initialized yet.
+     * 
+     * @return Map of ConnectorStatistics
+     * @throws JettyBootstrapException
+     *             if the connection statistics are not enabled or if an error occurs during {@link #initServer(IJettyConfiguration)}
+     */
+    public Map<String, ConnectorStatistics> getConnectorStatistics() throws JettyBootstrapException {
+        initServer(getInitializedConfiguration());
+
+        if (!iJettyConfiguration.isConnectionStatisticsEnabled()) {
+            throw new JettyBootstrapException("Connection statistics are not enabled");
+        }
+
+        Map<String, ConnectorStatistics> connectorStatistics = new LinkedHashMap<>();
+        for (Connector connector : server.getConnectors()) {
+            ConnectorStatistics statistics = connector.getBean(ConnectorStatistics.class);
+            if (statistics != null) {
+                connectorStatistics.put(statistics.getName(), statistics);
+            }
+        }
+
+        return connectorStatistics;
+    }
+
+    private RequestStatisticsHandler getRequestStatisticsHandler() throws JettyBootstrapException {
+        initServer(getInitializedConfiguration());
+
+        if (requestStatisticsHandler == null) {
+            throw new JettyBootstrapException("Request statistics are not enabled");
+        }
+
+        return requestStatisticsHandler;
+    }
+
     /**
      * Initialize Jetty server using the given {@link IJettyConfiguration}. Basically creates the server, set connectors, handlers and adds the shutdown hook.
      *
@@ -452,9 +897,23 @@ public class JettyBootstrap {
     protected void initServer(IJettyConfiguration iJettyConfiguration) throws JettyBootstrapException {
         if (server == null) {
             server = createServer(iJettyConfiguration);
+            if (iJettyConfiguration.isJmxEnabled()) {
+                // Registers the beans already added (thread pool) and the ones added from now on
+                MBeanContainer mBeanContainer = createMBeanContainer(iJettyConfiguration);
+                server.addEventListener(mBeanContainer);
+                server.addBean(mBeanContainer);
+
+                if (iJettyConfiguration.getJmxPort() > 0) {
+                    server.addBean(createJmxConnectorServer(iJettyConfiguration));
+                }
+            }
             server.setConnectors(createConnectors(iJettyConfiguration, server));
 
-            server.setHandler(handlers);
+            server.setHandler(createServerHandler(iJettyConfiguration, handlers));
+
+            if (iJettyConfiguration.isAccessLogEnabled()) {
+                server.setRequestLog(createRequestLog(iJettyConfiguration));
+            }
 
             if (iJettyConfiguration.isStopAtShutdown()) {
                 createShutdownHook();
@@ -498,7 +957,18 @@ public class JettyBootstrap {
             }
 
             LOG.trace("Check connectors...");
-            if (iJettyConfiguration.hasJettyConnector(JettyConnector.HTTPS)) {
+            if ((iJettyConfiguration.hasJettyConnector(JettyConnector.HTTP2) || iJettyConfiguration.hasJettyConnector(JettyConnector.H2C)) && !OptionalDependencyUtil.isHttp2Supported()) {
+                throw new JettyBootstrapException("HTTP/2 connectors require the jetty-bootstrap-http2 module");
+            }
+            if (iJettyConfiguration.hasJettyConnector(JettyConnector.UNIX_SOCKET)) {
+                if (!OptionalDependencyUtil.isUnixSocketSupported()) {
+                    throw new JettyBootstrapException("Unix socket connector requires the jetty-bootstrap-unixsocket module");
+                }
+                if (iJettyConfiguration.getUnixSocketPath() == null || iJettyConfiguration.getUnixSocketPath().isEmpty()) {
+                    throw new JettyBootstrapException("Unix socket path not specified");
+                }
+            }
+            if (hasSecureConnector(iJettyConfiguration)) {
 
                 //Checks keystore path only if keyStore object and SSL private key or SSL certificate are not specified
                 if (iJettyConfiguration.getSslKeyStore() == null &&
@@ -533,7 +1003,7 @@ public class JettyBootstrap {
             }
 
             if (iJettyConfiguration.isRedirectWebAppsOnHttpsConnector() &&
-                (!iJettyConfiguration.hasJettyConnector(JettyConnector.HTTP) || !iJettyConfiguration.hasJettyConnector(JettyConnector.HTTPS))) {
+                (!hasPlainConnector(iJettyConfiguration) || !hasSecureConnector(iJettyConfiguration))) {
                 throw new JettyBootstrapException("You can't redirect all from HTTP to HTTPS Connector if both connectors are not setted");
             }
 
@@ -545,6 +1015,68 @@ public class JettyBootstrap {
         return iJettyConfiguration;
     }
 
+    /**
+     * Wraps the handlers of the applications into the server wide handlers (compression, statistics, ...) enabled by the given {@link IJettyConfiguration}.
+     * 
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @param handler
+     *            the handler of the applications
+     * @return Handler to set on the server
+     */
+    protected Handler createServerHandler(IJettyConfiguration iJettyConfiguration, Handler handler) {
+        Handler serverHandler = handler;
+
+        if (iJettyConfiguration.isCompressionEnabled()) {
+            LOG.trace("Adding Gzip Handler...");
+
+            PooledGzipHandler gzipHandler = new PooledGzipHandler();
+            gzipHandler.setMinGzipSize(iJettyConfiguration.getCompressionMinSize());
+            if (iJettyConfiguration.getCompressionIncludedMimeTypes() != null && iJettyConfiguration.getCompressionIncludedMimeTypes().length > 0) {
+                gzipHandler.setIncludedMimeTypes(iJettyConfiguration.getCompressionIncludedMimeTypes());
+            }
+            if (iJettyConfiguration.getCompressionExcludedMimeTypes() != null) {
+                gzipHandler.setExcludedMimeTypes(iJettyConfiguration.getCompressionExcludedMimeTypes());
+            }
+            gzipHandler.setCompressionLevel(iJettyConfiguration.getCompressionLevel());
+            gzipHandler.setDeflaterPoolCapacity(iJettyConfiguration.getCompressionDeflaterPoolCapacity());
+            gzipHandler.setSyncFlush(iJettyConfiguration.isCompressionSyncFlush());
+            gzipHandler.setHandler(serverHandler);
+
+            serverHandler = gzipHandler;
+        }
+
+        if (iJettyConfiguration.isStatisticsEnabled()) {
+            LOG.trace("Adding Request Statistics Handler...");
+
+            requestStatisticsHandler = new RequestStatisticsHandler();
+            requestStatisticsHandler.setHandler(serverHandler);
+
+            serverHandler = requestStatisticsHandler;
+        }
+
+        if (iJettyConfiguration.getSlowRequestThreshold() > 0) {
+            LOG.trace("Adding Slow Request Handler...");
+
+            SlowRequestHandler slowRequestHandler = new SlowRequestHandler(iJettyConfiguration.getSlowRequestThreshold(),
+                    iJettyConfiguration.getSlowRequestStackSampleInterval());
+            slowRequestHandler.setHandler(serverHandler);
+
+            serverHandler = slowRequestHandler;
+        }
+
+        if (iJettyConfiguration.isGracefulShutdown()) {
+            LOG.trace("Adding Request Drain Handler...");
+
+            requestDrainHandler = new RequestDrainHandler();
+            requestDrainHandler.setHandler(serverHandler);
+
+            serverHandler = requestDrainHandler;
+        }
+
+        return serverHandler;
+    }
+
     /**
      * Convenient method used to build and return a new {@link Server}.
      * 
@@ -555,14 +1087,192 @@ public class JettyBootstrap {
     protected Server createServer(IJettyConfiguration iJettyConfiguration) {
         LOG.trace("Create Jetty Server...");
 
-        Server server = new Server(new QueuedThreadPool(iJettyConfiguration.getMaxThreads()));
+        Server server = new Server(createThreadPool(iJettyConfiguration));
         server.setStopAtShutdown(false); // Reimplemented. See
                                          // @IJettyConfiguration.stopAtShutdown
         server.setStopTimeout(iJettyConfiguration.getStopTimeout());
 
+        if (iJettyConfiguration.isLowResourcesMonitorEnabled()) {
+            server.addBean(createLowResourceMonitor(iJettyConfiguration, server));
+        }
+
         return server;
     }
 
+    /**
+     * Creates the {@link LowResourceMonitor} switching the server to the low resources mode when the thread pool, connections or memory thresholds are crossed: the
+     * connectors stop accepting and the idle timeout of the connections is shortened until the resources are available again.
+     * 
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @param server
+     *            the monitored server
+     * @return LowResourceMonitor
+     */
+    protected LowResourceMonitor createLowResourceMonitor(IJettyConfiguration iJettyConfiguration, Server server) {
+        LOG.trace("Create Low Resource Monitor...");
+
+        LowResourceMonitor lowResourceMonitor = new GatedLowResourceMonitor(server);
+        lowResourceMonitor.setPeriod(iJettyConfiguration.getLowResourcesPeriod());
+        lowResourceMonitor.setMonitorThreads(iJettyConfiguration.getLowResourcesThreadsThreshold() >= 0);
+        lowResourceMonitor.setMaxConnections(iJettyConfiguration.getLowResourcesMaxConnections());
+        lowResourceMonitor.setMaxMemory(iJettyConfiguration.getLowResourcesMaxMemory());
+        lowResourceMonitor.setLowResourcesIdleTimeout(iJettyConfiguration.getLowResourcesIdleTimeout());
+        lowResourceMonitor.setMaxLowResourcesTime(iJettyConfiguration.getLowResourcesMaxTime());
+        lowResourceMonitor.setAcceptingInLowResources(false);
+
+        return lowResourceMonitor;
+    }
+
+    /**
+     * Creates the NCSA {@link RequestLog} written asynchronously to the destination given by {@link IJettyConfiguration#getAccessLogMode()}.
+     * 
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return RequestLog
+     */
+    protected RequestLog createRequestLog(IJettyConfiguration iJettyConfiguration) {
+        LOG.trace("Create Access Log...");
+
+        AccessLogWriter accessLogWriter;
+        if (iJettyConfiguration.getAccessLogMode() == JettyAccessLogMode.SLF4J) {
+            accessLogWriter = new Slf4jAccessLogWriter();
+        } else {
+            accessLogWriter = new RolloverFileAccessLogWriter(iJettyConfiguration.getAccessLogFilename(), iJettyConfiguration.getAccessLogRetainDays());
+        }
+
+        AsyncAccessLog asyncAccessLog = new AsyncAccessLog(accessLogWriter, iJettyConfiguration.getAccessLogQueueCapacity());
+        asyncAccessLog.setExtended(iJettyConfiguration.isAccessLogExtended());
+        asyncAccessLog.setLogTimeZone(TimeZone.getDefault().getID());
+
+        return asyncAccessLog;
+    }
+
+    /**
+     * Creates the {@link MBeanContainer} registering the server components in the platform MBean server.
+     * 
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return MBeanContainer
+     */
+    protected MBeanContainer createMBeanContainer(IJettyConfiguration iJettyConfiguration) {
+        LOG.trace("Create MBean Container...");
+
+        return new MBeanContainer(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Creates the RMI {@link ConnectorServer} giving a remote access to the platform MBean server on {@link IJettyConfiguration#getJmxHost()} and
+     * {@link IJettyConfiguration#getJmxPort()}.
+     * 
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return ConnectorServer
+     * @throws JettyBootstrapException
+     *             if the JMX service URL is invalid
+     */
+    protected ConnectorServer createJmxConnectorServer(IJettyConfiguration iJettyConfiguration) throws JettyBootstrapException {
+        LOG.trace("Create JMX Connector Server...");
+
+        String host = iJettyConfiguration.getJmxHost();
+        int port = iJettyConfiguration.getJmxPort();
+        try {
+            JMXServiceURL jmxServiceURL = new JMXServiceURL(JMX_PROTOCOL, host, port, "/jndi/rmi://" + host + ":" + port + "/jmxrmi");
+
+            return new ConnectorServer(jmxServiceURL, JMX_CONNECTOR_SERVER_NAME);
+        } catch (MalformedURLException e) {
+            throw new JettyBootstrapException("Invalid JMX host or port", e);
+        }
+    }
+
+    // Jetty 9.4.8 only offers a non deprecated constructor for ThreadPoolExecutor, which the virtual thread executor is not
+    @SuppressWarnings("deprecation")
+    private static ThreadPool newExecutorThreadPool(ExecutorService executorService) {
+        return new ExecutorThreadPool(executorService);
+    }
+
+    /**
+     * Convenient method used to build and return the {@link ThreadPool} of the server according to {@link IJettyConfiguration#getThreadPoolMode()}.
+     * <p>
+     * Falls back on a {@link QueuedThreadPool} when virtual threads are requested but not supported by the JVM.
+     * 
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return ThreadPool
+     */
+    protected ThreadPool createThreadPool(IJettyConfiguration iJettyConfiguration) {
+        if (iJettyConfiguration.getThreadPoolMode() == JettyThreadPoolMode.VIRTUAL) {
+            ExecutorService executorService = VirtualThreadUtil.newVirtualThreadPerTaskExecutor();
+
+            if (executorService != null) {
+                LOG.trace("Create Virtual Thread Pool...");
+
+                return newExecutorThreadPool(executorService);
+            }
+
+            LOG.warn("Virtual threads not supported by this JVM. Using platform threads");
+        }
+
+        LOG.trace("Create Queued Thread Pool...");
+
+        BlockingQueue<Runnable> queue = null;
+        if (iJettyConfiguration.getMaxQueuedJobs() > 0) {
+            queue = new BlockingArrayQueue<>(iJettyConfiguration.getMaxQueuedJobs());
+        }
+
+        QueuedThreadPool queuedThreadPool = new QueuedThreadPool(iJettyConfiguration.getMaxThreads(), iJettyConfiguration.getMinThreads(),
+                iJettyConfiguration.getThreadIdleTimeout(), queue);
+        queuedThreadPool.setThreadsPriority(iJettyConfiguration.getThreadsPriority());
+        if (iJettyConfiguration.getLowResourcesThreadsThreshold() >= 0) {
+            queuedThreadPool.setLowThreadsThreshold(iJettyConfiguration.getLowResourcesThreadsThreshold());
+        }
+
+        return queuedThreadPool;
+    }
+
+    /**
+     * Creates the {@link ByteBufferPool} shared by all the connectors, based on the given {@link IJettyConfiguration}.
+     * 
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return ByteBufferPool
+     * @throws JettyBootstrapException
+     *             if the buffer pool settings are invalid
+     */
+    protected ByteBufferPool createByteBufferPool(IJettyConfiguration iJettyConfiguration) throws JettyBootstrapException {
+        try {
+            return new BoundedByteBufferPool(iJettyConfiguration.getBufferPoolFactor(), iJettyConfiguration.getBufferPoolMaxCapacity(),
+                    iJettyConfiguration.getBufferPoolMaxHeapMemory(), iJettyConfiguration.getBufferPoolMaxDirectMemory(), iJettyConfiguration.isBufferPoolDirectBuffers());
+        } catch (IllegalArgumentException e) {
+            throw new JettyBootstrapException("Invalid buffer pool configuration", e);
+        }
+    }
+
+    /**
+     * Creates the {@link HttpConfiguration} shared by all the connectors, based on the given {@link IJettyConfiguration}.
+     * 
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return HttpConfiguration
+     */
+    protected HttpConfiguration createHttpConfiguration(IJettyConfiguration iJettyConfiguration) {
+        HttpConfiguration httpConfiguration = new HttpConfiguration();
+        if (hasSecureConnector(iJettyConfiguration)) {
+            httpConfiguration.setSecurePort(iJettyConfiguration.getSslPort());
+            httpConfiguration.setSecureScheme(HttpScheme.HTTPS.asString());
+        }
+        httpConfiguration.setIdleTimeout(iJettyConfiguration.getIdleTimeout());
+        httpConfiguration.setBlockingTimeout(iJettyConfiguration.getBlockingTimeout());
+        httpConfiguration.setOutputBufferSize(iJettyConfiguration.getOutputBufferSize());
+        httpConfiguration.setOutputAggregationSize(iJettyConfiguration.getOutputAggregationSize());
+        httpConfiguration.setRequestHeaderSize(iJettyConfiguration.getRequestHeaderSize());
+        httpConfiguration.setResponseHeaderSize(iJettyConfiguration.getResponseHeaderSize());
+        httpConfiguration.setSendServerVersion(iJettyConfiguration.isSendServerVersion());
+        httpConfiguration.setSendDateHeader(iJettyConfiguration.isSendDateHeader());
+
+        return httpConfiguration;
+    }
+
     /**
      * Creates and returns the necessary {@link ServerConnector} based on the given {@link IJettyConfiguration}.
      * 
@@ -578,37 +1288,52 @@ public class JettyBootstrap {
 
         List<Connector> connectors = new ArrayList<>();
 
-        if (iJettyConfiguration.hasJettyConnector(JettyConnector.HTTP)) {
-            LOG.trace("Adding HTTP Connector...");
+        ByteBufferPool byteBufferPool = createByteBufferPool(iJettyConfiguration);
 
-            ServerConnector serverConnector;
+        // Each connector gets its own copy so that connector specific customizers are not shared
+        HttpConfiguration httpConfiguration = createHttpConfiguration(iJettyConfiguration);
 
-            if (iJettyConfiguration.hasJettyConnector(JettyConnector.HTTPS)) {
-                HttpConfiguration httpConfiguration = new HttpConfiguration();
-                httpConfiguration.setSecurePort(iJettyConfiguration.getSslPort());
-                httpConfiguration.setSecureScheme(HttpScheme.HTTPS.asString());
-                httpConfiguration.setIdleTimeout(iJettyConfiguration.getIdleTimeout());
-                httpConfiguration.setBlockingTimeout(iJettyConfiguration.getBlockingTimeout());
+        if (hasPlainConnector(iJettyConfiguration)) {
+            LOG.trace("Adding HTTP Connector...");
 
-                HttpConnectionFactory httpConnectionFactory = new HttpConnectionFactory(httpConfiguration);
+            HttpConfiguration plainHttpConfiguration = new HttpConfiguration(httpConfiguration);
 
-                serverConnector = new ServerConnector(server, httpConnectionFactory);
-            } else {
-                serverConnector = new ServerConnector(server);
+            ServerConnector serverConnector = new ServerConnector(server, null, null, byteBufferPool, iJettyConfiguration.getAcceptors(),
+                    iJettyConfiguration.getSelectors(), new HttpConnectionFactory(plainHttpConfiguration));
+
+            if (iJettyConfiguration.hasJettyConnector(JettyConnector.H2C)) {
+                LOG.trace("Adding HTTP/2 cleartext support to HTTP Connector...");
 
-                serverConnector.getConnectionFactories().stream()
-                        .filter(HttpConnectionFactory.class::isInstance)
-                        .map(HttpConnectionFactory.class::cast)
-                        .forEach(httpConnectionFactory -> httpConnectionFactory.getHttpConfiguration().setBlockingTimeout(iJettyConfiguration.getBlockingTimeout()));
+                serverConnector.addConnectionFactory(Http2Util.createH2cConnectionFactory(plainHttpConfiguration, iJettyConfiguration));
             }
 
             serverConnector.setIdleTimeout(iJettyConfiguration.getIdleTimeout());
             serverConnector.setHost(iJettyConfiguration.getHost());
             serverConnector.setPort(iJettyConfiguration.getPort());
+            serverConnector.setAcceptQueueSize(iJettyConfiguration.getAcceptQueueSize());
+            serverConnector.setReuseAddress(iJettyConfiguration.isReuseAddress());
+            serverConnector.setAcceptorPriorityDelta(iJettyConfiguration.getAcceptorPriorityDelta());
+            if (iJettyConfiguration.getReservedThreads() >= 0) {
+                serverConnector.getSelectorManager().setReservedThreads(iJettyConfiguration.getReservedThreads());
+            }
+
+            if (iJettyConfiguration.isProxyProtocol()) {
+                serverConnector.addFirstConnectionFactory(new ProxyConnectionFactory());
+            }
+            if (iJettyConfiguration.isForwardedHeaders()) {
+                addForwardedRequestCustomizer(serverConnector);
+            }
+
+            if (iJettyConfiguration.isConnectionStatisticsEnabled()) {
+                serverConnector.addBean(new ConnectorStatistics(CONNECTOR_NAME_HTTP));
+            }
+            if (iJettyConfiguration.getHttpMaxConnections() > 0) {
+                new ConnectionLimiter(CONNECTOR_NAME_HTTP, iJettyConfiguration.getHttpMaxConnections()).addConnector(serverConnector);
+            }
 
             connectors.add(serverConnector);
         }
-        if (iJettyConfiguration.hasJettyConnector(JettyConnector.HTTPS)) {
+        if (hasSecureConnector(iJettyConfiguration)) {
             LOG.trace("Adding HTTPS Connector...");
 
             SslContextFactory sslContextFactory = new SslContextFactory();
@@ -670,20 +1395,117 @@ public class JettyBootstrap {
                 sslContextFactory.setKeyStorePath(iJettyConfiguration.getSslKeyStorePath());
             }
             sslContextFactory.setKeyStorePassword(iJettyConfiguration.getSslKeyStorePassword());
-            ServerConnector serverConnector = new ServerConnector(server, sslContextFactory);
+
+            HttpConfiguration httpsConfiguration = new HttpConfiguration(httpConfiguration);
+            httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
+
+            ServerConnector serverConnector;
+
+            if (iJettyConfiguration.hasJettyConnector(JettyConnector.HTTP2)) {
+                LOG.trace("Adding HTTP/2 support to HTTPS Connector...");
+
+                try {
+                    serverConnector = new ServerConnector(server, null, null, byteBufferPool, iJettyConfiguration.getSslAcceptors(),
+                            iJettyConfiguration.getSslSelectors(), Http2Util.createH2ConnectionFactories(sslContextFactory, httpsConfiguration, iJettyConfiguration));
+                } catch (IllegalStateException e) {
+                    throw new JettyBootstrapException("Can not negotiate HTTP/2 : no ALPN provider available for this JVM", e);
+                }
+            } else {
+                serverConnector = new ServerConnector(server, null, null, byteBufferPool, iJettyConfiguration.getSslAcceptors(),
+                        iJettyConfiguration.getSslSelectors(), new SslConnectionFactory(sslContextFactory, HttpVersion.HTTP_1_1.asString()),
+                        new HttpConnectionFactory(httpsConfiguration));
+            }
 
             serverConnector.setIdleTimeout(iJettyConfiguration.getIdleTimeout());
             serverConnector.setHost(iJettyConfiguration.getHost());
             serverConnector.setPort(iJettyConfiguration.getSslPort());
+            serverConnector.setAcceptQueueSize(iJettyConfiguration.getSslAcceptQueueSize());
+            serverConnector.setReuseAddress(iJettyConfiguration.isSslReuseAddress());
+            serverConnector.setAcceptorPriorityDelta(iJettyConfiguration.getSslAcceptorPriorityDelta());
+            if (iJettyConfiguration.getReservedThreads() >= 0) {
+                serverConnector.getSelectorManager().setReservedThreads(iJettyConfiguration.getReservedThreads());
+            }
+
+            if (iJettyConfiguration.isSslProxyProtocol()) {
+                serverConnector.addFirstConnectionFactory(new ProxyConnectionFactory());
+            }
+            if (iJettyConfiguration.isForwardedHeaders()) {
+                addForwardedRequestCustomizer(serverConnector);
+            }
+
+            if (iJettyConfiguration.isConnectionStatisticsEnabled()) {
+                serverConnector.addBean(new ConnectorStatistics(CONNECTOR_NAME_HTTPS));
+            }
+            if (iJettyConfiguration.getSslMaxConnections() > 0) {
+                new ConnectionLimiter(CONNECTOR_NAME_HTTPS, iJettyConfiguration.getSslMaxConnections()).addConnector(serverConnector);
+            }
 
             connectors.add(serverConnector);
         }
+        if (iJettyConfiguration.hasJettyConnector(JettyConnector.UNIX_SOCKET)) {
+            LOG.trace("Adding Unix Socket Connector...");
+
+            Connector unixSocketConnector = UnixSocketUtil.createConnector(server, byteBufferPool, iJettyConfiguration.getUnixSocketPath(),
+                    iJettyConfiguration.getIdleTimeout(), new HttpConnectionFactory(new HttpConfiguration(httpConfiguration)));
+            if (iJettyConfiguration.isForwardedHeaders()) {
+                addForwardedRequestCustomizer(unixSocketConnector);
+            }
+
+            if (iJettyConfiguration.isConnectionStatisticsEnabled()) {
+                unixSocketConnector.addBean(new ConnectorStatistics(CONNECTOR_NAME_UNIX_SOCKET));
+            }
+
+            connectors.add(unixSocketConnector);
+        }
+
+        if (iJettyConfiguration.getMaxConnections() > 0) {
+            LOG.trace("Limiting the connections of all the connectors...");
+
+            ConnectionLimiter connectionLimiter = new ConnectionLimiter(CONNECTION_LIMIT_NAME_SERVER, iJettyConfiguration.getMaxConnections());
+            for (Connector connector : connectors) {
+                if (connector instanceof AbstractConnector) {
+                    connectionLimiter.addConnector((AbstractConnector) connector);
+                }
+            }
+        }
 
         return connectors.toArray(new Connector[connectors.size()]);
     }
 
     /**
-     * Create Shutdown Hook.
+     * Adds a {@link ForwardedRequestCustomizer} to every {@link HttpConfiguration} used by the connector, so the request reflects the client seen by the reverse proxy.
+     * 
+     * @param connector
+     *            Connector
+     */
+    private static void addForwardedRequestCustomizer(Connector connector) {
+        connector.getConnectionFactories().stream()
+                .filter(HttpConfiguration.ConnectionFactory.class::isInstance)
+                .map(connectionFactory -> ((HttpConfiguration.ConnectionFactory) connectionFactory).getHttpConfiguration())
+                .distinct()
+                .forEach(httpConfiguration -> httpConfiguration.addCustomizer(new ForwardedRequestCustomizer()));
+    }
+
+    /**
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return <code>true</code> if a connector type served by the plain HTTP connector is configured
+     */
+    private static boolean hasPlainConnector(IJettyConfiguration iJettyConfiguration) {
+        return iJettyConfiguration.hasJettyConnector(JettyConnector.HTTP) || iJettyConfiguration.hasJettyConnector(JettyConnector.H2C);
+    }
+
+    /**
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return <code>true</code> if a connector type served by the HTTPS connector is configured
+     */
+    private static boolean hasSecureConnector(IJettyConfiguration iJettyConfiguration) {
+        return iJettyConfiguration.hasJettyConnector(JettyConnector.HTTPS) || iJettyConfiguration.hasJettyConnector(JettyConnector.HTTP2);
+    }
+
+    /**
+     * Create Shutdown Hook, stopping the server gracefully when {@link IJettyConfiguration#isGracefulShutdown()}.
      */
     private void createShutdownHook() {
         LOG.trace("Creating Jetty ShutdownHook...");
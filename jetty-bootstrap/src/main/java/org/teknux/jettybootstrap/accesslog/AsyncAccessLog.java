@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.accesslog;
+
+import org.eclipse.jetty.server.AbstractNCSARequestLog;
+import org.eclipse.jetty.util.annotation.ManagedAttribute;
+import org.eclipse.jetty.util.annotation.ManagedObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * NCSA access log keeping the I/O out of the request threads.
+ * <p>
+ * The request threads only format the entries and offer them to a bounded queue. A single background thread drains the queue by batches and hands them to the
+ * {@link AccessLogWriter}. When the queue is full, the entries are dropped (and counted) rather than blocking the request threads. The remaining entries are
+ * written when the log is stopped.
+ */
+@ManagedObject("Asynchronous NCSA access log")
+public class AsyncAccessLog extends AbstractNCSARequestLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncAccessLog.class);
+
+    private static final String WRITER_THREAD_NAME = "AccessLogWriter";
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long POLL_TIMEOUT_MS = 200;
+
+    private final AccessLogWriter accessLogWriter;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong droppedEntries = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    /**
+     * @param accessLogWriter
+     *            Destination of the entries
+     * @param queueCapacity
+     *            Max number of entries waiting to be written
+     */
+    public AsyncAccessLog(AccessLogWriter accessLogWriter, int queueCapacity) {
+        this.accessLogWriter = accessLogWriter;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    protected boolean isEnabled() {
+        return running;
+    }
+
+    @Override
+    public void write(String requestEntry) {
+        if (!queue.offer(requestEntry)) {
+            droppedEntries.incrementAndGet();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        running = true;
+        writerThread = new Thread(this::drain, WRITER_THREAD_NAME);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join();
+            writerThread = null;
+        }
+
+        try {
+            accessLogWriter.close();
+        } finally {
+            super.doStop();
+        }
+    }
+
+    /**
+     * @return the access log writer
+     */
+    public AccessLogWriter getAccessLogWriter() {
+        return accessLogWriter;
+    }
+
+    /**
+     * @return Number of entries waiting to be written
+     */
+    @ManagedAttribute("Number of entries waiting to be written")
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return Number of entries dropped because the queue was full
+     */
+    @ManagedAttribute("Number of entries dropped because the queue was full")
+    public long getDroppedEntries() {
+        return droppedEntries.get();
+    }
+
+    private void drain() {
+        List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                String entry = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (entry == null) {
+                    continue;
+                }
+
+                batch.add(entry);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                accessLogWriter.write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Can not write {} access log entries", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
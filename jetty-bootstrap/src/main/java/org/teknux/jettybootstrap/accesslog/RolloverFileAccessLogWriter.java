@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.accesslog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+
+/**
+ * {@link AccessLogWriter} appending the entries to a file through a {@link FileChannel}, with a single write per batch.
+ * <p>
+ * When the file name contains the {@value #DATE_TOKEN} token, it is replaced by the current date: a new file is started each day and the files older than the
+ * retain days are deleted.
+ */
+public class RolloverFileAccessLogWriter implements AccessLogWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RolloverFileAccessLogWriter.class);
+
+    public static final String DATE_TOKEN = "yyyy_mm_dd";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy_MM_dd");
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final String filename;
+    private final int retainDays;
+    private final Clock clock;
+
+    private final StringBuilder builder = new StringBuilder();
+    private FileChannel fileChannel;
+    private LocalDate fileDate;
+
+    /**
+     * @param filename
+     *            Name of the file, optionally containing the {@value #DATE_TOKEN} token
+     * @param retainDays
+     *            Number of days the files are kept. A value lower than 1 means forever
+     */
+    public RolloverFileAccessLogWriter(String filename, int retainDays) {
+        this(filename, retainDays, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param filename
+     *            Name of the file, optionally containing the {@value #DATE_TOKEN} token
+     * @param retainDays
+     *            Number of days the files are kept. A value lower than 1 means forever
+     * @param clock
+     *            Clock giving the current date
+     */
+    public RolloverFileAccessLogWriter(String filename, int retainDays, Clock clock) {
+        if (filename == null || filename.isEmpty()) {
+            throw new IllegalArgumentException("Filename is required");
+        }
+
+        this.filename = filename;
+        this.retainDays = retainDays;
+        this.clock = clock;
+    }
+
+    @Override
+    public void write(List<String> entries) throws IOException {
+        LocalDate date = LocalDate.now(clock);
+        if (fileChannel == null || (isRolled() && !date.equals(fileDate))) {
+            rollover(date);
+        }
+
+        builder.setLength(0);
+        for (String entry : entries) {
+            builder.append(entry).append(LINE_SEPARATOR);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } finally {
+                fileChannel = null;
+            }
+        }
+    }
+
+    /**
+     * @param date
+     *            Date
+     * @return the file the entries of the given date are written to
+     */
+    public File getFile(LocalDate date) {
+        return new File(filename.replace(DATE_TOKEN, date.format(DATE_FORMATTER)));
+    }
+
+    private boolean isRolled() {
+        return filename.contains(DATE_TOKEN);
+    }
+
+    private void rollover(LocalDate date) throws IOException {
+        close();
+
+        File file = getFile(date).getAbsoluteFile();
+        File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can not create access log directory " + directory);
+        }
+
+        LOG.debug("Open access log file [{}]...", file);
+        fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileDate = date;
+
+        if (isRolled() && retainDays > 0) {
+            deleteOldFiles(directory, date.minusDays(retainDays));
+        }
+    }
+
+    private void deleteOldFiles(File directory, LocalDate oldestDate) {
+        String name = new File(filename).getName();
+        int tokenIndex = name.indexOf(DATE_TOKEN);
+        if (tokenIndex < 0) {
+            // Date in the directory name, not handled
+            return;
+        }
+
+        String prefix = name.substring(0, tokenIndex);
+        String suffix = name.substring(tokenIndex + DATE_TOKEN.length());
+
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+            String fileName = file.getName();
+            if (fileName.length() != name.length() || !fileName.startsWith(prefix) || !fileName.endsWith(suffix)) {
+                continue;
+            }
+
+            try {
+                LocalDate date = LocalDate.parse(fileName.substring(tokenIndex, tokenIndex + DATE_TOKEN.length()), DATE_FORMATTER);
+                if (date.isBefore(oldestDate)) {
+                    LOG.debug("Delete access log file [{}]...", file);
+                    if (!file.delete()) {
+                        LOG.warn("Can not delete access log file [{}]", file);
+                    }
+                }
+            } catch (DateTimeParseException e) {
+                // Not an access log file
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.accesslog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+
+/**
+ * {@link AccessLogWriter} sending each entry to the {@value #LOGGER_NAME} SLF4J logger, leaving the output and the rotation to the logging backend. The logger
+ * is not named after a package, so that the loggers of the access log classes do not inherit its configuration.
+ */
+public class Slf4jAccessLogWriter implements AccessLogWriter {
+
+    public static final String LOGGER_NAME = "org.teknux.jettybootstrap.ACCESS_LOG";
+
+    private final Logger logger;
+
+    public Slf4jAccessLogWriter() {
+        this(LoggerFactory.getLogger(LOGGER_NAME));
+    }
+
+    /**
+     * @param logger
+     *            Logger the entries are sent to, at INFO level
+     */
+    public Slf4jAccessLogWriter(Logger logger) {
+        this.logger = logger;
+    }
+
+    @Override
+    public void write(List<String> entries) {
+        if (logger.isInfoEnabled()) {
+            for (String entry : entries) {
+                logger.info(entry);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -61,6 +61,22 @@ public interface IJettyConfiguration extends Cloneable {
      */
     void setMaxThreads(int maxThreads);
 
+    /**
+     * Get the execution mode of the server thread pool.
+     * 
+     * @return JettyThreadPoolMode
+     */
+    JettyThreadPoolMode getThreadPoolMode();
+
+    /**
+     * Set the execution mode of the server thread pool. {@link JettyThreadPoolMode#VIRTUAL} runs each task on a new virtual thread and falls back on
+     * {@link JettyThreadPoolMode#PLATFORM} when the JVM doesn't support virtual threads.
+     * 
+     * @param threadPoolMode
+     *            JettyThreadPoolMode
+     */
+    void setThreadPoolMode(JettyThreadPoolMode threadPoolMode);
+
     /**
      * Is jetty server must be stopped whenever the jettybootstrap stops. Otherwise jetty remains running.
      * 
@@ -514,4 +530,1114 @@ public interface IJettyConfiguration extends Cloneable {
      *            the max inactivity period, in seconds.
      */
     void setMaxInactiveInterval(int seconds);
+
+    /**
+     * Get the minimum number of threads kept alive in the thread pool.
+     * 
+     * @return int
+     */
+    int getMinThreads();
+
+    /**
+     * Set the minimum number of threads kept alive in the thread pool.
+     * 
+     * @param minThreads
+     *            int
+     */
+    void setMinThreads(int minThreads);
+
+    /**
+     * Get the time in milliseconds an idle thread above {@link #getMinThreads()} is kept before being stopped.
+     * 
+     * @return int
+     */
+    int getThreadIdleTimeout();
+
+    /**
+     * Set the time in milliseconds an idle thread above {@link #getMinThreads()} is kept before being stopped.
+     * 
+     * @param threadIdleTimeout
+     *            int
+     */
+    void setThreadIdleTimeout(int threadIdleTimeout);
+
+    /**
+     * Get the capacity of the job queue of the thread pool. A value lower than 1 means unbounded.
+     * 
+     * @return int
+     */
+    int getMaxQueuedJobs();
+
+    /**
+     * Set the capacity of the job queue of the thread pool. Once the queue is full, new jobs are rejected. A value lower than 1 means unbounded.
+     * 
+     * @param maxQueuedJobs
+     *            int
+     */
+    void setMaxQueuedJobs(int maxQueuedJobs);
+
+    /**
+     * Get the number of threads reserved by each connector to run the selector producers. A negative value lets jetty compute it.
+     * 
+     * @return int
+     */
+    int getReservedThreads();
+
+    /**
+     * Set the number of threads reserved by each connector to run the selector producers. A negative value lets jetty compute it.
+     * 
+     * @param reservedThreads
+     *            int
+     */
+    void setReservedThreads(int reservedThreads);
+
+    /**
+     * Get the priority of the threads of the thread pool.
+     * 
+     * @return int
+     */
+    int getThreadsPriority();
+
+    /**
+     * Set the priority of the threads of the thread pool.
+     * 
+     * @param threadsPriority
+     *            int
+     */
+    void setThreadsPriority(int threadsPriority);
+
+    /**
+     * Get the number of acceptor threads of the HTTP connector. A negative value lets jetty compute it from the number of cores.
+     * 
+     * @return int
+     */
+    int getAcceptors();
+
+    /**
+     * Set the number of acceptor threads of the HTTP connector. A negative value lets jetty compute it from the number of cores.
+     * 
+     * @param acceptors
+     *            int
+     */
+    void setAcceptors(int acceptors);
+
+    /**
+     * Get the number of selectors of the HTTP connector. A negative value lets jetty compute it from the number of cores.
+     * 
+     * @return int
+     */
+    int getSelectors();
+
+    /**
+     * Set the number of selectors of the HTTP connector. A negative value lets jetty compute it from the number of cores.
+     * 
+     * @param selectors
+     *            int
+     */
+    void setSelectors(int selectors);
+
+    /**
+     * Get the accept queue size (backlog) of the HTTP connector. 0 uses the system default.
+     * 
+     * @return int
+     */
+    int getAcceptQueueSize();
+
+    /**
+     * Set the accept queue size (backlog) of the HTTP connector. 0 uses the system default.
+     * 
+     * @param acceptQueueSize
+     *            int
+     */
+    void setAcceptQueueSize(int acceptQueueSize);
+
+    /**
+     * Check whether or not the server socket of the HTTP connector is bound with SO_REUSEADDR.
+     * 
+     * @return boolean
+     */
+    boolean isReuseAddress();
+
+    /**
+     * Set whether or not the server socket of the HTTP connector is bound with SO_REUSEADDR.
+     * 
+     * @param reuseAddress
+     *            boolean
+     */
+    void setReuseAddress(boolean reuseAddress);
+
+    /**
+     * Get the priority delta applied to the acceptor threads of the HTTP connector.
+     * 
+     * @return int
+     */
+    int getAcceptorPriorityDelta();
+
+    /**
+     * Set the priority delta applied to the acceptor threads of the HTTP connector.
+     * 
+     * @param acceptorPriorityDelta
+     *            int
+     */
+    void setAcceptorPriorityDelta(int acceptorPriorityDelta);
+
+    /**
+     * Get the number of acceptor threads of the HTTPS connector. A negative value lets jetty compute it from the number of cores.
+     * 
+     * @return int
+     */
+    int getSslAcceptors();
+
+    /**
+     * Set the number of acceptor threads of the HTTPS connector. A negative value lets jetty compute it from the number of cores.
+     * 
+     * @param sslAcceptors
+     *            int
+     */
+    void setSslAcceptors(int sslAcceptors);
+
+    /**
+     * Get the number of selectors of the HTTPS connector. A negative value lets jetty compute it from the number of cores.
+     * 
+     * @return int
+     */
+    int getSslSelectors();
+
+    /**
+     * Set the number of selectors of the HTTPS connector. A negative value lets jetty compute it from the number of cores.
+     * 
+     * @param sslSelectors
+     *            int
+     */
+    void setSslSelectors(int sslSelectors);
+
+    /**
+     * Get the accept queue size (backlog) of the HTTPS connector. 0 uses the system default.
+     * 
+     * @return int
+     */
+    int getSslAcceptQueueSize();
+
+    /**
+     * Set the accept queue size (backlog) of the HTTPS connector. 0 uses the system default.
+     * 
+     * @param sslAcceptQueueSize
+     *            int
+     */
+    void setSslAcceptQueueSize(int sslAcceptQueueSize);
+
+    /**
+     * Check whether or not the server socket of the HTTPS connector is bound with SO_REUSEADDR.
+     * 
+     * @return boolean
+     */
+    boolean isSslReuseAddress();
+
+    /**
+     * Set whether or not the server socket of the HTTPS connector is bound with SO_REUSEADDR.
+     * 
+     * @param sslReuseAddress
+     *            boolean
+     */
+    void setSslReuseAddress(boolean sslReuseAddress);
+
+    /**
+     * Get the priority delta applied to the acceptor threads of the HTTPS connector.
+     * 
+     * @return int
+     */
+    int getSslAcceptorPriorityDelta();
+
+    /**
+     * Set the priority delta applied to the acceptor threads of the HTTPS connector.
+     * 
+     * @param sslAcceptorPriorityDelta
+     *            int
+     */
+    void setSslAcceptorPriorityDelta(int sslAcceptorPriorityDelta);
+
+    /**
+     * Get the maximum number of concurrent streams per HTTP/2 session.
+     * 
+     * @return int
+     */
+    int getHttp2MaxConcurrentStreams();
+
+    /**
+     * Set the maximum number of concurrent streams per HTTP/2 session.
+     * 
+     * @param http2MaxConcurrentStreams
+     *            int
+     */
+    void setHttp2MaxConcurrentStreams(int http2MaxConcurrentStreams);
+
+    /**
+     * Get the initial HTTP/2 flow control window size (in bytes) of a session.
+     * 
+     * @return int
+     */
+    int getHttp2InitialSessionRecvWindow();
+
+    /**
+     * Set the initial HTTP/2 flow control window size (in bytes) of a session.
+     * 
+     * @param http2InitialSessionRecvWindow
+     *            int
+     */
+    void setHttp2InitialSessionRecvWindow(int http2InitialSessionRecvWindow);
+
+    /**
+     * Get the initial HTTP/2 flow control window size (in bytes) of a stream.
+     * 
+     * @return int
+     */
+    int getHttp2InitialStreamRecvWindow();
+
+    /**
+     * Set the initial HTTP/2 flow control window size (in bytes) of a stream.
+     * 
+     * @param http2InitialStreamRecvWindow
+     *            int
+     */
+    void setHttp2InitialStreamRecvWindow(int http2InitialStreamRecvWindow);
+
+    /**
+     * Get the maximum size (in bytes) of the HPACK dynamic header table used by HTTP/2 sessions.
+     * 
+     * @return int
+     */
+    int getHttp2HeaderTableSize();
+
+    /**
+     * Set the maximum size (in bytes) of the HPACK dynamic header table used by HTTP/2 sessions.
+     * 
+     * @param http2HeaderTableSize
+     *            int
+     */
+    void setHttp2HeaderTableSize(int http2HeaderTableSize);
+
+    /**
+     * Get the path of the Unix domain socket file used by the {@link JettyConnector#UNIX_SOCKET} connector.
+     * 
+     * @return String
+     */
+    String getUnixSocketPath();
+
+    /**
+     * Set the path of the Unix domain socket file used by the {@link JettyConnector#UNIX_SOCKET} connector.
+     * 
+     * @param unixSocketPath
+     *            String
+     */
+    void setUnixSocketPath(String unixSocketPath);
+
+    /**
+     * Check whether or not the HTTP connector expects the PROXY protocol (v1 or v2) header sent by a load balancer before each connection.
+     * 
+     * @return boolean
+     */
+    boolean isProxyProtocol();
+
+    /**
+     * Set whether or not the HTTP connector expects the PROXY protocol (v1 or v2) header sent by a load balancer before each connection.
+     * 
+     * @param proxyProtocol
+     *            boolean
+     */
+    void setProxyProtocol(boolean proxyProtocol);
+
+    /**
+     * Check whether or not the HTTPS connector expects the PROXY protocol (v1 or v2) header sent by a load balancer before each connection.
+     * 
+     * @return boolean
+     */
+    boolean isSslProxyProtocol();
+
+    /**
+     * Set whether or not the HTTPS connector expects the PROXY protocol (v1 or v2) header sent by a load balancer before each connection.
+     * 
+     * @param sslProxyProtocol
+     *            boolean
+     */
+    void setSslProxyProtocol(boolean sslProxyProtocol);
+
+    /**
+     * Check whether or not the Forwarded and X-Forwarded-* headers set by a reverse proxy are applied to the requests. This applies to all connectors.
+     * 
+     * @return boolean
+     */
+    boolean isForwardedHeaders();
+
+    /**
+     * Set whether or not the Forwarded and X-Forwarded-* headers set by a reverse proxy are applied to the requests. This applies to all connectors.
+     * 
+     * @param forwardedHeaders
+     *            boolean
+     */
+    void setForwardedHeaders(boolean forwardedHeaders);
+
+    /**
+     * Get the size (in bytes) of the buffer into which response content is aggregated before being sent to the client. This applies to all connectors.
+     * 
+     * @return int
+     */
+    int getOutputBufferSize();
+
+    /**
+     * Set the size (in bytes) of the buffer into which response content is aggregated before being sent to the client. This applies to all connectors.
+     * 
+     * @param outputBufferSize
+     *            int
+     */
+    void setOutputBufferSize(int outputBufferSize);
+
+    /**
+     * Get the max size (in bytes) of the response content write that is copied into the aggregate buffer. This applies to all connectors.
+     * 
+     * @return int
+     */
+    int getOutputAggregationSize();
+
+    /**
+     * Set the max size (in bytes) of the response content write that is copied into the aggregate buffer. This applies to all connectors.
+     * 
+     * @param outputAggregationSize
+     *            int
+     */
+    void setOutputAggregationSize(int outputAggregationSize);
+
+    /**
+     * Get the maximum size (in bytes) of a request header. This applies to all connectors.
+     * 
+     * @return int
+     */
+    int getRequestHeaderSize();
+
+    /**
+     * Set the maximum size (in bytes) of a request header. This applies to all connectors.
+     * 
+     * @param requestHeaderSize
+     *            int
+     */
+    void setRequestHeaderSize(int requestHeaderSize);
+
+    /**
+     * Get the maximum size (in bytes) of a response header. This applies to all connectors.
+     * 
+     * @return int
+     */
+    int getResponseHeaderSize();
+
+    /**
+     * Set the maximum size (in bytes) of a response header. This applies to all connectors.
+     * 
+     * @param responseHeaderSize
+     *            int
+     */
+    void setResponseHeaderSize(int responseHeaderSize);
+
+    /**
+     * Check whether or not the Server header is sent in the responses. This applies to all connectors.
+     * 
+     * @return boolean
+     */
+    boolean isSendServerVersion();
+
+    /**
+     * Set whether or not the Server header is sent in the responses. This applies to all connectors.
+     * 
+     * @param sendServerVersion
+     *            boolean
+     */
+    void setSendServerVersion(boolean sendServerVersion);
+
+    /**
+     * Check whether or not the Date header is sent in the responses. This applies to all connectors.
+     * 
+     * @return boolean
+     */
+    boolean isSendDateHeader();
+
+    /**
+     * Set whether or not the Date header is sent in the responses. This applies to all connectors.
+     * 
+     * @param sendDateHeader
+     *            boolean
+     */
+    void setSendDateHeader(boolean sendDateHeader);
+
+    /**
+     * Get the capacity increment (in bytes) between two buckets of the buffer pool shared by all connectors.
+     * 
+     * @return int
+     */
+    int getBufferPoolFactor();
+
+    /**
+     * Set the capacity increment (in bytes) between two buckets of the buffer pool shared by all connectors.
+     * 
+     * @param bufferPoolFactor
+     *            int
+     */
+    void setBufferPoolFactor(int bufferPoolFactor);
+
+    /**
+     * Get the capacity (in bytes) of the biggest buffer retained by the buffer pool shared by all connectors.
+     * 
+     * @return int
+     */
+    int getBufferPoolMaxCapacity();
+
+    /**
+     * Set the capacity (in bytes) of the biggest buffer retained by the buffer pool shared by all connectors.
+     * 
+     * @param bufferPoolMaxCapacity
+     *            int
+     */
+    void setBufferPoolMaxCapacity(int bufferPoolMaxCapacity);
+
+    /**
+     * Get the max memory (in bytes) retained by idle heap buffers of the buffer pool shared by all connectors. A value lower than 1 means unbounded.
+     * 
+     * @return long
+     */
+    long getBufferPoolMaxHeapMemory();
+
+    /**
+     * Set the max memory (in bytes) retained by idle heap buffers of the buffer pool shared by all connectors. A value lower than 1 means unbounded.
+     * 
+     * @param bufferPoolMaxHeapMemory
+     *            long
+     */
+    void setBufferPoolMaxHeapMemory(long bufferPoolMaxHeapMemory);
+
+    /**
+     * Get the max memory (in bytes) retained by idle direct buffers of the buffer pool shared by all connectors. A value lower than 1 means unbounded.
+     * 
+     * @return long
+     */
+    long getBufferPoolMaxDirectMemory();
+
+    /**
+     * Set the max memory (in bytes) retained by idle direct buffers of the buffer pool shared by all connectors. A value lower than 1 means unbounded.
+     * 
+     * @param bufferPoolMaxDirectMemory
+     *            long
+     */
+    void setBufferPoolMaxDirectMemory(long bufferPoolMaxDirectMemory);
+
+    /**
+     * Check whether or not the buffer pool shared by all connectors serves direct buffers when requested. If not, heap buffers are always used.
+     * 
+     * @return boolean
+     */
+    boolean isBufferPoolDirectBuffers();
+
+    /**
+     * Set whether or not the buffer pool shared by all connectors serves direct buffers when requested. If not, heap buffers are always used.
+     * 
+     * @param bufferPoolDirectBuffers
+     *            boolean
+     */
+    void setBufferPoolDirectBuffers(boolean bufferPoolDirectBuffers);
+
+    /**
+     * Check whether or not the responses are gzip compressed when the client accepts it.
+     * 
+     * @return boolean
+     */
+    boolean isCompressionEnabled();
+
+    /**
+     * Set whether or not the responses are gzip compressed when the client accepts it.
+     * 
+     * @param compressionEnabled
+     *            boolean
+     */
+    void setCompressionEnabled(boolean compressionEnabled);
+
+    /**
+     * Get the minimum response size (in bytes) to compress.
+     * 
+     * @return int
+     */
+    int getCompressionMinSize();
+
+    /**
+     * Set the minimum response size (in bytes) to compress.
+     * 
+     * @param compressionMinSize
+     *            int
+     */
+    void setCompressionMinSize(int compressionMinSize);
+
+    /**
+     * Get the mime types to compress. If <code>null</code> or empty, all the mime types not excluded are compressed.
+     * 
+     * @return String[]
+     */
+    String[] getCompressionIncludedMimeTypes();
+
+    /**
+     * Set the mime types to compress. If <code>null</code> or empty, all the mime types not excluded are compressed.
+     * 
+     * @param compressionIncludedMimeTypes
+     *            String[]
+     */
+    void setCompressionIncludedMimeTypes(String[] compressionIncludedMimeTypes);
+
+    /**
+     * Get the mime types never compressed. If <code>null</code>, jetty excludes already compressed formats (images, archives, ...).
+     * 
+     * @return String[]
+     */
+    String[] getCompressionExcludedMimeTypes();
+
+    /**
+     * Set the mime types never compressed. If <code>null</code>, jetty excludes already compressed formats (images, archives, ...).
+     * 
+     * @param compressionExcludedMimeTypes
+     *            String[]
+     */
+    void setCompressionExcludedMimeTypes(String[] compressionExcludedMimeTypes);
+
+    /**
+     * Get the deflater compression level (from 0 to 9, -1 for the default level).
+     * 
+     * @return int
+     */
+    int getCompressionLevel();
+
+    /**
+     * Set the deflater compression level (from 0 to 9, -1 for the default level).
+     * 
+     * @param compressionLevel
+     *            int
+     */
+    void setCompressionLevel(int compressionLevel);
+
+    /**
+     * Get the max number of deflaters kept for reuse. A negative value means unbounded, 0 disables the pool.
+     * 
+     * @return int
+     */
+    int getCompressionDeflaterPoolCapacity();
+
+    /**
+     * Set the max number of deflaters kept for reuse. A negative value means unbounded, 0 disables the pool.
+     * 
+     * @param compressionDeflaterPoolCapacity
+     *            int
+     */
+    void setCompressionDeflaterPoolCapacity(int compressionDeflaterPoolCapacity);
+
+    /**
+     * Check whether or not the deflater is flushed (SYNC_FLUSH) on each response flush, instead of only when its buffer is full.
+     * 
+     * @return boolean
+     */
+    boolean isCompressionSyncFlush();
+
+    /**
+     * Set whether or not the deflater is flushed (SYNC_FLUSH) on each response flush, instead of only when its buffer is full.
+     * 
+     * @param compressionSyncFlush
+     *            boolean
+     */
+    void setCompressionSyncFlush(boolean compressionSyncFlush);
+
+    /**
+     * Check whether or not the static resources of the exploded war applications are gzip compressed once when the application is added, and served precompressed.
+     * 
+     * @return boolean
+     */
+    boolean isPrecompressEnabled();
+
+    /**
+     * Set whether or not the static resources of the exploded war applications are gzip compressed once when the application is added, and served precompressed.
+     * 
+     * @param precompressEnabled
+     *            boolean
+     */
+    void setPrecompressEnabled(boolean precompressEnabled);
+
+    /**
+     * Get the minimum size (in bytes) of the static resources to precompress.
+     * 
+     * @return int
+     */
+    int getPrecompressMinSize();
+
+    /**
+     * Set the minimum size (in bytes) of the static resources to precompress.
+     * 
+     * @param precompressMinSize
+     *            int
+     */
+    void setPrecompressMinSize(int precompressMinSize);
+
+    /**
+     * Get the extensions (without dot) of the static resources to precompress.
+     * 
+     * @return String[]
+     */
+    String[] getPrecompressExtensions();
+
+    /**
+     * Set the extensions (without dot) of the static resources to precompress.
+     * 
+     * @param precompressExtensions
+     *            String[]
+     */
+    void setPrecompressExtensions(String[] precompressExtensions);
+
+    /**
+     * Get the maximum total size (in bytes) of the static content cached in memory by each web application, 0 to disable the cache.
+     * 
+     * @return int
+     */
+    int getStaticCacheMaxSize();
+
+    /**
+     * Set the maximum total size (in bytes) of the static content cached in memory by each web application, 0 to disable the cache.
+     * 
+     * @param staticCacheMaxSize
+     *            int
+     */
+    void setStaticCacheMaxSize(int staticCacheMaxSize);
+
+    /**
+     * Get the maximum size (in bytes) of a static file cached in memory.
+     * 
+     * @return int
+     */
+    int getStaticCacheMaxFileSize();
+
+    /**
+     * Set the maximum size (in bytes) of a static file cached in memory.
+     * 
+     * @param staticCacheMaxFileSize
+     *            int
+     */
+    void setStaticCacheMaxFileSize(int staticCacheMaxFileSize);
+
+    /**
+     * Get the maximum number of static files cached in memory by each web application.
+     * 
+     * @return int
+     */
+    int getStaticCacheMaxFiles();
+
+    /**
+     * Set the maximum number of static files cached in memory by each web application.
+     * 
+     * @param staticCacheMaxFiles
+     *            int
+     */
+    void setStaticCacheMaxFiles(int staticCacheMaxFiles);
+
+    /**
+     * Check whether or not the cached static files are memory-mapped instead of being copied into direct buffers.
+     * 
+     * @return boolean
+     */
+    boolean isStaticCacheFileMappedBuffer();
+
+    /**
+     * Set whether or not the cached static files are memory-mapped instead of being copied into direct buffers.
+     * 
+     * @param staticCacheFileMappedBuffer
+     *            boolean
+     */
+    void setStaticCacheFileMappedBuffer(boolean staticCacheFileMappedBuffer);
+
+    /**
+     * Get the size (in bytes) from which the static files of the web applications are served from memory-mapped buffers, -1 to disable.
+     * 
+     * @return long
+     */
+    long getMappedFileThreshold();
+
+    /**
+     * Set the size (in bytes) from which the static files of the web applications are served from memory-mapped buffers, -1 to disable.
+     * 
+     * @param mappedFileThreshold
+     *            long
+     */
+    void setMappedFileThreshold(long mappedFileThreshold);
+
+    /**
+     * Check whether or not the request counts and latencies of the server and of each context are recorded.
+     * 
+     * @return boolean
+     */
+    boolean isStatisticsEnabled();
+
+    /**
+     * Set whether or not the request counts and latencies of the server and of each context are recorded.
+     * 
+     * @param statisticsEnabled
+     *            boolean
+     */
+    void setStatisticsEnabled(boolean statisticsEnabled);
+
+    /**
+     * Check whether or not the server, its thread pool, connectors and contexts are registered as MBeans in the platform MBean server.
+     * 
+     * @return boolean
+     */
+    boolean isJmxEnabled();
+
+    /**
+     * Set whether or not the server, its thread pool, connectors and contexts are registered as MBeans in the platform MBean server.
+     * 
+     * @param jmxEnabled
+     *            boolean
+     */
+    void setJmxEnabled(boolean jmxEnabled);
+
+    /**
+     * Get the host of the JMX remote connector.
+     * 
+     * @return String
+     */
+    String getJmxHost();
+
+    /**
+     * Set the host of the JMX remote connector.
+     * 
+     * @param jmxHost
+     *            String
+     */
+    void setJmxHost(String jmxHost);
+
+    /**
+     * Get the port of the JMX remote connector (RMI registry and server), -1 to only use the local JMX access.
+     * 
+     * @return int
+     */
+    int getJmxPort();
+
+    /**
+     * Set the port of the JMX remote connector (RMI registry and server), -1 to only use the local JMX access.
+     * 
+     * @param jmxPort
+     *            int
+     */
+    void setJmxPort(int jmxPort);
+
+    /**
+     * Check whether or not the connections, bytes, messages and TLS handshake times of each connector are recorded.
+     * 
+     * @return boolean
+     */
+    boolean isConnectionStatisticsEnabled();
+
+    /**
+     * Set whether or not the connections, bytes, messages and TLS handshake times of each connector are recorded.
+     * 
+     * @param connectionStatisticsEnabled
+     *            boolean
+     */
+    void setConnectionStatisticsEnabled(boolean connectionStatisticsEnabled);
+
+    /**
+     * Check whether or not each request is written to the access log (NCSA format).
+     * 
+     * @return boolean
+     */
+    boolean isAccessLogEnabled();
+
+    /**
+     * Set whether or not each request is written to the access log (NCSA format).
+     * 
+     * @param accessLogEnabled
+     *            boolean
+     */
+    void setAccessLogEnabled(boolean accessLogEnabled);
+
+    /**
+     * Get the destination of the access log.
+     * 
+     * @return JettyAccessLogMode
+     */
+    JettyAccessLogMode getAccessLogMode();
+
+    /**
+     * Set the destination of the access log.
+     * 
+     * @param accessLogMode
+     *            JettyAccessLogMode
+     */
+    void setAccessLogMode(JettyAccessLogMode accessLogMode);
+
+    /**
+     * Get the access log file name in FILE mode. The optional "yyyy_mm_dd" token is replaced by the date, a new file being started each day.
+     * 
+     * @return String
+     */
+    String getAccessLogFilename();
+
+    /**
+     * Set the access log file name in FILE mode. The optional "yyyy_mm_dd" token is replaced by the date, a new file being started each day.
+     * 
+     * @param accessLogFilename
+     *            String
+     */
+    void setAccessLogFilename(String accessLogFilename);
+
+    /**
+     * Get the number of days the rotated access log files are kept in FILE mode, -1 to keep them forever.
+     * 
+     * @return int
+     */
+    int getAccessLogRetainDays();
+
+    /**
+     * Set the number of days the rotated access log files are kept in FILE mode, -1 to keep them forever.
+     * 
+     * @param accessLogRetainDays
+     *            int
+     */
+    void setAccessLogRetainDays(int accessLogRetainDays);
+
+    /**
+     * Get the max number of access log entries waiting to be written. Entries are dropped when the queue is full rather than blocking the request threads.
+     * 
+     * @return int
+     */
+    int getAccessLogQueueCapacity();
+
+    /**
+     * Set the max number of access log entries waiting to be written. Entries are dropped when the queue is full rather than blocking the request threads.
+     * 
+     * @param accessLogQueueCapacity
+     *            int
+     */
+    void setAccessLogQueueCapacity(int accessLogQueueCapacity);
+
+    /**
+     * Check whether or not the access log uses the extended NCSA format (with referer and user agent).
+     * 
+     * @return boolean
+     */
+    boolean isAccessLogExtended();
+
+    /**
+     * Set whether or not the access log uses the extended NCSA format (with referer and user agent).
+     * 
+     * @param accessLogExtended
+     *            boolean
+     */
+    void setAccessLogExtended(boolean accessLogExtended);
+
+    /**
+     * Get the duration (in ms) after which an in-flight request is logged with a stack sample of its thread, -1 to disable the slow request detection.
+     * 
+     * @return long
+     */
+    long getSlowRequestThreshold();
+
+    /**
+     * Set the duration (in ms) after which an in-flight request is logged with a stack sample of its thread, -1 to disable the slow request detection.
+     * 
+     * @param slowRequestThreshold
+     *            long
+     */
+    void setSlowRequestThreshold(long slowRequestThreshold);
+
+    /**
+     * Get the min duration (in ms) between two stack samples of slow requests. The slow requests detected in between are logged without stack.
+     * 
+     * @return long
+     */
+    long getSlowRequestStackSampleInterval();
+
+    /**
+     * Set the min duration (in ms) between two stack samples of slow requests. The slow requests detected in between are logged without stack.
+     * 
+     * @param slowRequestStackSampleInterval
+     *            long
+     */
+    void setSlowRequestStackSampleInterval(long slowRequestStackSampleInterval);
+
+    /**
+     * Check whether or not the server switches to the low resources mode (shorter idle timeout, acceptors paused) when one of the low resources thresholds is crossed.
+     * 
+     * @return boolean
+     */
+    boolean isLowResourcesMonitorEnabled();
+
+    /**
+     * Set whether or not the server switches to the low resources mode (shorter idle timeout, acceptors paused) when one of the low resources thresholds is crossed.
+     * 
+     * @param lowResourcesMonitorEnabled
+     *            boolean
+     */
+    void setLowResourcesMonitorEnabled(boolean lowResourcesMonitorEnabled);
+
+    /**
+     * Get the period (in ms) of the low resources checks.
+     * 
+     * @return int
+     */
+    int getLowResourcesPeriod();
+
+    /**
+     * Set the period (in ms) of the low resources checks.
+     * 
+     * @param lowResourcesPeriod
+     *            int
+     */
+    void setLowResourcesPeriod(int lowResourcesPeriod);
+
+    /**
+     * Get the number of idle threads of the thread pool below which the server is low on resources, -1 to not monitor the threads.
+     * 
+     * @return int
+     */
+    int getLowResourcesThreadsThreshold();
+
+    /**
+     * Set the number of idle threads of the thread pool below which the server is low on resources, -1 to not monitor the threads.
+     * 
+     * @param lowResourcesThreadsThreshold
+     *            int
+     */
+    void setLowResourcesThreadsThreshold(int lowResourcesThreadsThreshold);
+
+    /**
+     * Get the number of connections above which the server is low on resources, 0 to not monitor the connections.
+     * 
+     * @return int
+     */
+    int getLowResourcesMaxConnections();
+
+    /**
+     * Set the number of connections above which the server is low on resources, 0 to not monitor the connections.
+     * 
+     * @param lowResourcesMaxConnections
+     *            int
+     */
+    void setLowResourcesMaxConnections(int lowResourcesMaxConnections);
+
+    /**
+     * Get the used heap memory (in bytes) above which the server is low on resources, 0 to not monitor the memory.
+     * 
+     * @return long
+     */
+    long getLowResourcesMaxMemory();
+
+    /**
+     * Set the used heap memory (in bytes) above which the server is low on resources, 0 to not monitor the memory.
+     * 
+     * @param lowResourcesMaxMemory
+     *            long
+     */
+    void setLowResourcesMaxMemory(long lowResourcesMaxMemory);
+
+    /**
+     * Get the idle timeout (in ms) of the connections while the server is low on resources.
+     * 
+     * @return int
+     */
+    int getLowResourcesIdleTimeout();
+
+    /**
+     * Set the idle timeout (in ms) of the connections while the server is low on resources.
+     * 
+     * @param lowResourcesIdleTimeout
+     *            int
+     */
+    void setLowResourcesIdleTimeout(int lowResourcesIdleTimeout);
+
+    /**
+     * Get the duration (in ms) after which the low resources idle timeout is applied again to all the connections if the server is still low on resources, 0 to apply it only once.
+     * 
+     * @return int
+     */
+    int getLowResourcesMaxTime();
+
+    /**
+     * Set the duration (in ms) after which the low resources idle timeout is applied again to all the connections if the server is still low on resources, 0 to apply it only once.
+     * 
+     * @param lowResourcesMaxTime
+     *            int
+     */
+    void setLowResourcesMaxTime(int lowResourcesMaxTime);
+
+    /**
+     * Get the max number of connections of all the connectors together, -1 for no limit. When reached, the connectors stop accepting until a connection is closed.
+     * 
+     * @return int
+     */
+    int getMaxConnections();
+
+    /**
+     * Set the max number of connections of all the connectors together, -1 for no limit. When reached, the connectors stop accepting until a connection is closed.
+     * 
+     * @param maxConnections
+     *            int
+     */
+    void setMaxConnections(int maxConnections);
+
+    /**
+     * Get the max number of connections of the HTTP connector, -1 for no limit. When reached, the connector stops accepting until a connection is closed.
+     * 
+     * @return int
+     */
+    int getHttpMaxConnections();
+
+    /**
+     * Set the max number of connections of the HTTP connector, -1 for no limit. When reached, the connector stops accepting until a connection is closed.
+     * 
+     * @param httpMaxConnections
+     *            int
+     */
+    void setHttpMaxConnections(int httpMaxConnections);
+
+    /**
+     * Get the max number of connections of the HTTPS connector, -1 for no limit. When reached, the connector stops accepting until a connection is closed.
+     * 
+     * @return int
+     */
+    int getSslMaxConnections();
+
+    /**
+     * Set the max number of connections of the HTTPS connector, -1 for no limit. When reached, the connector stops accepting until a connection is closed.
+     * 
+     * @param sslMaxConnections
+     *            int
+     */
+    void setSslMaxConnections(int sslMaxConnections);
+
+    /**
+     * Check whether or not stopping the server (shutdown hook included) first stops accepting and waits for the in-flight requests to complete.
+     * 
+     * @return boolean
+     */
+    boolean isGracefulShutdown();
+
+    /**
+     * Set whether or not stopping the server (shutdown hook included) first stops accepting and waits for the in-flight requests to complete.
+     * 
+     * @param gracefulShutdown
+     *            boolean
+     */
+    void setGracefulShutdown(boolean gracefulShutdown);
+
+    /**
+     * Get the max duration (in ms) of the wait for the in-flight requests on graceful shutdown. The requests still in flight are then aborted.
+     * 
+     * @return long
+     */
+    long getGracefulShutdownTimeout();
+
+    /**
+     * Set the max duration (in ms) of the wait for the in-flight requests on graceful shutdown. The requests still in flight are then aborted.
+     * 
+     * @param gracefulShutdownTimeout
+     *            long
+     */
+    void setGracefulShutdownTimeout(long gracefulShutdownTimeout);
 }
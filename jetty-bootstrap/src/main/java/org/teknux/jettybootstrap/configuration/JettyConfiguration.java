@@ -29,6 +29,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.zip.Deflater;
 
 
 /**
@@ -39,6 +40,7 @@ public class JettyConfiguration implements IJettyConfiguration {
     private boolean autoJoinOnStart = true;
 
     private int maxThreads = 128;
+    private JettyThreadPoolMode threadPoolMode = JettyThreadPoolMode.PLATFORM;
     private boolean stopAtShutdown = true;
     private long stopTimeout = 5000;
 
@@ -76,6 +78,99 @@ public class JettyConfiguration implements IJettyConfiguration {
     private boolean throwIfStartupException = true;
     private int maxInactiveInterval = -1;
 
+    private int minThreads = 8;
+    private int threadIdleTimeout = 60000;
+    private int maxQueuedJobs = -1;
+    private int reservedThreads = -1;
+    private int threadsPriority = Thread.NORM_PRIORITY;
+
+    private int acceptors = -1;
+    private int selectors = -1;
+    private int acceptQueueSize = 0;
+    private boolean reuseAddress = true;
+    private int acceptorPriorityDelta = 0;
+    private int sslAcceptors = -1;
+    private int sslSelectors = -1;
+    private int sslAcceptQueueSize = 0;
+    private boolean sslReuseAddress = true;
+    private int sslAcceptorPriorityDelta = 0;
+
+    private int http2MaxConcurrentStreams = 128;
+    private int http2InitialSessionRecvWindow = 1024 * 1024;
+    private int http2InitialStreamRecvWindow = 512 * 1024;
+    private int http2HeaderTableSize = 4096;
+
+    private String unixSocketPath = null;
+
+    private boolean proxyProtocol = false;
+    private boolean sslProxyProtocol = false;
+    private boolean forwardedHeaders = false;
+
+    private int outputBufferSize = 32 * 1024;
+    private int outputAggregationSize = 8 * 1024;
+    private int requestHeaderSize = 8 * 1024;
+    private int responseHeaderSize = 8 * 1024;
+    private boolean sendServerVersion = true;
+    private boolean sendDateHeader = false;
+
+    private int bufferPoolFactor = 1024;
+    private int bufferPoolMaxCapacity = 64 * 1024;
+    private long bufferPoolMaxHeapMemory = -1;
+    private long bufferPoolMaxDirectMemory = -1;
+    private boolean bufferPoolDirectBuffers = true;
+
+    private boolean compressionEnabled = false;
+    private int compressionMinSize = 16;
+    private String[] compressionIncludedMimeTypes = null;
+    private String[] compressionExcludedMimeTypes = null;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int compressionDeflaterPoolCapacity = -1;
+    private boolean compressionSyncFlush = false;
+
+    private boolean precompressEnabled = false;
+    private int precompressMinSize = 1024;
+    private String[] precompressExtensions = new String[] { "html", "htm", "css", "js", "json", "svg", "txt", "xml" };
+
+    private int staticCacheMaxSize = 256000000;
+    private int staticCacheMaxFileSize = 200000000;
+    private int staticCacheMaxFiles = 2048;
+    private boolean staticCacheFileMappedBuffer = true;
+
+    private long mappedFileThreshold = -1;
+
+    private boolean statisticsEnabled = false;
+
+    private boolean jmxEnabled = false;
+    private String jmxHost = "localhost";
+    private int jmxPort = -1;
+
+    private boolean connectionStatisticsEnabled = false;
+
+    private boolean accessLogEnabled = false;
+    private JettyAccessLogMode accessLogMode = JettyAccessLogMode.FILE;
+    private String accessLogFilename = "logs/yyyy_mm_dd.request.log";
+    private int accessLogRetainDays = 31;
+    private int accessLogQueueCapacity = 8192;
+    private boolean accessLogExtended = true;
+
+    private long slowRequestThreshold = -1;
+    private long slowRequestStackSampleInterval = 10000;
+
+    private boolean lowResourcesMonitorEnabled = false;
+    private int lowResourcesPeriod = 1000;
+    private int lowResourcesThreadsThreshold = 1;
+    private int lowResourcesMaxConnections = 0;
+    private long lowResourcesMaxMemory = 0;
+    private int lowResourcesIdleTimeout = 1000;
+    private int lowResourcesMaxTime = 0;
+
+    private int maxConnections = -1;
+    private int httpMaxConnections = -1;
+    private int sslMaxConnections = -1;
+
+    private boolean gracefulShutdown = false;
+    private long gracefulShutdownTimeout = 30000;
+
     public IJettyConfiguration clone() {
         try {
             return (IJettyConfiguration) super.clone();
@@ -116,6 +211,22 @@ public class JettyConfiguration implements IJettyConfiguration {
         this.maxThreads = maxThreads;
     }
 
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getThreadPoolMode()
+     */
+    @Override
+    public JettyThreadPoolMode getThreadPoolMode() {
+        return threadPoolMode;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setThreadPoolMode(org.teknux.jettybootstrap.configuration.JettyThreadPoolMode)
+     */
+    @Override
+    public void setThreadPoolMode(JettyThreadPoolMode threadPoolMode) {
+        this.threadPoolMode = threadPoolMode;
+    }
+
     /* (non-Javadoc)
      * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isStopAtShutdown()
      */
@@ -664,17 +775,1225 @@ public class JettyConfiguration implements IJettyConfiguration {
         this.maxInactiveInterval = maxInactiveInterval;
     }
 
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getMinThreads()
+     */
+    @Override
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setMinThreads(int)
+     */
+    @Override
+    public void setMinThreads(int minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getThreadIdleTimeout()
+     */
+    @Override
+    public int getThreadIdleTimeout() {
+        return threadIdleTimeout;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setThreadIdleTimeout(int)
+     */
+    @Override
+    public void setThreadIdleTimeout(int threadIdleTimeout) {
+        this.threadIdleTimeout = threadIdleTimeout;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getMaxQueuedJobs()
+     */
+    @Override
+    public int getMaxQueuedJobs() {
+        return maxQueuedJobs;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setMaxQueuedJobs(int)
+     */
+    @Override
+    public void setMaxQueuedJobs(int maxQueuedJobs) {
+        this.maxQueuedJobs = maxQueuedJobs;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getReservedThreads()
+     */
+    @Override
+    public int getReservedThreads() {
+        return reservedThreads;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setReservedThreads(int)
+     */
+    @Override
+    public void setReservedThreads(int reservedThreads) {
+        this.reservedThreads = reservedThreads;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getThreadsPriority()
+     */
+    @Override
+    public int getThreadsPriority() {
+        return threadsPriority;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setThreadsPriority(int)
+     */
+    @Override
+    public void setThreadsPriority(int threadsPriority) {
+        this.threadsPriority = threadsPriority;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getAcceptors()
+     */
+    @Override
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAcceptors(int)
+     */
+    @Override
+    public void setAcceptors(int acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getSelectors()
+     */
+    @Override
+    public int getSelectors() {
+        return selectors;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSelectors(int)
+     */
+    @Override
+    public void setSelectors(int selectors) {
+        this.selectors = selectors;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getAcceptQueueSize()
+     */
+    @Override
+    public int getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAcceptQueueSize(int)
+     */
+    @Override
+    public void setAcceptQueueSize(int acceptQueueSize) {
+        this.acceptQueueSize = acceptQueueSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isReuseAddress()
+     */
+    @Override
+    public boolean isReuseAddress() {
+        return reuseAddress;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setReuseAddress(boolean)
+     */
+    @Override
+    public void setReuseAddress(boolean reuseAddress) {
+        this.reuseAddress = reuseAddress;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getAcceptorPriorityDelta()
+     */
+    @Override
+    public int getAcceptorPriorityDelta() {
+        return acceptorPriorityDelta;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAcceptorPriorityDelta(int)
+     */
+    @Override
+    public void setAcceptorPriorityDelta(int acceptorPriorityDelta) {
+        this.acceptorPriorityDelta = acceptorPriorityDelta;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getSslAcceptors()
+     */
+    @Override
+    public int getSslAcceptors() {
+        return sslAcceptors;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSslAcceptors(int)
+     */
+    @Override
+    public void setSslAcceptors(int sslAcceptors) {
+        this.sslAcceptors = sslAcceptors;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getSslSelectors()
+     */
+    @Override
+    public int getSslSelectors() {
+        return sslSelectors;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSslSelectors(int)
+     */
+    @Override
+    public void setSslSelectors(int sslSelectors) {
+        this.sslSelectors = sslSelectors;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getSslAcceptQueueSize()
+     */
+    @Override
+    public int getSslAcceptQueueSize() {
+        return sslAcceptQueueSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSslAcceptQueueSize(int)
+     */
+    @Override
+    public void setSslAcceptQueueSize(int sslAcceptQueueSize) {
+        this.sslAcceptQueueSize = sslAcceptQueueSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isSslReuseAddress()
+     */
+    @Override
+    public boolean isSslReuseAddress() {
+        return sslReuseAddress;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSslReuseAddress(boolean)
+     */
+    @Override
+    public void setSslReuseAddress(boolean sslReuseAddress) {
+        this.sslReuseAddress = sslReuseAddress;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getSslAcceptorPriorityDelta()
+     */
+    @Override
+    public int getSslAcceptorPriorityDelta() {
+        return sslAcceptorPriorityDelta;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSslAcceptorPriorityDelta(int)
+     */
+    @Override
+    public void setSslAcceptorPriorityDelta(int sslAcceptorPriorityDelta) {
+        this.sslAcceptorPriorityDelta = sslAcceptorPriorityDelta;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getHttp2MaxConcurrentStreams()
+     */
+    @Override
+    public int getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setHttp2MaxConcurrentStreams(int)
+     */
+    @Override
+    public void setHttp2MaxConcurrentStreams(int http2MaxConcurrentStreams) {
+        this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getHttp2InitialSessionRecvWindow()
+     */
+    @Override
+    public int getHttp2InitialSessionRecvWindow() {
+        return http2InitialSessionRecvWindow;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setHttp2InitialSessionRecvWindow(int)
+     */
+    @Override
+    public void setHttp2InitialSessionRecvWindow(int http2InitialSessionRecvWindow) {
+        this.http2InitialSessionRecvWindow = http2InitialSessionRecvWindow;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getHttp2InitialStreamRecvWindow()
+     */
+    @Override
+    public int getHttp2InitialStreamRecvWindow() {
+        return http2InitialStreamRecvWindow;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setHttp2InitialStreamRecvWindow(int)
+     */
+    @Override
+    public void setHttp2InitialStreamRecvWindow(int http2InitialStreamRecvWindow) {
+        this.http2InitialStreamRecvWindow = http2InitialStreamRecvWindow;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getHttp2HeaderTableSize()
+     */
+    @Override
+    public int getHttp2HeaderTableSize() {
+        return http2HeaderTableSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setHttp2HeaderTableSize(int)
+     */
+    @Override
+    public void setHttp2HeaderTableSize(int http2HeaderTableSize) {
+        this.http2HeaderTableSize = http2HeaderTableSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getUnixSocketPath()
+     */
+    @Override
+    public String getUnixSocketPath() {
+        return unixSocketPath;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setUnixSocketPath(java.lang.String)
+     */
+    @Override
+    public void setUnixSocketPath(String unixSocketPath) {
+        this.unixSocketPath = unixSocketPath;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isProxyProtocol()
+     */
+    @Override
+    public boolean isProxyProtocol() {
+        return proxyProtocol;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setProxyProtocol(boolean)
+     */
+    @Override
+    public void setProxyProtocol(boolean proxyProtocol) {
+        this.proxyProtocol = proxyProtocol;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isSslProxyProtocol()
+     */
+    @Override
+    public boolean isSslProxyProtocol() {
+        return sslProxyProtocol;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSslProxyProtocol(boolean)
+     */
+    @Override
+    public void setSslProxyProtocol(boolean sslProxyProtocol) {
+        this.sslProxyProtocol = sslProxyProtocol;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isForwardedHeaders()
+     */
+    @Override
+    public boolean isForwardedHeaders() {
+        return forwardedHeaders;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setForwardedHeaders(boolean)
+     */
+    @Override
+    public void setForwardedHeaders(boolean forwardedHeaders) {
+        this.forwardedHeaders = forwardedHeaders;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getOutputBufferSize()
+     */
+    @Override
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setOutputBufferSize(int)
+     */
+    @Override
+    public void setOutputBufferSize(int outputBufferSize) {
+        this.outputBufferSize = outputBufferSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getOutputAggregationSize()
+     */
+    @Override
+    public int getOutputAggregationSize() {
+        return outputAggregationSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setOutputAggregationSize(int)
+     */
+    @Override
+    public void setOutputAggregationSize(int outputAggregationSize) {
+        this.outputAggregationSize = outputAggregationSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getRequestHeaderSize()
+     */
+    @Override
+    public int getRequestHeaderSize() {
+        return requestHeaderSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setRequestHeaderSize(int)
+     */
+    @Override
+    public void setRequestHeaderSize(int requestHeaderSize) {
+        this.requestHeaderSize = requestHeaderSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getResponseHeaderSize()
+     */
+    @Override
+    public int getResponseHeaderSize() {
+        return responseHeaderSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setResponseHeaderSize(int)
+     */
+    @Override
+    public void setResponseHeaderSize(int responseHeaderSize) {
+        this.responseHeaderSize = responseHeaderSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isSendServerVersion()
+     */
+    @Override
+    public boolean isSendServerVersion() {
+        return sendServerVersion;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSendServerVersion(boolean)
+     */
+    @Override
+    public void setSendServerVersion(boolean sendServerVersion) {
+        this.sendServerVersion = sendServerVersion;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isSendDateHeader()
+     */
+    @Override
+    public boolean isSendDateHeader() {
+        return sendDateHeader;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSendDateHeader(boolean)
+     */
+    @Override
+    public void setSendDateHeader(boolean sendDateHeader) {
+        this.sendDateHeader = sendDateHeader;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getBufferPoolFactor()
+     */
+    @Override
+    public int getBufferPoolFactor() {
+        return bufferPoolFactor;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setBufferPoolFactor(int)
+     */
+    @Override
+    public void setBufferPoolFactor(int bufferPoolFactor) {
+        this.bufferPoolFactor = bufferPoolFactor;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getBufferPoolMaxCapacity()
+     */
+    @Override
+    public int getBufferPoolMaxCapacity() {
+        return bufferPoolMaxCapacity;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setBufferPoolMaxCapacity(int)
+     */
+    @Override
+    public void setBufferPoolMaxCapacity(int bufferPoolMaxCapacity) {
+        this.bufferPoolMaxCapacity = bufferPoolMaxCapacity;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getBufferPoolMaxHeapMemory()
+     */
+    @Override
+    public long getBufferPoolMaxHeapMemory() {
+        return bufferPoolMaxHeapMemory;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setBufferPoolMaxHeapMemory(long)
+     */
+    @Override
+    public void setBufferPoolMaxHeapMemory(long bufferPoolMaxHeapMemory) {
+        this.bufferPoolMaxHeapMemory = bufferPoolMaxHeapMemory;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getBufferPoolMaxDirectMemory()
+     */
+    @Override
+    public long getBufferPoolMaxDirectMemory() {
+        return bufferPoolMaxDirectMemory;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setBufferPoolMaxDirectMemory(long)
+     */
+    @Override
+    public void setBufferPoolMaxDirectMemory(long bufferPoolMaxDirectMemory) {
+        this.bufferPoolMaxDirectMemory = bufferPoolMaxDirectMemory;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isBufferPoolDirectBuffers()
+     */
+    @Override
+    public boolean isBufferPoolDirectBuffers() {
+        return bufferPoolDirectBuffers;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setBufferPoolDirectBuffers(boolean)
+     */
+    @Override
+    public void setBufferPoolDirectBuffers(boolean bufferPoolDirectBuffers) {
+        this.bufferPoolDirectBuffers = bufferPoolDirectBuffers;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isCompressionEnabled()
+     */
+    @Override
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setCompressionEnabled(boolean)
+     */
+    @Override
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getCompressionMinSize()
+     */
+    @Override
+    public int getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setCompressionMinSize(int)
+     */
+    @Override
+    public void setCompressionMinSize(int compressionMinSize) {
+        this.compressionMinSize = compressionMinSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getCompressionIncludedMimeTypes()
+     */
+    @Override
+    public String[] getCompressionIncludedMimeTypes() {
+        return compressionIncludedMimeTypes;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setCompressionIncludedMimeTypes(java.lang.String[])
+     */
+    @Override
+    public void setCompressionIncludedMimeTypes(String[] compressionIncludedMimeTypes) {
+        this.compressionIncludedMimeTypes = compressionIncludedMimeTypes;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getCompressionExcludedMimeTypes()
+     */
+    @Override
+    public String[] getCompressionExcludedMimeTypes() {
+        return compressionExcludedMimeTypes;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setCompressionExcludedMimeTypes(java.lang.String[])
+     */
+    @Override
+    public void setCompressionExcludedMimeTypes(String[] compressionExcludedMimeTypes) {
+        this.compressionExcludedMimeTypes = compressionExcludedMimeTypes;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getCompressionLevel()
+     */
+    @Override
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setCompressionLevel(int)
+     */
+    @Override
+    public void setCompressionLevel(int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getCompressionDeflaterPoolCapacity()
+     */
+    @Override
+    public int getCompressionDeflaterPoolCapacity() {
+        return compressionDeflaterPoolCapacity;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setCompressionDeflaterPoolCapacity(int)
+     */
+    @Override
+    public void setCompressionDeflaterPoolCapacity(int compressionDeflaterPoolCapacity) {
+        this.compressionDeflaterPoolCapacity = compressionDeflaterPoolCapacity;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isCompressionSyncFlush()
+     */
+    @Override
+    public boolean isCompressionSyncFlush() {
+        return compressionSyncFlush;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setCompressionSyncFlush(boolean)
+     */
+    @Override
+    public void setCompressionSyncFlush(boolean compressionSyncFlush) {
+        this.compressionSyncFlush = compressionSyncFlush;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isPrecompressEnabled()
+     */
+    @Override
+    public boolean isPrecompressEnabled() {
+        return precompressEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setPrecompressEnabled(boolean)
+     */
+    @Override
+    public void setPrecompressEnabled(boolean precompressEnabled) {
+        this.precompressEnabled = precompressEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getPrecompressMinSize()
+     */
+    @Override
+    public int getPrecompressMinSize() {
+        return precompressMinSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setPrecompressMinSize(int)
+     */
+    @Override
+    public void setPrecompressMinSize(int precompressMinSize) {
+        this.precompressMinSize = precompressMinSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getPrecompressExtensions()
+     */
+    @Override
+    public String[] getPrecompressExtensions() {
+        return precompressExtensions;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setPrecompressExtensions(java.lang.String[])
+     */
+    @Override
+    public void setPrecompressExtensions(String[] precompressExtensions) {
+        this.precompressExtensions = precompressExtensions;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getStaticCacheMaxSize()
+     */
+    @Override
+    public int getStaticCacheMaxSize() {
+        return staticCacheMaxSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setStaticCacheMaxSize(int)
+     */
+    @Override
+    public void setStaticCacheMaxSize(int staticCacheMaxSize) {
+        this.staticCacheMaxSize = staticCacheMaxSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getStaticCacheMaxFileSize()
+     */
+    @Override
+    public int getStaticCacheMaxFileSize() {
+        return staticCacheMaxFileSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setStaticCacheMaxFileSize(int)
+     */
+    @Override
+    public void setStaticCacheMaxFileSize(int staticCacheMaxFileSize) {
+        this.staticCacheMaxFileSize = staticCacheMaxFileSize;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getStaticCacheMaxFiles()
+     */
+    @Override
+    public int getStaticCacheMaxFiles() {
+        return staticCacheMaxFiles;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setStaticCacheMaxFiles(int)
+     */
+    @Override
+    public void setStaticCacheMaxFiles(int staticCacheMaxFiles) {
+        this.staticCacheMaxFiles = staticCacheMaxFiles;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isStaticCacheFileMappedBuffer()
+     */
+    @Override
+    public boolean isStaticCacheFileMappedBuffer() {
+        return staticCacheFileMappedBuffer;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setStaticCacheFileMappedBuffer(boolean)
+     */
+    @Override
+    public void setStaticCacheFileMappedBuffer(boolean staticCacheFileMappedBuffer) {
+        this.staticCacheFileMappedBuffer = staticCacheFileMappedBuffer;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getMappedFileThreshold()
+     */
+    @Override
+    public long getMappedFileThreshold() {
+        return mappedFileThreshold;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setMappedFileThreshold(long)
+     */
+    @Override
+    public void setMappedFileThreshold(long mappedFileThreshold) {
+        this.mappedFileThreshold = mappedFileThreshold;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isStatisticsEnabled()
+     */
+    @Override
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setStatisticsEnabled(boolean)
+     */
+    @Override
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isJmxEnabled()
+     */
+    @Override
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setJmxEnabled(boolean)
+     */
+    @Override
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getJmxHost()
+     */
+    @Override
+    public String getJmxHost() {
+        return jmxHost;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setJmxHost(java.lang.String)
+     */
+    @Override
+    public void setJmxHost(String jmxHost) {
+        this.jmxHost = jmxHost;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getJmxPort()
+     */
+    @Override
+    public int getJmxPort() {
+        return jmxPort;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setJmxPort(int)
+     */
+    @Override
+    public void setJmxPort(int jmxPort) {
+        this.jmxPort = jmxPort;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isConnectionStatisticsEnabled()
+     */
+    @Override
+    public boolean isConnectionStatisticsEnabled() {
+        return connectionStatisticsEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setConnectionStatisticsEnabled(boolean)
+     */
+    @Override
+    public void setConnectionStatisticsEnabled(boolean connectionStatisticsEnabled) {
+        this.connectionStatisticsEnabled = connectionStatisticsEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isAccessLogEnabled()
+     */
+    @Override
+    public boolean isAccessLogEnabled() {
+        return accessLogEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAccessLogEnabled(boolean)
+     */
+    @Override
+    public void setAccessLogEnabled(boolean accessLogEnabled) {
+        this.accessLogEnabled = accessLogEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getAccessLogMode()
+     */
+    @Override
+    public JettyAccessLogMode getAccessLogMode() {
+        return accessLogMode;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAccessLogMode(org.teknux.jettybootstrap.configuration.JettyAccessLogMode)
+     */
+    @Override
+    public void setAccessLogMode(JettyAccessLogMode accessLogMode) {
+        this.accessLogMode = accessLogMode;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getAccessLogFilename()
+     */
+    @Override
+    public String getAccessLogFilename() {
+        return accessLogFilename;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAccessLogFilename(java.lang.String)
+     */
+    @Override
+    public void setAccessLogFilename(String accessLogFilename) {
+        this.accessLogFilename = accessLogFilename;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getAccessLogRetainDays()
+     */
+    @Override
+    public int getAccessLogRetainDays() {
+        return accessLogRetainDays;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAccessLogRetainDays(int)
+     */
+    @Override
+    public void setAccessLogRetainDays(int accessLogRetainDays) {
+        this.accessLogRetainDays = accessLogRetainDays;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getAccessLogQueueCapacity()
+     */
+    @Override
+    public int getAccessLogQueueCapacity() {
+        return accessLogQueueCapacity;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAccessLogQueueCapacity(int)
+     */
+    @Override
+    public void setAccessLogQueueCapacity(int accessLogQueueCapacity) {
+        this.accessLogQueueCapacity = accessLogQueueCapacity;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isAccessLogExtended()
+     */
+    @Override
+    public boolean isAccessLogExtended() {
+        return accessLogExtended;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setAccessLogExtended(boolean)
+     */
+    @Override
+    public void setAccessLogExtended(boolean accessLogExtended) {
+        this.accessLogExtended = accessLogExtended;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getSlowRequestThreshold()
+     */
+    @Override
+    public long getSlowRequestThreshold() {
+        return slowRequestThreshold;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSlowRequestThreshold(long)
+     */
+    @Override
+    public void setSlowRequestThreshold(long slowRequestThreshold) {
+        this.slowRequestThreshold = slowRequestThreshold;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getSlowRequestStackSampleInterval()
+     */
+    @Override
+    public long getSlowRequestStackSampleInterval() {
+        return slowRequestStackSampleInterval;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSlowRequestStackSampleInterval(long)
+     */
+    @Override
+    public void setSlowRequestStackSampleInterval(long slowRequestStackSampleInterval) {
+        this.slowRequestStackSampleInterval = slowRequestStackSampleInterval;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isLowResourcesMonitorEnabled()
+     */
+    @Override
+    public boolean isLowResourcesMonitorEnabled() {
+        return lowResourcesMonitorEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setLowResourcesMonitorEnabled(boolean)
+     */
+    @Override
+    public void setLowResourcesMonitorEnabled(boolean lowResourcesMonitorEnabled) {
+        this.lowResourcesMonitorEnabled = lowResourcesMonitorEnabled;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getLowResourcesPeriod()
+     */
+    @Override
+    public int getLowResourcesPeriod() {
+        return lowResourcesPeriod;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setLowResourcesPeriod(int)
+     */
+    @Override
+    public void setLowResourcesPeriod(int lowResourcesPeriod) {
+        this.lowResourcesPeriod = lowResourcesPeriod;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getLowResourcesThreadsThreshold()
+     */
+    @Override
+    public int getLowResourcesThreadsThreshold() {
+        return lowResourcesThreadsThreshold;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setLowResourcesThreadsThreshold(int)
+     */
+    @Override
+    public void setLowResourcesThreadsThreshold(int lowResourcesThreadsThreshold) {
+        this.lowResourcesThreadsThreshold = lowResourcesThreadsThreshold;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getLowResourcesMaxConnections()
+     */
+    @Override
+    public int getLowResourcesMaxConnections() {
+        return lowResourcesMaxConnections;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setLowResourcesMaxConnections(int)
+     */
+    @Override
+    public void setLowResourcesMaxConnections(int lowResourcesMaxConnections) {
+        this.lowResourcesMaxConnections = lowResourcesMaxConnections;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getLowResourcesMaxMemory()
+     */
+    @Override
+    public long getLowResourcesMaxMemory() {
+        return lowResourcesMaxMemory;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setLowResourcesMaxMemory(long)
+     */
+    @Override
+    public void setLowResourcesMaxMemory(long lowResourcesMaxMemory) {
+        this.lowResourcesMaxMemory = lowResourcesMaxMemory;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getLowResourcesIdleTimeout()
+     */
+    @Override
+    public int getLowResourcesIdleTimeout() {
+        return lowResourcesIdleTimeout;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setLowResourcesIdleTimeout(int)
+     */
+    @Override
+    public void setLowResourcesIdleTimeout(int lowResourcesIdleTimeout) {
+        this.lowResourcesIdleTimeout = lowResourcesIdleTimeout;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getLowResourcesMaxTime()
+     */
+    @Override
+    public int getLowResourcesMaxTime() {
+        return lowResourcesMaxTime;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setLowResourcesMaxTime(int)
+     */
+    @Override
+    public void setLowResourcesMaxTime(int lowResourcesMaxTime) {
+        this.lowResourcesMaxTime = lowResourcesMaxTime;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getMaxConnections()
+     */
+    @Override
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setMaxConnections(int)
+     */
+    @Override
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getHttpMaxConnections()
+     */
+    @Override
+    public int getHttpMaxConnections() {
+        return httpMaxConnections;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setHttpMaxConnections(int)
+     */
+    @Override
+    public void setHttpMaxConnections(int httpMaxConnections) {
+        this.httpMaxConnections = httpMaxConnections;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getSslMaxConnections()
+     */
+    @Override
+    public int getSslMaxConnections() {
+        return sslMaxConnections;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setSslMaxConnections(int)
+     */
+    @Override
+    public void setSslMaxConnections(int sslMaxConnections) {
+        this.sslMaxConnections = sslMaxConnections;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#isGracefulShutdown()
+     */
+    @Override
+    public boolean isGracefulShutdown() {
+        return gracefulShutdown;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setGracefulShutdown(boolean)
+     */
+    @Override
+    public void setGracefulShutdown(boolean gracefulShutdown) {
+        this.gracefulShutdown = gracefulShutdown;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#getGracefulShutdownTimeout()
+     */
+    @Override
+    public long getGracefulShutdownTimeout() {
+        return gracefulShutdownTimeout;
+    }
+
+    /* (non-Javadoc)
+     * @see org.teknux.jettybootstrap.configuration.IJettyConfiguration#setGracefulShutdownTimeout(long)
+     */
+    @Override
+    public void setGracefulShutdownTimeout(long gracefulShutdownTimeout) {
+        this.gracefulShutdownTimeout = gracefulShutdownTimeout;
+    }
+
     @Override
     public String toString() {
-        return "JettyConfiguration [autoJoinOnStart=" + autoJoinOnStart + ", maxThreads=" + maxThreads + ", stopAtShutdown=" + stopAtShutdown + ", stopTimeout=" + stopTimeout +
-            ", idleTimeout=" + idleTimeout + ", host=" + host + ", port=" + port + ", sslPort=" + sslPort + ", jettyConnectors=" + jettyConnectors +
-            ", redirectWebAppsOnHttpsConnector=" + redirectWebAppsOnHttpsConnector + ", sslPrivateKeyFormat=" + sslPrivateKeyFormat + ", sslPrivateKeyPath=" + sslPrivateKeyPath +
+        return "JettyConfiguration [autoJoinOnStart=" + autoJoinOnStart + ", maxThreads=" + maxThreads + ", threadPoolMode=" + threadPoolMode + ", stopAtShutdown=" +
+            stopAtShutdown + ", stopTimeout=" + stopTimeout + ", idleTimeout=" + idleTimeout + ", host=" + host + ", port=" + port + ", sslPort=" + sslPort +
+            ", jettyConnectors=" + jettyConnectors + ", redirectWebAppsOnHttpsConnector=" + redirectWebAppsOnHttpsConnector + ", sslPrivateKeyFormat=" + sslPrivateKeyFormat +
+            ", sslPrivateKeyPath=" + sslPrivateKeyPath +
             ", sslCertificateFormat=" + sslCertificateFormat + ", sslCertificatePath=" + sslCertificatePath + ", sslKeyStorePath=" + sslKeyStorePath + ", sslKeyStoreDomainName=" +
             sslKeyStoreDomainName + ", sslKeyStoreAlias=" + sslKeyStoreAlias + ", sslKeyStorePassword=" + sslKeyStorePassword + ", sslKeyStoreAlgorithm=" + sslKeyStoreAlgorithm +
             ", sslKeyStoreSignatureAlgorithm=" + sslKeyStoreSignatureAlgorithm + ", sslKeyStoreRdnOuValue=" + sslKeyStoreRdnOuValue + ", sslKeyStoreRdnOValue=" +
             sslKeyStoreRdnOValue + ", sslKeyStoreDateNotBeforeNumberOfDays=" + sslKeyStoreDateNotBeforeNumberOfDays + ", sslKeyStoreDateNotAfterNumberOfDays=" +
             sslKeyStoreDateNotAfterNumberOfDays + ", tempDirectory=" + tempDirectory + ", persistAppTempDirectories=" + persistAppTempDirectories + ", cleanTempDir=" +
             cleanTempDir + ", parentLoaderPriority=" + parentLoaderPriority + ", throwIfStartupException=" + throwIfStartupException + ", maxInactiveInterval=" +
-            maxInactiveInterval + "]";
+            maxInactiveInterval + ", minThreads=" + minThreads + ", threadIdleTimeout=" + threadIdleTimeout + ", maxQueuedJobs=" + maxQueuedJobs + ", reservedThreads=" +
+            reservedThreads + ", threadsPriority=" + threadsPriority + ", acceptors=" + acceptors + ", selectors=" + selectors + ", acceptQueueSize=" + acceptQueueSize +
+            ", reuseAddress=" + reuseAddress + ", acceptorPriorityDelta=" + acceptorPriorityDelta + ", sslAcceptors=" + sslAcceptors + ", sslSelectors=" + sslSelectors +
+            ", sslAcceptQueueSize=" + sslAcceptQueueSize + ", sslReuseAddress=" + sslReuseAddress + ", sslAcceptorPriorityDelta=" + sslAcceptorPriorityDelta +
+            ", http2MaxConcurrentStreams=" + http2MaxConcurrentStreams + ", http2InitialSessionRecvWindow=" + http2InitialSessionRecvWindow + ", http2InitialStreamRecvWindow=" +
+            http2InitialStreamRecvWindow + ", http2HeaderTableSize=" + http2HeaderTableSize + ", unixSocketPath=" + unixSocketPath + ", proxyProtocol=" + proxyProtocol +
+            ", sslProxyProtocol=" + sslProxyProtocol + ", forwardedHeaders=" + forwardedHeaders + ", outputBufferSize=" + outputBufferSize + ", outputAggregationSize=" +
+            outputAggregationSize + ", requestHeaderSize=" + requestHeaderSize + ", responseHeaderSize=" + responseHeaderSize + ", sendServerVersion=" + sendServerVersion +
+            ", sendDateHeader=" + sendDateHeader + ", bufferPoolFactor=" + bufferPoolFactor + ", bufferPoolMaxCapacity=" + bufferPoolMaxCapacity + ", bufferPoolMaxHeapMemory=" +
+            bufferPoolMaxHeapMemory + ", bufferPoolMaxDirectMemory=" + bufferPoolMaxDirectMemory + ", bufferPoolDirectBuffers=" + bufferPoolDirectBuffers +
+            ", compressionEnabled=" + compressionEnabled + ", compressionMinSize=" + compressionMinSize + ", compressionIncludedMimeTypes=" +
+            Arrays.toString(compressionIncludedMimeTypes) + ", compressionExcludedMimeTypes=" + Arrays.toString(compressionExcludedMimeTypes) + ", compressionLevel=" +
+            compressionLevel + ", compressionDeflaterPoolCapacity=" + compressionDeflaterPoolCapacity + ", compressionSyncFlush=" + compressionSyncFlush + ", precompressEnabled=" +
+            precompressEnabled + ", precompressMinSize=" + precompressMinSize + ", precompressExtensions=" + Arrays.toString(precompressExtensions) + ", staticCacheMaxSize=" +
+            staticCacheMaxSize + ", staticCacheMaxFileSize=" + staticCacheMaxFileSize + ", staticCacheMaxFiles=" + staticCacheMaxFiles + ", staticCacheFileMappedBuffer=" +
+            staticCacheFileMappedBuffer + ", mappedFileThreshold=" + mappedFileThreshold + ", statisticsEnabled=" + statisticsEnabled + ", jmxEnabled=" + jmxEnabled +
+            ", jmxHost=" + jmxHost + ", jmxPort=" + jmxPort + ", connectionStatisticsEnabled=" + connectionStatisticsEnabled + ", accessLogEnabled=" + accessLogEnabled +
+            ", accessLogMode=" + accessLogMode + ", accessLogFilename=" + accessLogFilename + ", accessLogRetainDays=" + accessLogRetainDays + ", accessLogQueueCapacity=" +
+            accessLogQueueCapacity + ", accessLogExtended=" + accessLogExtended + ", slowRequestThreshold=" + slowRequestThreshold + ", slowRequestStackSampleInterval=" +
+            slowRequestStackSampleInterval + ", lowResourcesMonitorEnabled=" + lowResourcesMonitorEnabled + ", lowResourcesPeriod=" + lowResourcesPeriod +
+            ", lowResourcesThreadsThreshold=" + lowResourcesThreadsThreshold + ", lowResourcesMaxConnections=" + lowResourcesMaxConnections + ", lowResourcesMaxMemory=" +
+            lowResourcesMaxMemory + ", lowResourcesIdleTimeout=" + lowResourcesIdleTimeout + ", lowResourcesMaxTime=" + lowResourcesMaxTime + ", maxConnections=" + maxConnections +
+            ", httpMaxConnections=" + httpMaxConnections + ", sslMaxConnections=" + sslMaxConnections + ", gracefulShutdown=" + gracefulShutdown + ", gracefulShutdownTimeout=" +
+            gracefulShutdownTimeout + "]";
     }
 }
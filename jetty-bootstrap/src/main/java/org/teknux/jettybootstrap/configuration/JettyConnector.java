@@ -23,7 +23,19 @@ package org.teknux.jettybootstrap.configuration;
 
 /**
  * Type of connectors for Jetty
+ * <p>
+ * {@link #HTTP} and {@link #H2C} are served by the plain connector listening on the port, {@link #HTTPS} and {@link #HTTP2} by the secure connector listening on the ssl
+ * port. {@link #HTTP2} and {@link #H2C} require the jetty-bootstrap-http2 module, {@link #UNIX_SOCKET} requires the jetty-bootstrap-unixsocket module.
  */
 public enum JettyConnector {
-	HTTP, HTTPS
+	/** HTTP/1.1 */
+	HTTP,
+	/** HTTP/1.1 over TLS */
+	HTTPS,
+	/** HTTP/2 over TLS (h2), negotiated with ALPN and falling back to HTTP/1.1 */
+	HTTP2,
+	/** Cleartext HTTP/2 (h2c) alongside HTTP/1.1 */
+	H2C,
+	/** HTTP/1.1 over a Unix domain socket */
+	UNIX_SOCKET
 }
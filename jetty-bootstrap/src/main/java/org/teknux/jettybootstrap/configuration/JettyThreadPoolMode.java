@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.configuration;
+
+/**
+ * Execution mode of the server thread pool
+ */
+public enum JettyThreadPoolMode {
+    /**
+     * Bounded pool of platform threads
+     */
+    PLATFORM,
+    /**
+     * One virtual thread per task, available from Java 21
+     */
+    VIRTUAL;
+
+    @Override
+    public String toString() {
+        return super.toString().toLowerCase();
+    }
+
+    public static JettyThreadPoolMode getByName(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+
+        return valueOf(name.toUpperCase());
+    }
+}
@@ -40,9 +40,12 @@ import java.util.Properties;
 public class PropertiesJettyConfiguration extends JettyConfiguration {
 
     public static final String CONNECTOR_SEPARATOR = ",";
+    public static final String MIME_TYPE_SEPARATOR = ",";
+    public static final String EXTENSION_SEPARATOR = ",";
 
     public static final String KEY_AUTO_JOIN_ON_START = "autoJoinOnStart";
     public static final String KEY_MAX_THREADS = "maxThreads";
+    public static final String KEY_THREAD_POOL_MODE = "threadPoolMode";
     public static final String KEY_STOP_AT_SHUTDOWN = "stopAtShutdown";
     public static final String KEY_STOP_TIMEOUT = "stopTimeout";
     public static final String KEY_IDLE_TIMEOUT = "idleTimeout";
@@ -77,6 +80,99 @@ public class PropertiesJettyConfiguration extends JettyConfiguration {
     public static final String KEY_THROW_IF_STARTUP_EXCEPTION = "throwIfStartupException";
     public static final String KEY_MAX_INACTIVE_INTERVAL = "maxInactiveInterval";
 
+    public static final String KEY_MIN_THREADS = "minThreads";
+    public static final String KEY_THREAD_IDLE_TIMEOUT = "threadIdleTimeout";
+    public static final String KEY_MAX_QUEUED_JOBS = "maxQueuedJobs";
+    public static final String KEY_RESERVED_THREADS = "reservedThreads";
+    public static final String KEY_THREADS_PRIORITY = "threadsPriority";
+
+    public static final String KEY_ACCEPTORS = "acceptors";
+    public static final String KEY_SELECTORS = "selectors";
+    public static final String KEY_ACCEPT_QUEUE_SIZE = "acceptQueueSize";
+    public static final String KEY_REUSE_ADDRESS = "reuseAddress";
+    public static final String KEY_ACCEPTOR_PRIORITY_DELTA = "acceptorPriorityDelta";
+    public static final String KEY_SSL_ACCEPTORS = "sslAcceptors";
+    public static final String KEY_SSL_SELECTORS = "sslSelectors";
+    public static final String KEY_SSL_ACCEPT_QUEUE_SIZE = "sslAcceptQueueSize";
+    public static final String KEY_SSL_REUSE_ADDRESS = "sslReuseAddress";
+    public static final String KEY_SSL_ACCEPTOR_PRIORITY_DELTA = "sslAcceptorPriorityDelta";
+
+    public static final String KEY_HTTP2_MAX_CONCURRENT_STREAMS = "http2MaxConcurrentStreams";
+    public static final String KEY_HTTP2_INITIAL_SESSION_RECV_WINDOW = "http2InitialSessionRecvWindow";
+    public static final String KEY_HTTP2_INITIAL_STREAM_RECV_WINDOW = "http2InitialStreamRecvWindow";
+    public static final String KEY_HTTP2_HEADER_TABLE_SIZE = "http2HeaderTableSize";
+
+    public static final String KEY_UNIX_SOCKET_PATH = "unixSocketPath";
+
+    public static final String KEY_PROXY_PROTOCOL = "proxyProtocol";
+    public static final String KEY_SSL_PROXY_PROTOCOL = "sslProxyProtocol";
+    public static final String KEY_FORWARDED_HEADERS = "forwardedHeaders";
+
+    public static final String KEY_OUTPUT_BUFFER_SIZE = "outputBufferSize";
+    public static final String KEY_OUTPUT_AGGREGATION_SIZE = "outputAggregationSize";
+    public static final String KEY_REQUEST_HEADER_SIZE = "requestHeaderSize";
+    public static final String KEY_RESPONSE_HEADER_SIZE = "responseHeaderSize";
+    public static final String KEY_SEND_SERVER_VERSION = "sendServerVersion";
+    public static final String KEY_SEND_DATE_HEADER = "sendDateHeader";
+
+    public static final String KEY_BUFFER_POOL_FACTOR = "bufferPoolFactor";
+    public static final String KEY_BUFFER_POOL_MAX_CAPACITY = "bufferPoolMaxCapacity";
+    public static final String KEY_BUFFER_POOL_MAX_HEAP_MEMORY = "bufferPoolMaxHeapMemory";
+    public static final String KEY_BUFFER_POOL_MAX_DIRECT_MEMORY = "bufferPoolMaxDirectMemory";
+    public static final String KEY_BUFFER_POOL_DIRECT_BUFFERS = "bufferPoolDirectBuffers";
+
+    public static final String KEY_COMPRESSION_ENABLED = "compressionEnabled";
+    public static final String KEY_COMPRESSION_MIN_SIZE = "compressionMinSize";
+    public static final String KEY_COMPRESSION_INCLUDED_MIME_TYPES = "compressionIncludedMimeTypes";
+    public static final String KEY_COMPRESSION_EXCLUDED_MIME_TYPES = "compressionExcludedMimeTypes";
+    public static final String KEY_COMPRESSION_LEVEL = "compressionLevel";
+    public static final String KEY_COMPRESSION_DEFLATER_POOL_CAPACITY = "compressionDeflaterPoolCapacity";
+    public static final String KEY_COMPRESSION_SYNC_FLUSH = "compressionSyncFlush";
+
+    public static final String KEY_PRECOMPRESS_ENABLED = "precompressEnabled";
+    public static final String KEY_PRECOMPRESS_MIN_SIZE = "precompressMinSize";
+    public static final String KEY_PRECOMPRESS_EXTENSIONS = "precompressExtensions";
+
+    public static final String KEY_STATIC_CACHE_MAX_SIZE = "staticCacheMaxSize";
+    public static final String KEY_STATIC_CACHE_MAX_FILE_SIZE = "staticCacheMaxFileSize";
+    public static final String KEY_STATIC_CACHE_MAX_FILES = "staticCacheMaxFiles";
+    public static final String KEY_STATIC_CACHE_FILE_MAPPED_BUFFER = "staticCacheFileMappedBuffer";
+
+    public static final String KEY_MAPPED_FILE_THRESHOLD = "mappedFileThreshold";
+
+    public static final String KEY_STATISTICS_ENABLED = "statisticsEnabled";
+
+    public static final String KEY_JMX_ENABLED = "jmxEnabled";
+    public static final String KEY_JMX_HOST = "jmxHost";
+    public static final String KEY_JMX_PORT = "jmxPort";
+
+    public static final String KEY_CONNECTION_STATISTICS_ENABLED = "connectionStatisticsEnabled";
+
+    public static final String KEY_ACCESS_LOG_ENABLED = "accessLogEnabled";
+    public static final String KEY_ACCESS_LOG_MODE = "accessLogMode";
+    public static final String KEY_ACCESS_LOG_FILENAME = "accessLogFilename";
+    public static final String KEY_ACCESS_LOG_RETAIN_DAYS = "accessLogRetainDays";
+    public static final String KEY_ACCESS_LOG_QUEUE_CAPACITY = "accessLogQueueCapacity";
+    public static final String KEY_ACCESS_LOG_EXTENDED = "accessLogExtended";
+
+    public static final String KEY_SLOW_REQUEST_THRESHOLD = "slowRequestThreshold";
+    public static final String KEY_SLOW_REQUEST_STACK_SAMPLE_INTERVAL = "slowRequestStackSampleInterval";
+
+    public static final String KEY_LOW_RESOURCES_MONITOR_ENABLED = "lowResourcesMonitorEnabled";
+    public static final String KEY_LOW_RESOURCES_PERIOD = "lowResourcesPeriod";
+    public static final String KEY_LOW_RESOURCES_THREADS_THRESHOLD = "lowResourcesThreadsThreshold";
+    public static final String KEY_LOW_RESOURCES_MAX_CONNECTIONS = "lowResourcesMaxConnections";
+    public static final String KEY_LOW_RESOURCES_MAX_MEMORY = "lowResourcesMaxMemory";
+    public static final String KEY_LOW_RESOURCES_IDLE_TIMEOUT = "lowResourcesIdleTimeout";
+    public static final String KEY_LOW_RESOURCES_MAX_TIME = "lowResourcesMaxTime";
+
+    public static final String KEY_MAX_CONNECTIONS = "maxConnections";
+    public static final String KEY_HTTP_MAX_CONNECTIONS = "httpMaxConnections";
+    public static final String KEY_SSL_MAX_CONNECTIONS = "sslMaxConnections";
+
+    public static final String KEY_GRACEFUL_SHUTDOWN = "gracefulShutdown";
+    public static final String KEY_GRACEFUL_SHUTDOWN_TIMEOUT = "gracefulShutdownTimeout";
+
     /**
      * Basic constructor. Only system properties are used to map jetty configuration.
      */
@@ -127,6 +223,11 @@ public class PropertiesJettyConfiguration extends JettyConfiguration {
             setMaxThreads(maxThreads);
         }
 
+        JettyThreadPoolMode threadPoolMode = JettyThreadPoolMode.getByName(properties.getProperty(KEY_THREAD_POOL_MODE));
+        if (threadPoolMode != null) {
+            setThreadPoolMode(threadPoolMode);
+        }
+
         Boolean stopAtShutdown = PropertiesUtil.parseBoolean(properties, KEY_STOP_AT_SHUTDOWN);
         if (stopAtShutdown != null) {
             setStopAtShutdown(stopAtShutdown);
@@ -281,6 +382,376 @@ public class PropertiesJettyConfiguration extends JettyConfiguration {
         if (maxInactiveInterval != null) {
             setMaxInactiveInterval(maxInactiveInterval);
         }
+
+        Integer minThreads = PropertiesUtil.parseInt(properties, KEY_MIN_THREADS);
+        if (minThreads != null) {
+            setMinThreads(minThreads);
+        }
+
+        Integer threadIdleTimeout = PropertiesUtil.parseInt(properties, KEY_THREAD_IDLE_TIMEOUT);
+        if (threadIdleTimeout != null) {
+            setThreadIdleTimeout(threadIdleTimeout);
+        }
+
+        Integer maxQueuedJobs = PropertiesUtil.parseInt(properties, KEY_MAX_QUEUED_JOBS);
+        if (maxQueuedJobs != null) {
+            setMaxQueuedJobs(maxQueuedJobs);
+        }
+
+        Integer reservedThreads = PropertiesUtil.parseInt(properties, KEY_RESERVED_THREADS);
+        if (reservedThreads != null) {
+            setReservedThreads(reservedThreads);
+        }
+
+        Integer threadsPriority = PropertiesUtil.parseInt(properties, KEY_THREADS_PRIORITY);
+        if (threadsPriority != null) {
+            setThreadsPriority(threadsPriority);
+        }
+
+        Integer acceptors = PropertiesUtil.parseInt(properties, KEY_ACCEPTORS);
+        if (acceptors != null) {
+            setAcceptors(acceptors);
+        }
+
+        Integer selectors = PropertiesUtil.parseInt(properties, KEY_SELECTORS);
+        if (selectors != null) {
+            setSelectors(selectors);
+        }
+
+        Integer acceptQueueSize = PropertiesUtil.parseInt(properties, KEY_ACCEPT_QUEUE_SIZE);
+        if (acceptQueueSize != null) {
+            setAcceptQueueSize(acceptQueueSize);
+        }
+
+        Boolean reuseAddress = PropertiesUtil.parseBoolean(properties, KEY_REUSE_ADDRESS);
+        if (reuseAddress != null) {
+            setReuseAddress(reuseAddress);
+        }
+
+        Integer acceptorPriorityDelta = PropertiesUtil.parseInt(properties, KEY_ACCEPTOR_PRIORITY_DELTA);
+        if (acceptorPriorityDelta != null) {
+            setAcceptorPriorityDelta(acceptorPriorityDelta);
+        }
+
+        Integer sslAcceptors = PropertiesUtil.parseInt(properties, KEY_SSL_ACCEPTORS);
+        if (sslAcceptors != null) {
+            setSslAcceptors(sslAcceptors);
+        }
+
+        Integer sslSelectors = PropertiesUtil.parseInt(properties, KEY_SSL_SELECTORS);
+        if (sslSelectors != null) {
+            setSslSelectors(sslSelectors);
+        }
+
+        Integer sslAcceptQueueSize = PropertiesUtil.parseInt(properties, KEY_SSL_ACCEPT_QUEUE_SIZE);
+        if (sslAcceptQueueSize != null) {
+            setSslAcceptQueueSize(sslAcceptQueueSize);
+        }
+
+        Boolean sslReuseAddress = PropertiesUtil.parseBoolean(properties, KEY_SSL_REUSE_ADDRESS);
+        if (sslReuseAddress != null) {
+            setSslReuseAddress(sslReuseAddress);
+        }
+
+        Integer sslAcceptorPriorityDelta = PropertiesUtil.parseInt(properties, KEY_SSL_ACCEPTOR_PRIORITY_DELTA);
+        if (sslAcceptorPriorityDelta != null) {
+            setSslAcceptorPriorityDelta(sslAcceptorPriorityDelta);
+        }
+
+        Integer http2MaxConcurrentStreams = PropertiesUtil.parseInt(properties, KEY_HTTP2_MAX_CONCURRENT_STREAMS);
+        if (http2MaxConcurrentStreams != null) {
+            setHttp2MaxConcurrentStreams(http2MaxConcurrentStreams);
+        }
+
+        Integer http2InitialSessionRecvWindow = PropertiesUtil.parseInt(properties, KEY_HTTP2_INITIAL_SESSION_RECV_WINDOW);
+        if (http2InitialSessionRecvWindow != null) {
+            setHttp2InitialSessionRecvWindow(http2InitialSessionRecvWindow);
+        }
+
+        Integer http2InitialStreamRecvWindow = PropertiesUtil.parseInt(properties, KEY_HTTP2_INITIAL_STREAM_RECV_WINDOW);
+        if (http2InitialStreamRecvWindow != null) {
+            setHttp2InitialStreamRecvWindow(http2InitialStreamRecvWindow);
+        }
+
+        Integer http2HeaderTableSize = PropertiesUtil.parseInt(properties, KEY_HTTP2_HEADER_TABLE_SIZE);
+        if (http2HeaderTableSize != null) {
+            setHttp2HeaderTableSize(http2HeaderTableSize);
+        }
+
+        String unixSocketPath = properties.getProperty(KEY_UNIX_SOCKET_PATH);
+        if (unixSocketPath != null) {
+            setUnixSocketPath(unixSocketPath);
+        }
+
+        Boolean proxyProtocol = PropertiesUtil.parseBoolean(properties, KEY_PROXY_PROTOCOL);
+        if (proxyProtocol != null) {
+            setProxyProtocol(proxyProtocol);
+        }
+
+        Boolean sslProxyProtocol = PropertiesUtil.parseBoolean(properties, KEY_SSL_PROXY_PROTOCOL);
+        if (sslProxyProtocol != null) {
+            setSslProxyProtocol(sslProxyProtocol);
+        }
+
+        Boolean forwardedHeaders = PropertiesUtil.parseBoolean(properties, KEY_FORWARDED_HEADERS);
+        if (forwardedHeaders != null) {
+            setForwardedHeaders(forwardedHeaders);
+        }
+
+        Integer outputBufferSize = PropertiesUtil.parseInt(properties, KEY_OUTPUT_BUFFER_SIZE);
+        if (outputBufferSize != null) {
+            setOutputBufferSize(outputBufferSize);
+        }
+
+        Integer outputAggregationSize = PropertiesUtil.parseInt(properties, KEY_OUTPUT_AGGREGATION_SIZE);
+        if (outputAggregationSize != null) {
+            setOutputAggregationSize(outputAggregationSize);
+        }
+
+        Integer requestHeaderSize = PropertiesUtil.parseInt(properties, KEY_REQUEST_HEADER_SIZE);
+        if (requestHeaderSize != null) {
+            setRequestHeaderSize(requestHeaderSize);
+        }
+
+        Integer responseHeaderSize = PropertiesUtil.parseInt(properties, KEY_RESPONSE_HEADER_SIZE);
+        if (responseHeaderSize != null) {
+            setResponseHeaderSize(responseHeaderSize);
+        }
+
+        Boolean sendServerVersion = PropertiesUtil.parseBoolean(properties, KEY_SEND_SERVER_VERSION);
+        if (sendServerVersion != null) {
+            setSendServerVersion(sendServerVersion);
+        }
+
+        Boolean sendDateHeader = PropertiesUtil.parseBoolean(properties, KEY_SEND_DATE_HEADER);
+        if (sendDateHeader != null) {
+            setSendDateHeader(sendDateHeader);
+        }
+
+        Integer bufferPoolFactor = PropertiesUtil.parseInt(properties, KEY_BUFFER_POOL_FACTOR);
+        if (bufferPoolFactor != null) {
+            setBufferPoolFactor(bufferPoolFactor);
+        }
+
+        Integer bufferPoolMaxCapacity = PropertiesUtil.parseInt(properties, KEY_BUFFER_POOL_MAX_CAPACITY);
+        if (bufferPoolMaxCapacity != null) {
+            setBufferPoolMaxCapacity(bufferPoolMaxCapacity);
+        }
+
+        Long bufferPoolMaxHeapMemory = PropertiesUtil.parseLong(properties, KEY_BUFFER_POOL_MAX_HEAP_MEMORY);
+        if (bufferPoolMaxHeapMemory != null) {
+            setBufferPoolMaxHeapMemory(bufferPoolMaxHeapMemory);
+        }
+
+        Long bufferPoolMaxDirectMemory = PropertiesUtil.parseLong(properties, KEY_BUFFER_POOL_MAX_DIRECT_MEMORY);
+        if (bufferPoolMaxDirectMemory != null) {
+            setBufferPoolMaxDirectMemory(bufferPoolMaxDirectMemory);
+        }
+
+        Boolean bufferPoolDirectBuffers = PropertiesUtil.parseBoolean(properties, KEY_BUFFER_POOL_DIRECT_BUFFERS);
+        if (bufferPoolDirectBuffers != null) {
+            setBufferPoolDirectBuffers(bufferPoolDirectBuffers);
+        }
+
+        Boolean compressionEnabled = PropertiesUtil.parseBoolean(properties, KEY_COMPRESSION_ENABLED);
+        if (compressionEnabled != null) {
+            setCompressionEnabled(compressionEnabled);
+        }
+
+        Integer compressionMinSize = PropertiesUtil.parseInt(properties, KEY_COMPRESSION_MIN_SIZE);
+        if (compressionMinSize != null) {
+            setCompressionMinSize(compressionMinSize);
+        }
+
+        String[] compressionIncludedMimeTypes = PropertiesUtil.parseArray(properties, KEY_COMPRESSION_INCLUDED_MIME_TYPES, MIME_TYPE_SEPARATOR);
+        if (compressionIncludedMimeTypes != null) {
+            setCompressionIncludedMimeTypes(compressionIncludedMimeTypes);
+        }
+
+        String[] compressionExcludedMimeTypes = PropertiesUtil.parseArray(properties, KEY_COMPRESSION_EXCLUDED_MIME_TYPES, MIME_TYPE_SEPARATOR);
+        if (compressionExcludedMimeTypes != null) {
+            setCompressionExcludedMimeTypes(compressionExcludedMimeTypes);
+        }
+
+        Integer compressionLevel = PropertiesUtil.parseInt(properties, KEY_COMPRESSION_LEVEL);
+        if (compressionLevel != null) {
+            setCompressionLevel(compressionLevel);
+        }
+
+        Integer compressionDeflaterPoolCapacity = PropertiesUtil.parseInt(properties, KEY_COMPRESSION_DEFLATER_POOL_CAPACITY);
+        if (compressionDeflaterPoolCapacity != null) {
+            setCompressionDeflaterPoolCapacity(compressionDeflaterPoolCapacity);
+        }
+
+        Boolean compressionSyncFlush = PropertiesUtil.parseBoolean(properties, KEY_COMPRESSION_SYNC_FLUSH);
+        if (compressionSyncFlush != null) {
+            setCompressionSyncFlush(compressionSyncFlush);
+        }
+
+        Boolean precompressEnabled = PropertiesUtil.parseBoolean(properties, KEY_PRECOMPRESS_ENABLED);
+        if (precompressEnabled != null) {
+            setPrecompressEnabled(precompressEnabled);
+        }
+
+        Integer precompressMinSize = PropertiesUtil.parseInt(properties, KEY_PRECOMPRESS_MIN_SIZE);
+        if (precompressMinSize != null) {
+            setPrecompressMinSize(precompressMinSize);
+        }
+
+        String[] precompressExtensions = PropertiesUtil.parseArray(properties, KEY_PRECOMPRESS_EXTENSIONS, EXTENSION_SEPARATOR);
+        if (precompressExtensions != null) {
+            setPrecompressExtensions(precompressExtensions);
+        }
+
+        Integer staticCacheMaxSize = PropertiesUtil.parseInt(properties, KEY_STATIC_CACHE_MAX_SIZE);
+        if (staticCacheMaxSize != null) {
+            setStaticCacheMaxSize(staticCacheMaxSize);
+        }
+
+        Integer staticCacheMaxFileSize = PropertiesUtil.parseInt(properties, KEY_STATIC_CACHE_MAX_FILE_SIZE);
+        if (staticCacheMaxFileSize != null) {
+            setStaticCacheMaxFileSize(staticCacheMaxFileSize);
+        }
+
+        Integer staticCacheMaxFiles = PropertiesUtil.parseInt(properties, KEY_STATIC_CACHE_MAX_FILES);
+        if (staticCacheMaxFiles != null) {
+            setStaticCacheMaxFiles(staticCacheMaxFiles);
+        }
+
+        Boolean staticCacheFileMappedBuffer = PropertiesUtil.parseBoolean(properties, KEY_STATIC_CACHE_FILE_MAPPED_BUFFER);
+        if (staticCacheFileMappedBuffer != null) {
+            setStaticCacheFileMappedBuffer(staticCacheFileMappedBuffer);
+        }
+
+        Long mappedFileThreshold = PropertiesUtil.parseLong(properties, KEY_MAPPED_FILE_THRESHOLD);
+        if (mappedFileThreshold != null) {
+            setMappedFileThreshold(mappedFileThreshold);
+        }
+
+        Boolean statisticsEnabled = PropertiesUtil.parseBoolean(properties, KEY_STATISTICS_ENABLED);
+        if (statisticsEnabled != null) {
+            setStatisticsEnabled(statisticsEnabled);
+        }
+
+        Boolean jmxEnabled = PropertiesUtil.parseBoolean(properties, KEY_JMX_ENABLED);
+        if (jmxEnabled != null) {
+            setJmxEnabled(jmxEnabled);
+        }
+
+        String jmxHost = properties.getProperty(KEY_JMX_HOST);
+        if (jmxHost != null) {
+            setJmxHost(jmxHost);
+        }
+
+        Integer jmxPort = PropertiesUtil.parseInt(properties, KEY_JMX_PORT);
+        if (jmxPort != null) {
+            setJmxPort(jmxPort);
+        }
+
+        Boolean connectionStatisticsEnabled = PropertiesUtil.parseBoolean(properties, KEY_CONNECTION_STATISTICS_ENABLED);
+        if (connectionStatisticsEnabled != null) {
+            setConnectionStatisticsEnabled(connectionStatisticsEnabled);
+        }
+
+        Boolean accessLogEnabled = PropertiesUtil.parseBoolean(properties, KEY_ACCESS_LOG_ENABLED);
+        if (accessLogEnabled != null) {
+            setAccessLogEnabled(accessLogEnabled);
+        }
+
+        JettyAccessLogMode accessLogMode = JettyAccessLogMode.getByName(properties.getProperty(KEY_ACCESS_LOG_MODE));
+        if (accessLogMode != null) {
+            setAccessLogMode(accessLogMode);
+        }
+
+        String accessLogFilename = properties.getProperty(KEY_ACCESS_LOG_FILENAME);
+        if (accessLogFilename != null) {
+            setAccessLogFilename(accessLogFilename);
+        }
+
+        Integer accessLogRetainDays = PropertiesUtil.parseInt(properties, KEY_ACCESS_LOG_RETAIN_DAYS);
+        if (accessLogRetainDays != null) {
+            setAccessLogRetainDays(accessLogRetainDays);
+        }
+
+        Integer accessLogQueueCapacity = PropertiesUtil.parseInt(properties, KEY_ACCESS_LOG_QUEUE_CAPACITY);
+        if (accessLogQueueCapacity != null) {
+            setAccessLogQueueCapacity(accessLogQueueCapacity);
+        }
+
+        Boolean accessLogExtended = PropertiesUtil.parseBoolean(properties, KEY_ACCESS_LOG_EXTENDED);
+        if (accessLogExtended != null) {
+            setAccessLogExtended(accessLogExtended);
+        }
+
+        Long slowRequestThreshold = PropertiesUtil.parseLong(properties, KEY_SLOW_REQUEST_THRESHOLD);
+        if (slowRequestThreshold != null) {
+            setSlowRequestThreshold(slowRequestThreshold);
+        }
+
+        Long slowRequestStackSampleInterval = PropertiesUtil.parseLong(properties, KEY_SLOW_REQUEST_STACK_SAMPLE_INTERVAL);
+        if (slowRequestStackSampleInterval != null) {
+            setSlowRequestStackSampleInterval(slowRequestStackSampleInterval);
+        }
+
+        Boolean lowResourcesMonitorEnabled = PropertiesUtil.parseBoolean(properties, KEY_LOW_RESOURCES_MONITOR_ENABLED);
+        if (lowResourcesMonitorEnabled != null) {
+            setLowResourcesMonitorEnabled(lowResourcesMonitorEnabled);
+        }
+
+        Integer lowResourcesPeriod = PropertiesUtil.parseInt(properties, KEY_LOW_RESOURCES_PERIOD);
+        if (lowResourcesPeriod != null) {
+            setLowResourcesPeriod(lowResourcesPeriod);
+        }
+
+        Integer lowResourcesThreadsThreshold = PropertiesUtil.parseInt(properties, KEY_LOW_RESOURCES_THREADS_THRESHOLD);
+        if (lowResourcesThreadsThreshold != null) {
+            setLowResourcesThreadsThreshold(lowResourcesThreadsThreshold);
+        }
+
+        Integer lowResourcesMaxConnections = PropertiesUtil.parseInt(properties, KEY_LOW_RESOURCES_MAX_CONNECTIONS);
+        if (lowResourcesMaxConnections != null) {
+            setLowResourcesMaxConnections(lowResourcesMaxConnections);
+        }
+
+        Long lowResourcesMaxMemory = PropertiesUtil.parseLong(properties, KEY_LOW_RESOURCES_MAX_MEMORY);
+        if (lowResourcesMaxMemory != null) {
+            setLowResourcesMaxMemory(lowResourcesMaxMemory);
+        }
+
+        Integer lowResourcesIdleTimeout = PropertiesUtil.parseInt(properties, KEY_LOW_RESOURCES_IDLE_TIMEOUT);
+        if (lowResourcesIdleTimeout != null) {
+            setLowResourcesIdleTimeout(lowResourcesIdleTimeout);
+        }
+
+        Integer lowResourcesMaxTime = PropertiesUtil.parseInt(properties, KEY_LOW_RESOURCES_MAX_TIME);
+        if (lowResourcesMaxTime != null) {
+            setLowResourcesMaxTime(lowResourcesMaxTime);
+        }
+
+        Integer maxConnections = PropertiesUtil.parseInt(properties, KEY_MAX_CONNECTIONS);
+        if (maxConnections != null) {
+            setMaxConnections(maxConnections);
+        }
+
+        Integer httpMaxConnections = PropertiesUtil.parseInt(properties, KEY_HTTP_MAX_CONNECTIONS);
+        if (httpMaxConnections != null) {
+            setHttpMaxConnections(httpMaxConnections);
+        }
+
+        Integer sslMaxConnections = PropertiesUtil.parseInt(properties, KEY_SSL_MAX_CONNECTIONS);
+        if (sslMaxConnections != null) {
+            setSslMaxConnections(sslMaxConnections);
+        }
+
+        Boolean gracefulShutdown = PropertiesUtil.parseBoolean(properties, KEY_GRACEFUL_SHUTDOWN);
+        if (gracefulShutdown != null) {
+            setGracefulShutdown(gracefulShutdown);
+        }
+
+        Long gracefulShutdownTimeout = PropertiesUtil.parseLong(properties, KEY_GRACEFUL_SHUTDOWN_TIMEOUT);
+        if (gracefulShutdownTimeout != null) {
+            setGracefulShutdownTimeout(gracefulShutdownTimeout);
+        }
     }
 
     /**
@@ -33,12 +33,17 @@ import java.text.MessageFormat;
 
 abstract public class AbstractAppJettyHandler extends AbstractJettyHandler<WebAppContext> {
     private static final String APP_DIRECTORY_NAME = "apps";
+    private static final String DEFAULT_SERVLET_INIT_PARAMETER_PREFIX = "org.eclipse.jetty.servlet.Default.";
+    private static final String REDEPLOYMENT_TEMP_DIR_SUFFIX = "-redeploy";
     
     private IJettyConfiguration iJettyConfiguration;
 	private String contextPath = null;
+	private long mappedFileThreshold;
+	private int deploymentCount = 0;
 
 	public AbstractAppJettyHandler(IJettyConfiguration iJettyConfiguration) {
 	    this.iJettyConfiguration = iJettyConfiguration;
+	    this.mappedFileThreshold = iJettyConfiguration.getMappedFileThreshold();
 	}
 	
 	protected IJettyConfiguration getJettyConfiguration() {
@@ -52,10 +57,31 @@ abstract public class AbstractAppJettyHandler extends AbstractJettyHandler<WebAp
 	public void setContextPath(String contextPath) {
 		this.contextPath = contextPath;
 	}
+
+	/**
+	 * @return size (in bytes) from which the static files are served from memory-mapped buffers, -1 if disabled
+	 */
+	public long getMappedFileThreshold() {
+		return mappedFileThreshold;
+	}
+
+	/**
+	 * Overrides the {@link IJettyConfiguration#getMappedFileThreshold()} for this application.
+	 * 
+	 * @param mappedFileThreshold
+	 *            size (in bytes) from which the static files are served from memory-mapped buffers, -1 to disable
+	 */
+	public void setMappedFileThreshold(long mappedFileThreshold) {
+		this.mappedFileThreshold = mappedFileThreshold;
+	}
 	
 	@Override
 	protected WebAppContext createHandler() throws JettyBootstrapException {
 	    WebAppContext webAppContext = new WebAppContext();
+	    if (mappedFileThreshold >= 0) {
+	        webAppContext.setServletHandler(new MappedFileServletHandler());
+	        webAppContext.setInitParameter(DEFAULT_SERVLET_INIT_PARAMETER_PREFIX + MappedFileDefaultServlet.INIT_PARAMETER_MAPPED_FILE_THRESHOLD, String.valueOf(mappedFileThreshold));
+	    }
 	    
 	    //Init WebAppContext from Jetty Configuration
         webAppContext.setParentLoaderPriority(iJettyConfiguration.isParentLoaderPriority());
@@ -63,17 +89,28 @@ abstract public class AbstractAppJettyHandler extends AbstractJettyHandler<WebAp
         webAppContext.setThrowUnavailableOnStartupException(iJettyConfiguration.isThrowIfStartupException());
         webAppContext.getSessionHandler().setMaxInactiveInterval(iJettyConfiguration.getMaxInactiveInterval());
         
+        //Init static content cache of the Default Servlet
+        webAppContext.setInitParameter(DEFAULT_SERVLET_INIT_PARAMETER_PREFIX + "maxCacheSize", String.valueOf(iJettyConfiguration.getStaticCacheMaxSize()));
+        webAppContext.setInitParameter(DEFAULT_SERVLET_INIT_PARAMETER_PREFIX + "maxCachedFileSize", String.valueOf(iJettyConfiguration.getStaticCacheMaxFileSize()));
+        webAppContext.setInitParameter(DEFAULT_SERVLET_INIT_PARAMETER_PREFIX + "maxCachedFiles", String.valueOf(iJettyConfiguration.getStaticCacheMaxFiles()));
+        webAppContext.setInitParameter(DEFAULT_SERVLET_INIT_PARAMETER_PREFIX + "useFileMappedBuffer", String.valueOf(iJettyConfiguration.isStaticCacheFileMappedBuffer()));
+        
         // Add redirect to SSL if necessary
         if (iJettyConfiguration.isRedirectWebAppsOnHttpsConnector()) {
             webAppContext.setSecurityHandler(JettyConstraintUtil.getConstraintSecurityHandlerConfidential());
         }
         
         //Init temp directory
-        File appsTempDirectory = new File(iJettyConfiguration.getTempDirectory() + File.separator + APP_DIRECTORY_NAME);
-        if (!appsTempDirectory.exists() && !appsTempDirectory.mkdir()) {
-            throw new JettyBootstrapException("Can't create temporary applications directory");
+        File appsTempDirectory = getAppsTempDirectory();
+        // Each redeployment has its own directory, so that it does not clean the directory of a deployment still draining. Only the directory of the first
+        // deployment is persisted, as the name of the others is not reused on restart
+        int deployment = deploymentCount++;
+        String appTempDirName = getAppTempDirName();
+        if (deployment > 0) {
+            appTempDirName += REDEPLOYMENT_TEMP_DIR_SUFFIX + deployment;
+            webAppContext.setPersistTempDirectory(false);
         }
-        File appTempDirectory = new File(appsTempDirectory.getPath() + File.separator + getAppTempDirName());
+        File appTempDirectory = new File(appsTempDirectory.getPath() + File.separator + appTempDirName);
         webAppContext.setTempDirectory(appTempDirectory);
 
         //Adds extra classes if necessary
@@ -85,6 +122,22 @@ abstract public class AbstractAppJettyHandler extends AbstractJettyHandler<WebAp
         return webAppContext;
 	}
 	
+	/**
+	 * The Temporary Applications directory, parent of the Temporary Application directories. Created if necessary.
+	 * 
+	 * @return File
+	 * @throws JettyBootstrapException
+	 *             if the directory can not be created
+	 */
+	protected File getAppsTempDirectory() throws JettyBootstrapException {
+		File appsTempDirectory = new File(iJettyConfiguration.getTempDirectory() + File.separator + APP_DIRECTORY_NAME);
+		if (!appsTempDirectory.exists() && !appsTempDirectory.mkdir()) {
+			throw new JettyBootstrapException("Can't create temporary applications directory");
+		}
+
+		return appsTempDirectory;
+	}
+
 	/**
 	 * The name of Temporary Application directory
 	 * 
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler;
+
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.FutureCallback;
+
+
+/**
+ * {@link HandlerWrapper} of a deployed application, counting its in-flight requests (asynchronous ones included) so that it can be retired once replaced by a new
+ * deployment.
+ * <p>
+ * Once {@link #retire(Handler)} is called, the handler is retired as soon as it has no in-flight request. The requests reaching a retired handler (routed to it just
+ * before its replacement) are passed to the new deployment, if any.
+ */
+public class DeploymentHandler extends HandlerWrapper {
+
+	// Integer.MIN_VALUE once retired, so that the requests reaching the handler afterwards see a negative count
+	private static final int RETIRED = Integer.MIN_VALUE;
+
+	private final AtomicInteger activeRequests = new AtomicInteger();
+	private volatile Handler successor;
+	private volatile FutureCallback retired;
+
+	/**
+	 * @param handler
+	 *            Handler of the deployed application
+	 */
+	public DeploymentHandler(Handler handler) {
+		setHandler(handler);
+	}
+
+	@Override
+	public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+		if (!baseRequest.getHttpChannelState().isInitial()) {
+			// async dispatch, completion recorded by the listener
+			super.handle(target, baseRequest, request, response);
+			return;
+		}
+
+		if (activeRequests.getAndIncrement() < 0) {
+			activeRequests.decrementAndGet();
+			if (successor != null) {
+				successor.handle(target, baseRequest, request, response);
+			}
+			return;
+		}
+
+		boolean failed = true;
+		try {
+			super.handle(target, baseRequest, request, response);
+			failed = false;
+		} finally {
+			if (!failed && baseRequest.isAsyncStarted()) {
+				baseRequest.getAsyncContext().addListener(new CompletionListener());
+			} else {
+				requestCompleted();
+			}
+		}
+	}
+
+	/**
+	 * Retires this handler once its in-flight requests are completed.
+	 * 
+	 * @param successor
+	 *            Handler of the new deployment, handling the requests reaching this handler once retired. <code>null</code> to leave them unhandled
+	 * @return Future completed once this handler is retired
+	 */
+	public Future<Void> retire(Handler successor) {
+		this.successor = successor;
+		FutureCallback retired = new FutureCallback();
+		this.retired = retired;
+		tryRetire();
+
+		return retired;
+	}
+
+	/**
+	 * @return <code>true</code> once retired
+	 */
+	public boolean isRetired() {
+		return activeRequests.get() < 0;
+	}
+
+	/**
+	 * @return number of in-flight requests
+	 */
+	public int getActiveRequests() {
+		return Math.max(activeRequests.get(), 0);
+	}
+
+	private void requestCompleted() {
+		if (activeRequests.decrementAndGet() == 0 && retired != null) {
+			tryRetire();
+		}
+	}
+
+	private void tryRetire() {
+		if (activeRequests.compareAndSet(0, RETIRED)) {
+			retired.succeeded();
+		}
+	}
+
+	/**
+	 * Records the completion of an asynchronous request.
+	 */
+	private class CompletionListener implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) throws IOException {
+			requestCompleted();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) throws IOException {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) throws IOException {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) throws IOException {
+			event.getAsyncContext().addListener(this);
+		}
+	}
+}
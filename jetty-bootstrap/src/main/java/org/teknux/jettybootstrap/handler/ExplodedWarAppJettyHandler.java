@@ -21,17 +21,25 @@
  *******************************************************************************/
 package org.teknux.jettybootstrap.handler;
 
+import java.io.File;
+import java.io.IOException;
 import java.security.InvalidParameterException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 import org.eclipse.jetty.util.resource.Resource;
+import org.eclipse.jetty.util.resource.ResourceCollection;
 import org.eclipse.jetty.webapp.WebAppContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.teknux.jettybootstrap.JettyBootstrapException;
 import org.teknux.jettybootstrap.configuration.IJettyConfiguration;
+import org.teknux.jettybootstrap.handler.util.PrecompressedResourceUtil;
 import org.teknux.jettybootstrap.utils.Md5Util;
 
 
 public class ExplodedWarAppJettyHandler extends AbstractAppJettyHandler {
+	private final static Logger LOG = LoggerFactory.getLogger(ExplodedWarAppJettyHandler.class);
 
 	public ExplodedWarAppJettyHandler(IJettyConfiguration iJettyConfiguration) {
         super(iJettyConfiguration);
@@ -39,6 +47,7 @@ public class ExplodedWarAppJettyHandler extends AbstractAppJettyHandler {
 
     private static final String TYPE = "ExplodedWar";
 	private static final String TYPE_FROM_CLASSPATH = "ExplodedWarFromClasspath";
+	private static final String PRECOMPRESSED_DIRECTORY_SUFFIX = "-precompressed";
 
 	private String webAppBase = null;
 	private String webAppBaseFromClasspath = null;
@@ -105,9 +114,44 @@ public class ExplodedWarAppJettyHandler extends AbstractAppJettyHandler {
 
 		webAppContext.setDescriptor(descriptor);
 
+		if (getJettyConfiguration().isPrecompressEnabled()) {
+			precompressResources(webAppContext);
+		}
+
 		return webAppContext;
 	}
 
+	/**
+	 * Writes the compressed static resources aside the Temporary Application directory (which Jetty may clean on start) and adds them to the resources served by the
+	 * context.
+	 * 
+	 * @param webAppContext
+	 *            WebAppContext
+	 * @throws JettyBootstrapException
+	 *             if the resources can not be compressed
+	 */
+	private void precompressResources(WebAppContext webAppContext) throws JettyBootstrapException {
+		try {
+			Resource baseResource = webAppContext.getBaseResource();
+			if (baseResource == null) {
+				baseResource = Resource.newResource(webAppContext.getResourceBase());
+			}
+			if (baseResource == null || !baseResource.exists()) {
+				return;
+			}
+
+			File precompressedDirectory = new File(getAppsTempDirectory(), getAppTempDirName() + PRECOMPRESSED_DIRECTORY_SUFFIX);
+			int count = PrecompressedResourceUtil.precompress(baseResource, precompressedDirectory, getJettyConfiguration().getPrecompressMinSize(),
+					Arrays.asList(getJettyConfiguration().getPrecompressExtensions()));
+			LOG.debug("{} resource(s) precompressed for {}", count, this);
+
+			webAppContext.setBaseResource(new ResourceCollection(baseResource, Resource.newResource(precompressedDirectory)));
+			webAppContext.setInitParameter(PrecompressedResourceUtil.DEFAULT_SERVLET_PRECOMPRESSED_INIT_PARAMETER, PrecompressedResourceUtil.DEFAULT_SERVLET_PRECOMPRESSED_GZIP);
+		} catch (IOException e) {
+			throw new JettyBootstrapException("Can't precompress static resources", e);
+		}
+	}
+
 	@Override
 	public String getItemType() {
 		if (webAppBase != null) {
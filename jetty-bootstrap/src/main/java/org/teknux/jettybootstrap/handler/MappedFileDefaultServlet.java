@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.servlet.UnavailableException;
+
+import org.eclipse.jetty.http.CompressedContentFormat;
+import org.eclipse.jetty.http.HttpContent;
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.server.CachedContentFactory;
+import org.eclipse.jetty.server.ResourceService;
+import org.eclipse.jetty.servlet.DefaultServlet;
+import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.resource.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * {@link DefaultServlet} serving the files larger than a threshold from memory-mapped buffers.
+ * <p>
+ * The default servlet copies the files which are not cached through a buffer of the response size, one read per buffer. Mapped files are written to the connection
+ * straight from the page cache. The threshold (in bytes) is read from the {@value #INIT_PARAMETER_MAPPED_FILE_THRESHOLD} init parameter, a negative value disables
+ * the mapping.
+ * <p>
+ * Each file is mapped once and its buffer reused until the file is modified: a mapping is only released when its buffer is garbage collected, so mapping on every
+ * request would exhaust the address space and the map count of the process. At most {@value #MAX_MAPPED_FILES} files are kept mapped: the mappings of the deleted
+ * files, then the least recently used ones, are dropped first. Files held by the static content cache keep being served from their cached buffer (when the cache
+ * uses file mapped buffers, it holds files of any size), and files larger than {@link Integer#MAX_VALUE} bytes, which can not be mapped in one buffer, are copied.
+ */
+public class MappedFileDefaultServlet extends DefaultServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger LOG = LoggerFactory.getLogger(MappedFileDefaultServlet.class);
+
+	public static final String INIT_PARAMETER_MAPPED_FILE_THRESHOLD = "mappedFileThreshold";
+
+	/**
+	 * Max number of files kept mapped
+	 */
+	public static final int MAX_MAPPED_FILES = 256;
+
+	private final ResourceService resourceService;
+	private MappedFileContentFactory mappedFileContentFactory;
+
+	public MappedFileDefaultServlet() {
+		this(new ResourceService());
+	}
+
+	private MappedFileDefaultServlet(ResourceService resourceService) {
+		super(resourceService);
+		this.resourceService = resourceService;
+	}
+
+	@Override
+	public void init() throws UnavailableException {
+		super.init();
+
+		String mappedFileThreshold = getInitParameter(INIT_PARAMETER_MAPPED_FILE_THRESHOLD);
+		if (mappedFileThreshold != null) {
+			try {
+				long threshold = Long.parseLong(mappedFileThreshold.trim());
+				if (threshold >= 0) {
+					mappedFileContentFactory = new MappedFileContentFactory(resourceService.getContentFactory(), threshold);
+					resourceService.setContentFactory(mappedFileContentFactory);
+				}
+			} catch (NumberFormatException e) {
+				throw new UnavailableException("Invalid " + INIT_PARAMETER_MAPPED_FILE_THRESHOLD + " init parameter: " + mappedFileThreshold);
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (mappedFileContentFactory != null) {
+			mappedFileContentFactory.clear();
+		}
+
+		super.destroy();
+	}
+
+	/**
+	 * @return number of files currently mapped
+	 */
+	public int getMappedFileCount() {
+		return mappedFileContentFactory == null ? 0 : mappedFileContentFactory.mappedFiles.size();
+	}
+
+	/**
+	 * Wraps the contents of the files reaching the threshold, unless they are held by the static content cache.
+	 */
+	private static class MappedFileContentFactory implements HttpContent.ContentFactory {
+
+		private final HttpContent.ContentFactory contentFactory;
+		private final long threshold;
+		private final ConcurrentMap<File, MappedFile> mappedFiles = new ConcurrentHashMap<>();
+
+		public MappedFileContentFactory(HttpContent.ContentFactory contentFactory, long threshold) {
+			this.contentFactory = contentFactory;
+			this.threshold = threshold;
+		}
+
+		@Override
+		public HttpContent getContent(String path, int maxBuffer) throws IOException {
+			HttpContent httpContent = contentFactory.getContent(path, maxBuffer);
+			if (httpContent == null || httpContent.getContentLengthValue() < threshold || httpContent.getContentLengthValue() > Integer.MAX_VALUE
+					|| httpContent.getResource() == null || httpContent instanceof CachedContentFactory.CachedHttpContent) {
+				return httpContent;
+			}
+
+			File file = httpContent.getResource().getFile();
+			if (file == null || !file.isFile()) {
+				return httpContent;
+			}
+
+			return new MappedFileHttpContent(httpContent, file, this);
+		}
+
+		/**
+		 * @return a slice of the buffer mapping the file, mapped again only if the file was modified since
+		 */
+		public ByteBuffer getMappedBuffer(File file) throws IOException {
+			long lastModified = file.lastModified();
+			long length = file.length();
+
+			MappedFile mappedFile = mappedFiles.get(file);
+			if (mappedFile == null || mappedFile.lastModified != lastModified || mappedFile.buffer.capacity() != length) {
+				mappedFile = new MappedFile(BufferUtil.toMappedBuffer(file), lastModified);
+				if (mappedFiles.put(file, mappedFile) == null) {
+					evict();
+				}
+				LOG.trace("File {} mapped", file);
+			}
+			mappedFile.lastUsed = System.nanoTime();
+
+			return mappedFile.buffer.slice();
+		}
+
+		/**
+		 * Drops the mappings of the deleted files, then the least recently used mappings while more than {@value MappedFileDefaultServlet#MAX_MAPPED_FILES} files
+		 * are mapped.
+		 */
+		private void evict() {
+			mappedFiles.keySet().removeIf(mappedFile -> !mappedFile.isFile());
+
+			while (mappedFiles.size() > MAX_MAPPED_FILES) {
+				Map.Entry<File, MappedFile> leastRecentlyUsed = null;
+				for (Map.Entry<File, MappedFile> mappedFile : mappedFiles.entrySet()) {
+					if (leastRecentlyUsed == null || mappedFile.getValue().lastUsed - leastRecentlyUsed.getValue().lastUsed < 0) {
+						leastRecentlyUsed = mappedFile;
+					}
+				}
+				if (leastRecentlyUsed == null) {
+					break;
+				}
+				mappedFiles.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+			}
+		}
+
+		public void clear() {
+			mappedFiles.clear();
+		}
+
+		@Override
+		public String toString() {
+			return "MappedFileContentFactory@" + Integer.toHexString(hashCode()) + "[" + contentFactory + ",threshold=" + threshold + "]";
+		}
+	}
+
+	/**
+	 * Buffer mapping a file, the modification time of the file when it was mapped, and the time (System.nanoTime) it was last served.
+	 */
+	private static class MappedFile {
+
+		private final ByteBuffer buffer;
+		private final long lastModified;
+		private volatile long lastUsed;
+
+		public MappedFile(ByteBuffer buffer, long lastModified) {
+			this.buffer = buffer;
+			this.lastModified = lastModified;
+		}
+	}
+
+	/**
+	 * {@link HttpContent} serving the mapped buffer of its file as direct buffer, delegating everything else.
+	 */
+	private static class MappedFileHttpContent implements HttpContent {
+
+		private final HttpContent httpContent;
+		private final File file;
+		private final MappedFileContentFactory mappedFileContentFactory;
+
+		public MappedFileHttpContent(HttpContent httpContent, File file, MappedFileContentFactory mappedFileContentFactory) {
+			this.httpContent = httpContent;
+			this.file = file;
+			this.mappedFileContentFactory = mappedFileContentFactory;
+		}
+
+		@Override
+		public ByteBuffer getDirectBuffer() {
+			try {
+				return mappedFileContentFactory.getMappedBuffer(file);
+			} catch (IOException | RuntimeException e) {
+				LOG.debug("Can't map file {}, falling back to copy", file, e);
+				return httpContent.getDirectBuffer();
+			}
+		}
+
+		@Override
+		public ByteBuffer getIndirectBuffer() {
+			return httpContent.getIndirectBuffer();
+		}
+
+		@Override
+		public HttpField getContentType() {
+			return httpContent.getContentType();
+		}
+
+		@Override
+		public String getContentTypeValue() {
+			return httpContent.getContentTypeValue();
+		}
+
+		@Override
+		public String getCharacterEncoding() {
+			return httpContent.getCharacterEncoding();
+		}
+
+		@Override
+		public MimeTypes.Type getMimeType() {
+			return httpContent.getMimeType();
+		}
+
+		@Override
+		public HttpField getContentEncoding() {
+			return httpContent.getContentEncoding();
+		}
+
+		@Override
+		public String getContentEncodingValue() {
+			return httpContent.getContentEncodingValue();
+		}
+
+		@Override
+		public HttpField getContentLength() {
+			return httpContent.getContentLength();
+		}
+
+		@Override
+		public long getContentLengthValue() {
+			return httpContent.getContentLengthValue();
+		}
+
+		@Override
+		public HttpField getLastModified() {
+			return httpContent.getLastModified();
+		}
+
+		@Override
+		public String getLastModifiedValue() {
+			return httpContent.getLastModifiedValue();
+		}
+
+		@Override
+		public HttpField getETag() {
+			return httpContent.getETag();
+		}
+
+		@Override
+		public String getETagValue() {
+			return httpContent.getETagValue();
+		}
+
+		@Override
+		public Resource getResource() {
+			return httpContent.getResource();
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return httpContent.getInputStream();
+		}
+
+		@Override
+		public ReadableByteChannel getReadableByteChannel() throws IOException {
+			return httpContent.getReadableByteChannel();
+		}
+
+		@Override
+		public void release() {
+			httpContent.release();
+		}
+
+		@Override
+		public Map<CompressedContentFormat, ? extends HttpContent> getPrecompressedContents() {
+			return httpContent.getPrecompressedContents();
+		}
+
+		@Override
+		public String toString() {
+			return "MappedFileHttpContent@" + Integer.toHexString(hashCode()) + "[" + file + "]";
+		}
+	}
+}
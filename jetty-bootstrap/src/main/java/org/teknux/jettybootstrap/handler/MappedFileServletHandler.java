@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler;
+
+import org.eclipse.jetty.servlet.DefaultServlet;
+import org.eclipse.jetty.servlet.ServletHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+
+
+/**
+ * {@link ServletHandler} replacing the {@link DefaultServlet} declared by the descriptors with the {@link MappedFileDefaultServlet}.
+ */
+public class MappedFileServletHandler extends ServletHandler {
+
+	@Override
+	public void initialize() throws Exception {
+		ServletHolder[] servletHolders = getServlets();
+		if (servletHolders != null) {
+			for (ServletHolder servletHolder : servletHolders) {
+				if (DefaultServlet.class.getName().equals(servletHolder.getClassName())) {
+					servletHolder.setHeldClass(MappedFileDefaultServlet.class);
+				}
+			}
+		}
+
+		super.initialize();
+	}
+}
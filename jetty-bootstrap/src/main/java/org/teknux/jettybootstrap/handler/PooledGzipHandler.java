@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+
+
+/**
+ * {@link GzipHandler} reusing its deflaters through a pool shared by all threads.
+ * <p>
+ * The default {@link GzipHandler} keeps one deflater per thread, which is never reused when requests run on short-lived (virtual) threads.
+ */
+public class PooledGzipHandler extends GzipHandler {
+
+	private static final String GZIP = "gzip";
+
+	private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pooledDeflaters = new AtomicInteger();
+
+	private int deflaterPoolCapacity = -1;
+
+	/**
+	 * @return max number of deflaters kept for reuse. A negative value means unbounded, 0 disables the pool
+	 */
+	public int getDeflaterPoolCapacity() {
+		return deflaterPoolCapacity;
+	}
+
+	/**
+	 * @param deflaterPoolCapacity
+	 *            max number of deflaters kept for reuse. A negative value means unbounded, 0 disables the pool
+	 */
+	public void setDeflaterPoolCapacity(int deflaterPoolCapacity) {
+		this.deflaterPoolCapacity = deflaterPoolCapacity;
+	}
+
+	/**
+	 * @return number of deflaters currently pooled
+	 */
+	public int getPooledDeflaters() {
+		return pooledDeflaters.get();
+	}
+
+	@Override
+	public Deflater getDeflater(Request request, long contentLength) {
+		String userAgent = request.getHttpFields().get(HttpHeader.USER_AGENT);
+		if (userAgent != null && !isAgentGzipable(userAgent)) {
+			return null;
+		}
+		if (contentLength >= 0 && contentLength < getMinGzipSize()) {
+			return null;
+		}
+		HttpField acceptEncoding = request.getHttpFields().getField(HttpHeader.ACCEPT_ENCODING);
+		if (acceptEncoding == null || !acceptEncoding.contains(GZIP)) {
+			return null;
+		}
+
+		Deflater deflater = deflaters.poll();
+		if (deflater == null) {
+			return new Deflater(getCompressionLevel(), true);
+		}
+		pooledDeflaters.decrementAndGet();
+
+		return deflater;
+	}
+
+	@Override
+	public void recycle(Deflater deflater) {
+		if (isRunning() && reservePoolSlot()) {
+			deflater.reset();
+			deflaters.offer(deflater);
+		} else {
+			deflater.end();
+		}
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		Deflater deflater;
+		while ((deflater = deflaters.poll()) != null) {
+			pooledDeflaters.decrementAndGet();
+			deflater.end();
+		}
+
+		super.doStop();
+	}
+
+	private boolean reservePoolSlot() {
+		if (deflaterPoolCapacity < 0) {
+			pooledDeflaters.incrementAndGet();
+			return true;
+		}
+
+		int pooled;
+		do {
+			pooled = pooledDeflaters.get();
+			if (pooled >= deflaterPoolCapacity) {
+				return false;
+			}
+		} while (!pooledDeflaters.compareAndSet(pooled, pooled + 1));
+
+		return true;
+	}
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpHeaderValue;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpChannel;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.FutureCallback;
+
+
+/**
+ * {@link HandlerWrapper} tracking the in-flight requests (asynchronous ones included) so that the server can be stopped once they are completed.
+ * <p>
+ * A request is in flight from its dispatch to this handler until its response is completely written, which is notified by the connectors this handler registers
+ * itself on as {@link HttpChannel.Listener}. Once {@link #drain()} is called, the requests received on the connections still open (keep-alive) are served with a
+ * <code>Connection: close</code> header, so the clients do not reuse them. Once {@link #expire()} is called at the drain deadline, the requests still in flight
+ * are counted as aborted and new requests are rejected with a 503.
+ */
+public class RequestDrainHandler extends HandlerWrapper implements HttpChannel.Listener {
+
+	private final Set<Request> activeRequests = ConcurrentHashMap.newKeySet();
+	private final AtomicLong rejectedRequests = new AtomicLong();
+	private volatile FutureCallback drained;
+	private volatile boolean expired;
+	private volatile int abortedRequests;
+
+	@Override
+	protected void doStart() throws Exception {
+		drained = null;
+		expired = false;
+		abortedRequests = 0;
+
+		if (getServer() != null) {
+			for (Connector connector : getServer().getConnectors()) {
+				connector.addBean(this);
+			}
+		}
+
+		super.doStart();
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		try {
+			super.doStop();
+		} finally {
+			if (getServer() != null) {
+				for (Connector connector : getServer().getConnectors()) {
+					connector.removeBean(this);
+				}
+			}
+			activeRequests.clear();
+		}
+	}
+
+	@Override
+	public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+		if (!baseRequest.getHttpChannelState().isInitial()) {
+			// async dispatch, already in flight
+			super.handle(target, baseRequest, request, response);
+			return;
+		}
+
+		// Added before checking the drain state, so that drain() can not miss it
+		activeRequests.add(baseRequest);
+		if (drained != null) {
+			response.setHeader(HttpHeader.CONNECTION.asString(), HttpHeaderValue.CLOSE.asString());
+
+			if (expired) {
+				rejectedRequests.incrementAndGet();
+
+				baseRequest.setHandled(true);
+				response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+				return;
+			}
+		}
+
+		super.handle(target, baseRequest, request, response);
+	}
+
+	@Override
+	public void onComplete(Request request) {
+		if (activeRequests.remove(request) && activeRequests.isEmpty()) {
+			FutureCallback drained = this.drained;
+			if (drained != null) {
+				drained.succeeded();
+			}
+		}
+	}
+
+	/**
+	 * Starts closing the connections after their current request, the new requests still being served until {@link #expire()}.
+	 * 
+	 * @return Future completed once all the in-flight requests are completed
+	 */
+	public synchronized Future<Void> drain() {
+		if (drained == null) {
+			drained = new FutureCallback();
+			if (activeRequests.isEmpty()) {
+				drained.succeeded();
+			}
+		}
+
+		return drained;
+	}
+
+	/**
+	 * Ends the drain at its deadline: the requests still in flight are counted as aborted and the new requests are rejected.
+	 * 
+	 * @return Number of requests aborted
+	 */
+	public synchronized int expire() {
+		drain();
+
+		if (!expired) {
+			expired = true;
+			abortedRequests = activeRequests.size();
+		}
+
+		return abortedRequests;
+	}
+
+	/**
+	 * @return <code>true</code> if {@link #drain()} was called since the handler started
+	 */
+	public boolean isDraining() {
+		return drained != null;
+	}
+
+	/**
+	 * @return Number of requests in flight
+	 */
+	public int getActiveRequests() {
+		return activeRequests.size();
+	}
+
+	/**
+	 * @return Number of requests rejected after the drain deadline
+	 */
+	public long getRejectedRequests() {
+		return rejectedRequests.get();
+	}
+
+	/**
+	 * @return Number of requests still in flight at the drain deadline
+	 */
+	public int getAbortedRequests() {
+		return abortedRequests;
+	}
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.teknux.jettybootstrap.statistics.RequestStatistics;
+
+
+/**
+ * {@link HandlerWrapper} recording the {@link RequestStatistics} of the server and of each context it contains.
+ * <p>
+ * Requests are attributed to the context with the longest matching context path. The contexts are resolved when the handler starts, and again by
+ * {@link #updateContexts()} when contexts are added to or removed from the started server.
+ */
+public class RequestStatisticsHandler extends HandlerWrapper {
+
+	private static final String SERVER_STATISTICS_NAME = "server";
+
+	private final RequestStatistics serverStatistics = new RequestStatistics(SERVER_STATISTICS_NAME);
+	private volatile Map<String, RequestStatistics> contextStatistics = Collections.emptyMap();
+	private volatile RequestStatistics[] contextStatisticsByLength = new RequestStatistics[0];
+
+	@Override
+	protected void doStart() throws Exception {
+		updateContexts();
+
+		super.doStart();
+	}
+
+	/**
+	 * Resolves the contexts contained in this handler again, so that the requests to the contexts added since are counted per context. The statistics of the
+	 * contexts still contained are kept.
+	 */
+	public synchronized void updateContexts() {
+		Map<String, RequestStatistics> statistics = new LinkedHashMap<>();
+		Handler[] contextHandlers = getChildHandlersByClass(ContextHandler.class);
+		if (contextHandlers != null) {
+			for (Handler contextHandler : contextHandlers) {
+				String contextPath = ((ContextHandler) contextHandler).getContextPath();
+				if (!statistics.containsKey(contextPath)) {
+					RequestStatistics previous = contextStatistics.get(contextPath);
+					statistics.put(contextPath, previous != null ? previous : new RequestStatistics(contextPath));
+				}
+			}
+		}
+
+		List<RequestStatistics> byLength = new ArrayList<>(statistics.values());
+		Collections.sort(byLength, (s1, s2) -> Integer.compare(s2.getName().length(), s1.getName().length()));
+
+		contextStatistics = Collections.unmodifiableMap(statistics);
+		contextStatisticsByLength = byLength.toArray(new RequestStatistics[byLength.size()]);
+	}
+
+	@Override
+	public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+		if (!baseRequest.getHttpChannelState().isInitial()) {
+			// async dispatch, completion recorded by the listener
+			super.handle(target, baseRequest, request, response);
+			return;
+		}
+
+		long start = System.nanoTime();
+		RequestStatistics statistics = getContextStatistics(target);
+		serverStatistics.requestStarted();
+		if (statistics != null) {
+			statistics.requestStarted();
+		}
+
+		boolean failed = true;
+		try {
+			super.handle(target, baseRequest, request, response);
+			failed = false;
+		} finally {
+			if (!failed && baseRequest.isAsyncStarted()) {
+				baseRequest.getAsyncContext().addListener(new CompletionListener(baseRequest, statistics, start));
+			} else {
+				requestCompleted(baseRequest, statistics, start, failed);
+			}
+		}
+	}
+
+	private void requestCompleted(Request baseRequest, RequestStatistics statistics, long start, boolean failed) {
+		long latency = System.nanoTime() - start;
+
+		int status;
+		if (failed) {
+			status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+		} else if (!baseRequest.isHandled()) {
+			status = HttpServletResponse.SC_NOT_FOUND;
+		} else {
+			status = baseRequest.getResponse().getStatus();
+		}
+
+		serverStatistics.requestCompleted(status, latency);
+		if (statistics != null) {
+			statistics.requestCompleted(status, latency);
+		}
+	}
+
+	private RequestStatistics getContextStatistics(String target) {
+		if (target == null) {
+			return null;
+		}
+
+		for (RequestStatistics statistics : contextStatisticsByLength) {
+			String contextPath = statistics.getName();
+			if ("/".equals(contextPath) || target.equals(contextPath) || (target.startsWith(contextPath) && target.charAt(contextPath.length()) == '/')) {
+				return statistics;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return statistics of all the requests handled by the server
+	 */
+	public RequestStatistics getServerStatistics() {
+		return serverStatistics;
+	}
+
+	/**
+	 * @return statistics of the requests by context path
+	 */
+	public Map<String, RequestStatistics> getContextStatistics() {
+		return contextStatistics;
+	}
+
+	/**
+	 * Reset the server and contexts statistics.
+	 */
+	public void reset() {
+		serverStatistics.reset();
+		for (RequestStatistics statistics : contextStatisticsByLength) {
+			statistics.reset();
+		}
+	}
+
+	/**
+	 * Records the completion of an asynchronous request.
+	 */
+	private class CompletionListener implements AsyncListener {
+
+		private final Request baseRequest;
+		private final RequestStatistics statistics;
+		private final long start;
+
+		public CompletionListener(Request baseRequest, RequestStatistics statistics, long start) {
+			this.baseRequest = baseRequest;
+			this.statistics = statistics;
+			this.start = start;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) throws IOException {
+			requestCompleted(baseRequest, statistics, start, false);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) throws IOException {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) throws IOException {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) throws IOException {
+			event.getAsyncContext().addListener(this);
+		}
+	}
+}
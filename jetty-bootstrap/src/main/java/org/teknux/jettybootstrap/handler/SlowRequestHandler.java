@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.thread.ScheduledExecutorScheduler;
+import org.eclipse.jetty.util.thread.Scheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * {@link HandlerWrapper} watching the in-flight requests and logging the ones exceeding the threshold, with a stack sample of the thread handling them.
+ * <p>
+ * Each slow request is logged once. To keep the watchdog cheap when the whole server stalls, the stack samples are rate-limited to one per stack sample interval.
+ * Asynchronous requests waiting without a thread are logged without stack.
+ */
+public class SlowRequestHandler extends HandlerWrapper {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SlowRequestHandler.class);
+
+	private static final String SCHEDULER_NAME = "SlowRequestWatchdog";
+	private static final long MIN_CHECK_INTERVAL_MS = 10;
+
+	private final long thresholdMs;
+	private final long stackSampleIntervalMs;
+	private final long checkIntervalMs;
+
+	private final Map<Request, InFlightRequest> inFlightRequests = new ConcurrentHashMap<>();
+	private final AtomicLong slowRequests = new AtomicLong();
+	private final Scheduler scheduler = new ScheduledExecutorScheduler(SCHEDULER_NAME, true);
+	private long lastStackSample;
+
+	/**
+	 * @param thresholdMs
+	 *            Duration (in ms) after which an in-flight request is logged
+	 * @param stackSampleIntervalMs
+	 *            Min duration (in ms) between two stack samples
+	 */
+	public SlowRequestHandler(long thresholdMs, long stackSampleIntervalMs) {
+		if (thresholdMs <= 0) {
+			throw new IllegalArgumentException("Threshold must be positive");
+		}
+
+		this.thresholdMs = thresholdMs;
+		this.stackSampleIntervalMs = stackSampleIntervalMs;
+		this.checkIntervalMs = Math.max(thresholdMs / 2, MIN_CHECK_INTERVAL_MS);
+
+		addBean(scheduler);
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+		super.doStart();
+
+		lastStackSample = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(stackSampleIntervalMs);
+		scheduleCheck();
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		super.doStop();
+
+		inFlightRequests.clear();
+	}
+
+	@Override
+	public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+		InFlightRequest inFlightRequest;
+		if (baseRequest.getHttpChannelState().isInitial()) {
+			inFlightRequest = new InFlightRequest(baseRequest.getRequestURI());
+			inFlightRequests.put(baseRequest, inFlightRequest);
+		} else {
+			// async dispatch
+			inFlightRequest = inFlightRequests.get(baseRequest);
+		}
+
+		if (inFlightRequest != null) {
+			inFlightRequest.thread = Thread.currentThread();
+		}
+
+		try {
+			super.handle(target, baseRequest, request, response);
+		} finally {
+			if (inFlightRequest != null) {
+				inFlightRequest.thread = null;
+			}
+
+			if (baseRequest.isAsyncStarted()) {
+				if (inFlightRequest != null && !inFlightRequest.listening) {
+					inFlightRequest.listening = true;
+					baseRequest.getAsyncContext().addListener(new CompletionListener(baseRequest));
+				}
+			} else {
+				inFlightRequests.remove(baseRequest);
+			}
+		}
+	}
+
+	/**
+	 * @return Number of requests which exceeded the threshold
+	 */
+	public long getSlowRequests() {
+		return slowRequests.get();
+	}
+
+	/**
+	 * @return Number of requests being handled
+	 */
+	public int getInFlightRequests() {
+		return inFlightRequests.size();
+	}
+
+	/**
+	 * @return Duration (in ms) after which an in-flight request is logged
+	 */
+	public long getThresholdMs() {
+		return thresholdMs;
+	}
+
+	private void scheduleCheck() {
+		scheduler.schedule(this::check, checkIntervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	private void check() {
+		if (!isRunning()) {
+			return;
+		}
+
+		try {
+			long now = System.nanoTime();
+			long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+			for (InFlightRequest inFlightRequest : inFlightRequests.values()) {
+				if (!inFlightRequest.reported && now - inFlightRequest.start >= thresholdNanos) {
+					inFlightRequest.reported = true;
+					slowRequests.incrementAndGet();
+
+					report(inFlightRequest, now);
+				}
+			}
+		} catch (RuntimeException e) {
+			LOG.error("Slow requests check failed", e);
+		} finally {
+			if (isRunning()) {
+				scheduleCheck();
+			}
+		}
+	}
+
+	private void report(InFlightRequest inFlightRequest, long now) {
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(now - inFlightRequest.start);
+
+		Thread thread = inFlightRequest.thread;
+		if (thread == null) {
+			LOG.warn("Slow request [{}] running for {} ms, waiting asynchronously", inFlightRequest.uri, elapsedMs);
+		} else if (now - lastStackSample < TimeUnit.MILLISECONDS.toNanos(stackSampleIntervalMs)) {
+			LOG.warn("Slow request [{}] running for {} ms on thread [{}]", inFlightRequest.uri, elapsedMs, thread.getName());
+		} else {
+			lastStackSample = now;
+
+			StringBuilder stack = new StringBuilder();
+			for (StackTraceElement element : thread.getStackTrace()) {
+				stack.append(System.lineSeparator()).append("\tat ").append(element);
+			}
+			LOG.warn("Slow request [{}] running for {} ms on thread [{}]:{}", inFlightRequest.uri, elapsedMs, thread.getName(), stack);
+		}
+	}
+
+	/**
+	 * Request being handled. The reported flag is only accessed by the watchdog thread, the listening flag by the threads dispatching the request.
+	 */
+	private static class InFlightRequest {
+
+		private final String uri;
+		private final long start = System.nanoTime();
+		private volatile Thread thread;
+		private boolean listening;
+		private boolean reported;
+
+		public InFlightRequest(String uri) {
+			this.uri = uri;
+		}
+	}
+
+	/**
+	 * Removes an asynchronous request once completed.
+	 */
+	private class CompletionListener implements AsyncListener {
+
+		private final Request baseRequest;
+
+		public CompletionListener(Request baseRequest) {
+			this.baseRequest = baseRequest;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) throws IOException {
+			inFlightRequests.remove(baseRequest);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) throws IOException {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) throws IOException {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) throws IOException {
+			event.getAsyncContext().addListener(this);
+		}
+	}
+}
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.HandlerContainer;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.server.handler.HandlerCollection;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.util.ArrayUtil;
+import org.teknux.jettybootstrap.handler.util.HandlerCollectionUtil;
+
+
+/**
+ * {@link HandlerWrapper} routing the requests to the contexts declaring virtual hosts through a map keyed by host, so that the cost of the routing does not depend
+ * on the number of hosts. Requests not handled by the contexts of their host are passed to the wrapped handler.
+ * <p>
+ * The contexts of the host only take precedence over the contexts of the wrapped handler serving all the hosts when their context path is at least as specific
+ * as the one of the shared context matching the request: a root context declared for a host does not hide a shared <code>/api</code> context.
+ * <p>
+ * Host names and one level wildcards (<code>*.example.com</code>) are routed by host. Contexts declaring a connector restriction (<code>@connector</code>) are not:
+ * they must be added to the wrapped handler, which lets the context check its virtual hosts itself.
+ */
+public class VirtualHostRoutingHandler extends HandlerWrapper {
+
+	private static final String WILDCARD_PREFIX = "*.";
+	private static final char CONNECTOR_SEPARATOR = '@';
+
+	private final HandlerCollection virtualHostHandlers = new HandlerCollection(true);
+	private final Map<String, Handler[]> handlersByHost = new ConcurrentHashMap<>();
+	private volatile SharedContextPaths sharedContextPaths;
+
+	/**
+	 * @param handler
+	 *            Handler of the requests not handled by the contexts of their host
+	 */
+	public VirtualHostRoutingHandler(Handler handler) {
+		addBean(virtualHostHandlers);
+		setHandler(handler);
+	}
+
+	/**
+	 * Routes the requests of the virtual hosts of the context contained in the given handler to this handler.
+	 * 
+	 * @param handler
+	 *            Handler containing a {@link ContextHandler}
+	 * @return <code>false</code> if the handler was not added because its context declares no virtual host or virtual hosts which can not be routed by host
+	 */
+	public synchronized boolean addHandler(Handler handler) {
+		String[] virtualHosts = getVirtualHosts(handler);
+		if (virtualHosts == null || virtualHosts.length == 0) {
+			return false;
+		}
+		for (String virtualHost : virtualHosts) {
+			if (virtualHost.indexOf(CONNECTOR_SEPARATOR) >= 0) {
+				return false;
+			}
+		}
+
+		HandlerCollectionUtil.addHandler(virtualHostHandlers, handler);
+
+		for (String virtualHost : virtualHosts) {
+			String host = normalizeHost(virtualHost);
+			Handler[] handlers = ArrayUtil.addToArray(handlersByHost.get(host), handler, Handler.class);
+			// Most specific context path first, as the root context matches all the requests
+			Arrays.sort(handlers, (h1, h2) -> Integer.compare(getContextHandler(h2).getContextPath().length(), getContextHandler(h1).getContextPath().length()));
+			handlersByHost.put(host, handlers);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Replaces a handler added to this handler, routing the requests of its virtual hosts to the new handler. The replaced handler is not stopped.
+	 * 
+	 * @param oldHandler
+	 *            replaced Handler
+	 * @param newHandler
+	 *            new Handler, containing a context with the same context path and virtual hosts
+	 * @return <code>false</code> if the replaced handler was not added to this handler
+	 */
+	public synchronized boolean replaceHandler(Handler oldHandler, Handler newHandler) {
+		if (!HandlerCollectionUtil.replaceHandler(virtualHostHandlers, oldHandler, newHandler)) {
+			return false;
+		}
+
+		handlersByHost.replaceAll((host, handlers) -> {
+			Handler[] newHandlers = handlers.clone();
+			for (int i = 0; i < newHandlers.length; i++) {
+				if (newHandlers[i] == oldHandler) {
+					newHandlers[i] = newHandler;
+				}
+			}
+
+			return newHandlers;
+		});
+
+		return true;
+	}
+
+	/**
+	 * Removes a handler added to this handler, without stopping it.
+	 * 
+	 * @param handler
+	 *            removed Handler
+	 * @return <code>false</code> if the handler was not added to this handler
+	 */
+	public synchronized boolean removeHandler(Handler handler) {
+		if (!HandlerCollectionUtil.removeHandler(virtualHostHandlers, handler)) {
+			return false;
+		}
+
+		for (String host : handlersByHost.keySet()) {
+			Handler[] handlers = ArrayUtil.removeFromArray(handlersByHost.get(host), handler);
+			if (handlers == null || handlers.length == 0) {
+				handlersByHost.remove(host);
+			} else {
+				handlersByHost.put(host, handlers);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return the routed hosts
+	 */
+	public Set<String> getHosts() {
+		return Collections.unmodifiableSet(handlersByHost.keySet());
+	}
+
+	@Override
+	public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+		Handler[] handlers = getHandlers(baseRequest.getServerName());
+		if (handlers == null) {
+			super.handle(target, baseRequest, request, response);
+			return;
+		}
+
+		// Host contexts at least as specific as the best shared context first, then the shared contexts, then the less specific host contexts
+		int sharedContextPathLength = getSharedContextPathLength(target);
+		int i = 0;
+		for (; i < handlers.length && getContextHandler(handlers[i]).getContextPath().length() >= sharedContextPathLength; i++) {
+			handlers[i].handle(target, baseRequest, request, response);
+			if (baseRequest.isHandled()) {
+				return;
+			}
+		}
+
+		super.handle(target, baseRequest, request, response);
+
+		for (; i < handlers.length && !baseRequest.isHandled(); i++) {
+			handlers[i].handle(target, baseRequest, request, response);
+		}
+	}
+
+	@Override
+	public Handler[] getHandlers() {
+		Handler[] handlers = virtualHostHandlers.getHandlers();
+		if (getHandler() == null) {
+			return handlers;
+		}
+
+		return ArrayUtil.addToArray(handlers, getHandler(), Handler.class);
+	}
+
+	@Override
+	protected void expandChildren(List<Handler> list, Class<?> byClass) {
+		super.expandChildren(list, byClass);
+
+		expandHandler(virtualHostHandlers, list, byClass);
+	}
+
+	private Handler[] getHandlers(String serverName) {
+		if (serverName == null || handlersByHost.isEmpty()) {
+			return null;
+		}
+
+		String host = normalizeHost(serverName);
+		Handler[] handlers = handlersByHost.get(host);
+		if (handlers == null) {
+			int dot = host.indexOf('.');
+			if (dot >= 0) {
+				handlers = handlersByHost.get(WILDCARD_PREFIX + host.substring(dot + 1));
+			}
+		}
+
+		return handlers;
+	}
+
+	/**
+	 * @return length of the context path of the most specific context of the wrapped handler serving all the hosts and matching the target, <code>-1</code> if
+	 *         none matches
+	 */
+	private int getSharedContextPathLength(String target) {
+		Set<String> contextPaths = getSharedContextPaths();
+		if (contextPaths.isEmpty() || !target.startsWith("/")) {
+			return -1;
+		}
+
+		// Lookup of each parent path of the target, from the most specific
+		String path = target;
+		while (!contextPaths.contains(path)) {
+			int slash = path.lastIndexOf('/');
+			if (slash < 0 || path.length() == 1) {
+				return -1;
+			}
+			path = slash == 0 ? "/" : path.substring(0, slash);
+		}
+
+		return path.length();
+	}
+
+	private Set<String> getSharedContextPaths() {
+		Handler handler = getHandler();
+		Handler[] handlers = handler instanceof HandlerCollection ? ((HandlerCollection) handler).getHandlers() : null;
+
+		// The handlers array of a HandlerCollection is replaced on each update
+		SharedContextPaths sharedContextPaths = this.sharedContextPaths;
+		if (sharedContextPaths == null || sharedContextPaths.handler != handler || sharedContextPaths.handlers != handlers) {
+			sharedContextPaths = new SharedContextPaths(handler, handlers);
+			this.sharedContextPaths = sharedContextPaths;
+		}
+
+		return sharedContextPaths.contextPaths;
+	}
+
+	private static String normalizeHost(String host) {
+		String normalizedHost = host.toLowerCase(Locale.ENGLISH);
+		if (normalizedHost.endsWith(".")) {
+			normalizedHost = normalizedHost.substring(0, normalizedHost.length() - 1);
+		}
+
+		return normalizedHost;
+	}
+
+	private static String[] getVirtualHosts(Handler handler) {
+		ContextHandler contextHandler = getContextHandler(handler);
+
+		return contextHandler == null ? null : contextHandler.getVirtualHosts();
+	}
+
+	private static ContextHandler getContextHandler(Handler handler) {
+		if (handler instanceof ContextHandler) {
+			return (ContextHandler) handler;
+		}
+		if (handler instanceof HandlerContainer) {
+			return ((HandlerContainer) handler).getChildHandlerByClass(ContextHandler.class);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Context paths of the contexts of the wrapped handler serving all the hosts, computed for a version of its handlers.
+	 */
+	private static class SharedContextPaths {
+
+		private final Handler handler;
+		private final Handler[] handlers;
+		private final Set<String> contextPaths = new HashSet<>();
+
+		private SharedContextPaths(Handler handler, Handler[] handlers) {
+			this.handler = handler;
+			this.handlers = handlers;
+
+			for (Handler child : handlers == null ? new Handler[] { handler } : handlers) {
+				ContextHandler contextHandler = child == null ? null : getContextHandler(child);
+				if (contextHandler != null && (contextHandler.getVirtualHosts() == null || contextHandler.getVirtualHosts().length == 0)) {
+					contextPaths.add(contextHandler.getContextPath());
+				}
+			}
+		}
+	}
+}
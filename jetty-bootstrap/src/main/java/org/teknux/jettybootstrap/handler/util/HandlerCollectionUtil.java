@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler.util;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.handler.HandlerCollection;
+
+public class HandlerCollectionUtil {
+    /**
+     * Add a handler to a collection. Jetty leaves the handlers added to a started collection unmanaged: they are managed here, so that they are stopped with the
+     * collection.
+     * 
+     * @param collection
+     *            HandlerCollection
+     * @param handler
+     *            added Handler
+     */
+    public static void addHandler(HandlerCollection collection, Handler handler) {
+        collection.addHandler(handler);
+
+        if (collection.isStarted()) {
+            collection.manage(handler);
+        }
+    }
+
+    /**
+     * Replace a handler of a collection in a single update of its handlers. The replaced handler is neither stopped nor destroyed, the new handler is managed like an
+     * added handler.
+     * 
+     * @param collection
+     *            HandlerCollection
+     * @param oldHandler
+     *            replaced Handler
+     * @param newHandler
+     *            new Handler
+     * @return <code>false</code> if the collection does not contain the replaced handler
+     */
+    public static boolean replaceHandler(HandlerCollection collection, Handler oldHandler, Handler newHandler) {
+        Handler[] handlers = collection.getHandlers();
+        if (handlers == null) {
+            return false;
+        }
+
+        for (int i = 0; i < handlers.length; i++) {
+            if (handlers[i] == oldHandler) {
+                Handler[] newHandlers = handlers.clone();
+                newHandlers[i] = newHandler;
+
+                // removing a managed handler from a started collection stops it
+                collection.unmanage(oldHandler);
+                collection.setHandlers(newHandlers);
+                if (collection.isStarted()) {
+                    collection.manage(newHandler);
+                }
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove a handler from a collection without stopping it.
+     * 
+     * @param collection
+     *            HandlerCollection
+     * @param handler
+     *            removed Handler
+     * @return <code>false</code> if the collection does not contain the handler
+     */
+    public static boolean removeHandler(HandlerCollection collection, Handler handler) {
+        if (!collection.contains(handler)) {
+            return false;
+        }
+
+        // removing a managed handler from a started collection stops it
+        collection.unmanage(handler);
+        collection.removeHandler(handler);
+
+        return true;
+    }
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.handler.util;
+
+import org.eclipse.jetty.util.resource.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes gzip compressed siblings ({@value #GZIP_EXTENSION}) of the static resources of an application into a separate directory, so they can be served by the
+ * DefaultServlet without compressing them on each request.
+ */
+public class PrecompressedResourceUtil {
+    private final static Logger LOG = LoggerFactory.getLogger(PrecompressedResourceUtil.class);
+
+    public static final String GZIP_EXTENSION = ".gz";
+
+    /**
+     * DefaultServlet init parameter enabling precompressed resources lookup
+     */
+    public static final String DEFAULT_SERVLET_PRECOMPRESSED_INIT_PARAMETER = "org.eclipse.jetty.servlet.Default.precompressed";
+    public static final String DEFAULT_SERVLET_PRECOMPRESSED_GZIP = "gzip=" + GZIP_EXTENSION;
+
+    private static final String WEB_INF = "WEB-INF/";
+    private static final String META_INF = "META-INF/";
+    private static final String TMP_EXTENSION = ".tmp";
+
+    private PrecompressedResourceUtil() {
+    }
+
+    /**
+     * Compress the resources of the base resource matching the extensions. Resources already compressed since their last modification are skipped, as well as those
+     * which don't get smaller once compressed. Files of the target directory whose resource was deleted or is no longer compressed are deleted, so they can't be
+     * served anymore.
+     * 
+     * @param baseResource
+     *            Base resource of the application
+     * @param targetDirectory
+     *            Directory receiving the compressed resources, keeping the same tree as the base resource
+     * @param minSize
+     *            Minimum size (in bytes) of the resources to compress
+     * @param extensions
+     *            Extensions (without dot) of the resources to compress
+     * @return number of resources compressed
+     * @throws IOException
+     *             if a resource can not be read or written
+     */
+    public static int precompress(Resource baseResource, File targetDirectory, int minSize, Collection<String> extensions) throws IOException {
+        if (!targetDirectory.exists() && !targetDirectory.mkdirs()) {
+            throw new IOException("Can't create precompressed resources directory " + targetDirectory);
+        }
+
+        Set<File> targetFiles = new HashSet<>();
+        int count = precompressDirectory(baseResource, targetDirectory, minSize, extensions, true, targetFiles);
+        deleteStaleFiles(targetDirectory, targetFiles);
+
+        return count;
+    }
+
+    private static int precompressDirectory(Resource directory, File targetDirectory, int minSize, Collection<String> extensions, boolean root, Set<File> targetFiles)
+            throws IOException {
+        String[] names = directory.list();
+        if (names == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (String name : names) {
+            if (root && (WEB_INF.equalsIgnoreCase(name) || META_INF.equalsIgnoreCase(name))) {
+                continue;
+            }
+
+            Resource resource = directory.addPath(name);
+            if (name.endsWith("/")) {
+                count += precompressDirectory(resource, new File(targetDirectory, name), minSize, extensions, false, targetFiles);
+            } else if (resource.length() >= minSize && extensions.contains(getExtension(name))) {
+                File targetFile = new File(targetDirectory, name + GZIP_EXTENSION);
+                targetFiles.add(targetFile);
+                if (precompressFile(resource, targetFile)) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private static boolean precompressFile(Resource resource, File targetFile) throws IOException {
+        // Jetty only serves compressed resources not older than the original one
+        if (targetFile.exists() && targetFile.lastModified() >= resource.lastModified()) {
+            return false;
+        }
+
+        File targetDirectory = targetFile.getParentFile();
+        if (!targetDirectory.exists() && !targetDirectory.mkdirs()) {
+            throw new IOException("Can't create precompressed resources directory " + targetDirectory);
+        }
+
+        // Written aside then moved, so a partially written file is never served
+        File tmpFile = new File(targetDirectory, targetFile.getName() + TMP_EXTENSION);
+        try (InputStream inputStream = resource.getInputStream(); OutputStream outputStream = new BestCompressionGZIPOutputStream(new FileOutputStream(tmpFile))) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+        }
+
+        if (tmpFile.length() >= resource.length()) {
+            LOG.trace("Resource [{}] not precompressed : compressed size is not smaller", resource);
+            Files.delete(tmpFile.toPath());
+            Files.deleteIfExists(targetFile.toPath());
+            return false;
+        }
+
+        Files.move(tmpFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        LOG.trace("Resource [{}] precompressed", resource);
+        return true;
+    }
+
+    /**
+     * Deletes the files of the directory which are not target files of the current resources, then the directories left empty.
+     * 
+     * @return <code>true</code> if the directory is empty
+     */
+    private static boolean deleteStaleFiles(File directory, Set<File> targetFiles) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return false;
+        }
+
+        boolean empty = true;
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (deleteStaleFiles(file, targetFiles)) {
+                    Files.delete(file.toPath());
+                } else {
+                    empty = false;
+                }
+            } else if (targetFiles.contains(file)) {
+                empty = false;
+            } else {
+                LOG.trace("Stale precompressed resource [{}] deleted", file);
+                Files.delete(file.toPath());
+            }
+        }
+
+        return empty;
+    }
+
+    private static String getExtension(String name) {
+        int index = name.lastIndexOf('.');
+
+        return index < 0 ? "" : name.substring(index + 1).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static class BestCompressionGZIPOutputStream extends GZIPOutputStream {
+
+        public BestCompressionGZIPOutputStream(OutputStream outputStream) throws IOException {
+            super(outputStream);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
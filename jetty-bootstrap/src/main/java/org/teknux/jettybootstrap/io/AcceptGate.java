@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.io;
+
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.util.annotation.ManagedAttribute;
+import org.eclipse.jetty.util.annotation.ManagedObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Single accept decision of a connector: every limit applying to the connector (connection limits, low resources, drain) pauses and resumes it through its
+ * gate, which only lets the connector accept again once none of them holds it paused.
+ * <p>
+ * Limits must not call {@link AbstractConnector#setAccepting(boolean)} directly, or a limit going back below its max would resume a connector still held by
+ * another one.
+ */
+@ManagedObject("Accept gate")
+public class AcceptGate {
+
+    private final AbstractConnector connector;
+    private final Set<Object> holders = new LinkedHashSet<>();
+
+    private AcceptGate(AbstractConnector connector) {
+        this.connector = connector;
+    }
+
+    /**
+     * Gets the gate of the connector, created and added as a bean of the connector on first use.
+     * 
+     * @param connector
+     *            Connector
+     * @return AcceptGate
+     */
+    public static AcceptGate of(AbstractConnector connector) {
+        synchronized (AcceptGate.class) {
+            AcceptGate acceptGate = connector.getBean(AcceptGate.class);
+            if (acceptGate == null) {
+                acceptGate = new AcceptGate(connector);
+                connector.addBean(acceptGate);
+            }
+            return acceptGate;
+        }
+    }
+
+    /**
+     * Stops accepting until the holder resumes, whatever the other holders do.
+     * 
+     * @param holder
+     *            Limit pausing the connector
+     */
+    public synchronized void pause(Object holder) {
+        if (holders.add(holder) && holders.size() == 1) {
+            connector.setAccepting(false);
+        }
+    }
+
+    /**
+     * Releases the pause of the holder: the connector accepts again if no other holder keeps it paused. Does nothing if the holder did not pause it.
+     * 
+     * @param holder
+     *            Limit resuming the connector
+     */
+    public synchronized void resume(Object holder) {
+        if (holders.remove(holder) && holders.isEmpty()) {
+            connector.setAccepting(true);
+        }
+    }
+
+    /**
+     * @return <code>true</code> if at least one holder keeps the connector paused
+     */
+    @ManagedAttribute("Whether or not the connector is paused")
+    public synchronized boolean isPaused() {
+        return !holders.isEmpty();
+    }
+
+    /**
+     * @return Holders keeping the connector paused
+     */
+    @ManagedAttribute("Limits keeping the connector paused")
+    public List<String> getHolders() {
+        List<Object> pausingHolders;
+        synchronized (this) {
+            pausingHolders = new ArrayList<>(holders);
+        }
+
+        // Formatted outside the lock, the holders taking their own lock in toString()
+        List<String> names = new ArrayList<>();
+        for (Object holder : pausingHolders) {
+            names.add(String.valueOf(holder));
+        }
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s@%x{%s}", getClass().getSimpleName(), hashCode(), getHolders());
+    }
+}
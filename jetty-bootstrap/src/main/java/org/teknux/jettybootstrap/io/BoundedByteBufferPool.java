@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.io;
+
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.annotation.ManagedAttribute;
+import org.eclipse.jetty.util.annotation.ManagedObject;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * {@link ByteBufferPool} shared by all the connectors of a server, bounding the memory retained by idle buffers.
+ * <p>
+ * Buffers are pooled in buckets whose capacities are multiples of the factor, up to the max capacity. Released buffers are dropped (and left to the garbage collector)
+ * when retaining them would exceed the max heap or direct memory. Buffers bigger than the max capacity are never pooled.
+ */
+@ManagedObject("Bounded ByteBufferPool")
+public class BoundedByteBufferPool implements ByteBufferPool {
+
+    private final int factor;
+    private final int maxCapacity;
+    private final long maxHeapMemory;
+    private final long maxDirectMemory;
+    private final boolean directBuffers;
+
+    private final Queue<ByteBuffer>[] heapBuckets;
+    private final Queue<ByteBuffer>[] directBuckets;
+    private final AtomicLong heapMemory = new AtomicLong();
+    private final AtomicLong directMemory = new AtomicLong();
+
+    /**
+     * @param factor
+     *            Capacity (in bytes) increment between two buckets
+     * @param maxCapacity
+     *            Capacity (in bytes) of the biggest pooled buffer, rounded down to a multiple of the factor
+     * @param maxHeapMemory
+     *            Max memory (in bytes) retained by idle heap buffers. A value lower than 1 means unbounded
+     * @param maxDirectMemory
+     *            Max memory (in bytes) retained by idle direct buffers. A value lower than 1 means unbounded
+     * @param directBuffers
+     *            <code>false</code> to serve heap buffers even when direct buffers are requested (direct buffers released to the pool are then dropped)
+     */
+    public BoundedByteBufferPool(int factor, int maxCapacity, long maxHeapMemory, long maxDirectMemory, boolean directBuffers) {
+        if (factor <= 0) {
+            throw new IllegalArgumentException("Factor must be positive");
+        }
+        if (maxCapacity < factor) {
+            throw new IllegalArgumentException("Max capacity must be greater than or equal to factor");
+        }
+
+        this.factor = factor;
+        this.maxCapacity = (maxCapacity / factor) * factor;
+        this.maxHeapMemory = maxHeapMemory;
+        this.maxDirectMemory = maxDirectMemory;
+        this.directBuffers = directBuffers;
+
+        heapBuckets = newBuckets(this.maxCapacity / factor);
+        directBuckets = newBuckets(this.maxCapacity / factor);
+    }
+
+    @Override
+    public ByteBuffer acquire(int size, boolean direct) {
+        boolean useDirect = direct && directBuffers;
+
+        int index = bucketIndex(size);
+        if (index < 0) {
+            return newByteBuffer(size, useDirect);
+        }
+
+        ByteBuffer buffer = (useDirect ? directBuckets : heapBuckets)[index].poll();
+        if (buffer == null) {
+            return newByteBuffer((index + 1) * factor, useDirect);
+        }
+
+        memory(buffer.isDirect()).addAndGet(-buffer.capacity());
+
+        return buffer;
+    }
+
+    @Override
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() % factor != 0) {
+            return;
+        }
+
+        int index = bucketIndex(buffer.capacity());
+        if (index < 0) {
+            return;
+        }
+
+        boolean direct = buffer.isDirect();
+        if (direct && !directBuffers) {
+            // direct buckets are never polled when direct buffers are disabled, drop buffers allocated outside of the pool
+            return;
+        }
+
+        long maxMemory = direct ? maxDirectMemory : maxHeapMemory;
+        AtomicLong memory = memory(direct);
+        if (memory.addAndGet(buffer.capacity()) > maxMemory && maxMemory > 0) {
+            memory.addAndGet(-buffer.capacity());
+            return;
+        }
+
+        BufferUtil.clear(buffer);
+        (direct ? directBuckets : heapBuckets)[index].offer(buffer);
+    }
+
+    /**
+     * Drops all the idle buffers.
+     */
+    public void clear() {
+        clear(heapBuckets, heapMemory);
+        clear(directBuckets, directMemory);
+    }
+
+    /**
+     * @return Memory (in bytes) retained by idle heap buffers
+     */
+    @ManagedAttribute("Memory retained by idle heap buffers")
+    public long getHeapMemory() {
+        return heapMemory.get();
+    }
+
+    /**
+     * @return Memory (in bytes) retained by idle direct buffers
+     */
+    @ManagedAttribute("Memory retained by idle direct buffers")
+    public long getDirectMemory() {
+        return directMemory.get();
+    }
+
+    /**
+     * @return Max memory (in bytes) retained by idle heap buffers
+     */
+    @ManagedAttribute("Max memory retained by idle heap buffers")
+    public long getMaxHeapMemory() {
+        return maxHeapMemory;
+    }
+
+    /**
+     * @return Max memory (in bytes) retained by idle direct buffers
+     */
+    @ManagedAttribute("Max memory retained by idle direct buffers")
+    public long getMaxDirectMemory() {
+        return maxDirectMemory;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s@%x{factor=%d,maxCapacity=%d,heap=%d/%d,direct=%d/%d}", getClass().getSimpleName(), hashCode(), factor, maxCapacity, getHeapMemory(),
+                maxHeapMemory, getDirectMemory(), maxDirectMemory);
+    }
+
+    /**
+     * @return index of the bucket holding buffers of the given size, or -1 if such buffers are not pooled
+     */
+    private int bucketIndex(int size) {
+        if (size > maxCapacity) {
+            return -1;
+        }
+
+        return size <= 0 ? 0 : (size - 1) / factor;
+    }
+
+    private AtomicLong memory(boolean direct) {
+        return direct ? directMemory : heapMemory;
+    }
+
+    private static void clear(Queue<ByteBuffer>[] buckets, AtomicLong memory) {
+        for (Queue<ByteBuffer> bucket : buckets) {
+            ByteBuffer buffer;
+            while ((buffer = bucket.poll()) != null) {
+                memory.addAndGet(-buffer.capacity());
+            }
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Queue<ByteBuffer>[] newBuckets(int bucketCount) {
+        Queue<ByteBuffer>[] buckets = new Queue[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        return buckets;
+    }
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.io;
+
+import org.eclipse.jetty.io.Connection;
+import org.eclipse.jetty.io.EndPoint;
+import org.eclipse.jetty.io.ssl.SslConnection;
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.util.annotation.ManagedAttribute;
+import org.eclipse.jetty.util.annotation.ManagedObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * {@link Connection.Listener} limiting the number of connections of one or several connectors: when the limit is reached, the connectors stop accepting until a
+ * connection is closed. Pending connections wait in the accept queue of the OS rather than being allocated an end point.
+ * <p>
+ * The connectors are paused through their {@link AcceptGate}, so a connector limited both on its own and server-wide only resumes once both limits are below
+ * their max.
+ * <p>
+ * Unlike Jetty's <code>ConnectionLimit</code>, sockets are counted once, whatever the number of connections stacked on them (TLS, protocol upgrade).
+ */
+@ManagedObject("Connection limit")
+public class ConnectionLimiter implements Connection.Listener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectionLimiter.class);
+
+    private final String name;
+    private final int maxConnections;
+    private final List<AbstractConnector> connectors = new ArrayList<>();
+    private final Set<EndPoint> endPoints = new HashSet<>();
+    private boolean accepting = true;
+
+    /**
+     * @param name
+     *            Name of the limit, for the logs
+     * @param maxConnections
+     *            Max number of connections
+     */
+    public ConnectionLimiter(String name, int maxConnections) {
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("Max connections must be positive");
+        }
+
+        this.name = name;
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Limits the connections of the given connector, in addition to the ones of the connectors already added.
+     * 
+     * @param connector
+     *            Connector
+     */
+    public synchronized void addConnector(AbstractConnector connector) {
+        connectors.add(connector);
+        connector.addBean(this);
+    }
+
+    @Override
+    public void onOpened(Connection connection) {
+        EndPoint endPoint = connection.getEndPoint();
+        if (endPoint instanceof SslConnection.DecryptedEndPoint) {
+            return;
+        }
+
+        synchronized (this) {
+            if (endPoints.add(endPoint) && endPoints.size() >= maxConnections && accepting) {
+                LOG.info("Max connections [{}] reached for [{}], accepting paused", maxConnections, name);
+                setAccepting(false);
+            }
+        }
+    }
+
+    @Override
+    public void onClosed(Connection connection) {
+        EndPoint endPoint = connection.getEndPoint();
+        // The end point stays open when its connection is upgraded
+        if (endPoint instanceof SslConnection.DecryptedEndPoint || endPoint.isOpen()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (endPoints.remove(endPoint) && endPoints.size() < maxConnections && !accepting) {
+                LOG.info("Connections below max [{}] for [{}], accepting resumed", maxConnections, name);
+                setAccepting(true);
+            }
+        }
+    }
+
+    /**
+     * @return Name of the limit
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Max number of connections
+     */
+    @ManagedAttribute("Max number of connections")
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * @return Number of open connections
+     */
+    @ManagedAttribute("Number of open connections")
+    public synchronized int getConnections() {
+        return endPoints.size();
+    }
+
+    /**
+     * @return <code>false</code> if the connectors are paused because the limit is reached
+     */
+    @ManagedAttribute("Whether or not the connectors accept new connections")
+    public synchronized boolean isAccepting() {
+        return accepting;
+    }
+
+    private void setAccepting(boolean accepting) {
+        this.accepting = accepting;
+        for (AbstractConnector connector : connectors) {
+            if (accepting) {
+                AcceptGate.of(connector).resume(this);
+            } else {
+                AcceptGate.of(connector).pause(this);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s@%x{%s,%d/%d}", getClass().getSimpleName(), hashCode(), name, getConnections(), maxConnections);
+    }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.io;
+
+import org.eclipse.jetty.io.EndPoint;
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.LowResourceMonitor;
+import org.eclipse.jetty.server.Server;
+
+
+/**
+ * {@link LowResourceMonitor} pausing the connectors through their {@link AcceptGate}: leaving the low resources mode does not resume a connector still paused
+ * by a connection limit or by the drain.
+ */
+public class GatedLowResourceMonitor extends LowResourceMonitor {
+
+    /**
+     * @param server
+     *            the monitored server
+     */
+    public GatedLowResourceMonitor(Server server) {
+        super(server);
+    }
+
+    @Override
+    protected void setLowResources() {
+        for (Connector connector : getMonitoredOrServerConnectors()) {
+            if (!isAcceptingInLowResources() && connector instanceof AbstractConnector) {
+                AcceptGate.of((AbstractConnector) connector).pause(this);
+            }
+
+            for (EndPoint endPoint : connector.getConnectedEndPoints()) {
+                endPoint.setIdleTimeout(getLowResourcesIdleTimeout());
+            }
+        }
+    }
+
+    @Override
+    protected void clearLowResources() {
+        for (Connector connector : getMonitoredOrServerConnectors()) {
+            for (EndPoint endPoint : connector.getConnectedEndPoints()) {
+                endPoint.setIdleTimeout(connector.getIdleTimeout());
+            }
+
+            if (connector instanceof AbstractConnector) {
+                AcceptGate.of((AbstractConnector) connector).resume(this);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s@%x{low=%b}", getClass().getSimpleName(), hashCode(), isLowOnResources());
+    }
+}
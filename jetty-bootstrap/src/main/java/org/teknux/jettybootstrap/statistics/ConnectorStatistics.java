@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.statistics;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.SSLEngine;
+
+import org.eclipse.jetty.io.Connection;
+import org.eclipse.jetty.io.EndPoint;
+import org.eclipse.jetty.io.ssl.SslConnection;
+import org.eclipse.jetty.io.ssl.SslHandshakeListener;
+import org.eclipse.jetty.util.annotation.ManagedAttribute;
+import org.eclipse.jetty.util.annotation.ManagedObject;
+import org.eclipse.jetty.util.annotation.ManagedOperation;
+
+
+/**
+ * Connection statistics of a connector, added to it as bean.
+ * <p>
+ * A connection is counted once per accepted socket, whatever the protocols layered on it (TLS, PROXY protocol, upgrades). Bytes are the bytes read and written by
+ * the HTTP connections (decrypted ones for TLS) and messages are the requests and responses. Both are counted when the connections are closed. Durations are recorded in
+ * milliseconds and TLS handshake times, from the opening of the connection to the end of the handshake, in microseconds.
+ */
+@ManagedObject("Connector Statistics")
+public class ConnectorStatistics implements Connection.Listener, SslHandshakeListener {
+
+    private final String name;
+
+    private final Set<EndPoint> openEndPoints = ConcurrentHashMap.newKeySet();
+    private final Map<SSLEngine, Long> handshakeStarts = new ConcurrentHashMap<>();
+
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder connectionsClosed = new LongAdder();
+    private final AtomicLong connectionsMax = new AtomicLong();
+    private final LatencyHistogram connectionDurations = new LatencyHistogram();
+    private final LongAdder messagesIn = new LongAdder();
+    private final LongAdder messagesOut = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LatencyHistogram handshakeTimes = new LatencyHistogram();
+    private final LongAdder handshakeFailures = new LongAdder();
+
+    /**
+     * @param name
+     *            name of the connector
+     */
+    public ConnectorStatistics(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void onOpened(Connection connection) {
+        if (connection instanceof SslConnection) {
+            handshakeStarts.put(((SslConnection) connection).getSSLEngine(), System.nanoTime());
+        }
+
+        EndPoint endPoint = connection.getEndPoint();
+        if (!(endPoint instanceof SslConnection.DecryptedEndPoint) && openEndPoints.add(endPoint)) {
+            connectionsOpened.increment();
+
+            long connections = openEndPoints.size();
+            long max;
+            while (connections > (max = connectionsMax.get()) && !connectionsMax.compareAndSet(max, connections)) {
+                // retry
+            }
+        }
+    }
+
+    @Override
+    public void onClosed(Connection connection) {
+        if (connection instanceof SslConnection) {
+            handshakeStarts.remove(((SslConnection) connection).getSSLEngine());
+        }
+
+        if (connection.getMessagesIn() > 0) {
+            messagesIn.add(connection.getMessagesIn());
+        }
+        if (connection.getMessagesOut() > 0) {
+            messagesOut.add(connection.getMessagesOut());
+        }
+
+        if (connection.getBytesIn() > 0) {
+            bytesIn.add(connection.getBytesIn());
+        }
+        if (connection.getBytesOut() > 0) {
+            bytesOut.add(connection.getBytesOut());
+        }
+
+        EndPoint endPoint = connection.getEndPoint();
+        if (endPoint instanceof SslConnection.DecryptedEndPoint) {
+            return;
+        }
+
+        // The end point stays open when its connection is upgraded
+        if (!endPoint.isOpen() && openEndPoints.remove(endPoint)) {
+            connectionsClosed.increment();
+            connectionDurations.record(System.currentTimeMillis() - endPoint.getCreatedTimeStamp());
+        }
+    }
+
+    @Override
+    public void handshakeSucceeded(Event event) {
+        Long start = handshakeStarts.remove(event.getSSLEngine());
+        if (start != null) {
+            handshakeTimes.record((System.nanoTime() - start) / 1000);
+        }
+    }
+
+    @Override
+    public void handshakeFailed(Event event, Throwable failure) {
+        handshakeStarts.remove(event.getSSLEngine());
+        handshakeFailures.increment();
+    }
+
+    /**
+     * @return name of the connector
+     */
+    @ManagedAttribute("Name of the connector")
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of opened connections
+     */
+    @ManagedAttribute("Number of opened connections")
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    /**
+     * @return number of closed connections
+     */
+    @ManagedAttribute("Number of closed connections")
+    public long getConnectionsClosed() {
+        return connectionsClosed.sum();
+    }
+
+    /**
+     * @return number of open connections
+     */
+    @ManagedAttribute("Number of open connections")
+    public long getConnections() {
+        return openEndPoints.size();
+    }
+
+    /**
+     * @return max number of simultaneously open connections
+     */
+    @ManagedAttribute("Max number of simultaneously open connections")
+    public long getConnectionsMax() {
+        return connectionsMax.get();
+    }
+
+    /**
+     * @return histogram of the durations of the closed connections, in milliseconds
+     */
+    public LatencyHistogram getConnectionDurations() {
+        return connectionDurations;
+    }
+
+    /**
+     * @return mean duration of the closed connections, in milliseconds
+     */
+    @ManagedAttribute("Mean duration of the closed connections (ms)")
+    public double getConnectionDurationMean() {
+        return connectionDurations.getMean();
+    }
+
+    /**
+     * @return max duration of the closed connections, in milliseconds
+     */
+    @ManagedAttribute("Max duration of the closed connections (ms)")
+    public long getConnectionDurationMax() {
+        return connectionDurations.getMax();
+    }
+
+    /**
+     * @return number of requests received by the closed connections
+     */
+    @ManagedAttribute("Number of requests received by the closed connections")
+    public long getMessagesIn() {
+        return messagesIn.sum();
+    }
+
+    /**
+     * @return number of responses sent by the closed connections
+     */
+    @ManagedAttribute("Number of responses sent by the closed connections")
+    public long getMessagesOut() {
+        return messagesOut.sum();
+    }
+
+    /**
+     * @return bytes received by the closed connections
+     */
+    @ManagedAttribute("Bytes received by the closed connections")
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * @return bytes sent by the closed connections
+     */
+    @ManagedAttribute("Bytes sent by the closed connections")
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    /**
+     * @return histogram of the successful TLS handshake times, in microseconds
+     */
+    public LatencyHistogram getHandshakeTimes() {
+        return handshakeTimes;
+    }
+
+    /**
+     * @return mean time of the successful TLS handshakes, in microseconds
+     */
+    @ManagedAttribute("Mean time of the successful TLS handshakes (us)")
+    public double getHandshakeTimeMean() {
+        return handshakeTimes.getMean();
+    }
+
+    /**
+     * @return number of failed TLS handshakes
+     */
+    @ManagedAttribute("Number of failed TLS handshakes")
+    public long getHandshakeFailures() {
+        return handshakeFailures.sum();
+    }
+
+    /**
+     * Reset the counters. Open connections are kept.
+     */
+    @ManagedOperation(value = "Reset the statistics", impact = "ACTION")
+    public void reset() {
+        connectionsOpened.reset();
+        connectionsOpened.add(openEndPoints.size());
+        connectionsClosed.reset();
+        connectionsMax.set(openEndPoints.size());
+        connectionDurations.reset();
+        messagesIn.reset();
+        messagesOut.reset();
+        bytesIn.reset();
+        bytesOut.reset();
+        handshakeTimes.reset();
+        handshakeFailures.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{%s,connections=%d,opened=%d,closed=%d,max=%d,messagesIn=%d,messagesOut=%d,bytesIn=%d,bytesOut=%d,handshakes=%s,handshakeFailures=%d}",
+                getClass().getSimpleName(), name, getConnections(), getConnectionsOpened(), getConnectionsClosed(), getConnectionsMax(), getMessagesIn(),
+                getMessagesOut(), getBytesIn(), getBytesOut(), handshakeTimes, getHandshakeFailures());
+    }
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.statistics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Request counters and latency histogram of the server or of a context, updated without locks.
+ * <p>
+ * Latencies are recorded in microseconds, from the dispatch of the request to the completion of its response (asynchronous requests included).
+ */
+public class RequestStatistics {
+
+    private static final int STATUS_CLASSES = 6;
+
+    private final String name;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder activeRequests = new LongAdder();
+    private final AtomicLongArray responses = new AtomicLongArray(STATUS_CLASSES);
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * @param name
+     *            "server" or the context path
+     */
+    public RequestStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Called when a request is dispatched.
+     */
+    public void requestStarted() {
+        requests.increment();
+        activeRequests.increment();
+    }
+
+    /**
+     * Called when the response of a request is completed.
+     * 
+     * @param status
+     *            HTTP status of the response
+     * @param latencyNanos
+     *            time (in nanoseconds) elapsed since the dispatch of the request
+     */
+    public void requestCompleted(int status, long latencyNanos) {
+        activeRequests.decrement();
+        responses.incrementAndGet(status >= 100 && status < 600 ? status / 100 : 0);
+        latencies.record(latencyNanos / 1000);
+    }
+
+    /**
+     * @return "server" or the context path
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of requests dispatched
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * @return number of requests being handled
+     */
+    public long getActiveRequests() {
+        return activeRequests.sum();
+    }
+
+    /**
+     * @return number of 1xx responses
+     */
+    public long getResponses1xx() {
+        return responses.get(1);
+    }
+
+    /**
+     * @return number of 2xx responses
+     */
+    public long getResponses2xx() {
+        return responses.get(2);
+    }
+
+    /**
+     * @return number of 3xx responses
+     */
+    public long getResponses3xx() {
+        return responses.get(3);
+    }
+
+    /**
+     * @return number of 4xx responses
+     */
+    public long getResponses4xx() {
+        return responses.get(4);
+    }
+
+    /**
+     * @return number of 5xx responses
+     */
+    public long getResponses5xx() {
+        return responses.get(5);
+    }
+
+    /**
+     * @return histogram of the latencies, in microseconds
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return median latency, in microseconds
+     */
+    public long getLatencyP50() {
+        return latencies.getValueAtPercentile(50);
+    }
+
+    /**
+     * @return 99th percentile latency, in microseconds
+     */
+    public long getLatencyP99() {
+        return latencies.getValueAtPercentile(99);
+    }
+
+    /**
+     * @return 99.9th percentile latency, in microseconds
+     */
+    public long getLatencyP999() {
+        return latencies.getValueAtPercentile(99.9);
+    }
+
+    /**
+     * Reset the counters of the completed requests and the latencies. Active requests are kept.
+     */
+    public void reset() {
+        requests.reset();
+        requests.add(activeRequests.sum());
+        for (int i = 0; i < STATUS_CLASSES; i++) {
+            responses.set(i, 0);
+        }
+        latencies.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{%s,requests=%d,active=%d,1xx=%d,2xx=%d,3xx=%d,4xx=%d,5xx=%d,latencies=%s}", getClass().getSimpleName(), name, getRequests(),
+                getActiveRequests(), getResponses1xx(), getResponses2xx(), getResponses3xx(), getResponses4xx(), getResponses5xx(), latencies);
+    }
+}
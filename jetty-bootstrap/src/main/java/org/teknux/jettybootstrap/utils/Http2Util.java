@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.utils;
+
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http.HttpVersion;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.teknux.jettybootstrap.configuration.IJettyConfiguration;
+
+
+/**
+ * Utility class building the HTTP/2 connection factories.
+ * <p>
+ * HTTP/2 classes are optional dependencies (provided by the jetty-bootstrap-http2 module): check {@link OptionalDependencyUtil#isHttp2Supported()} before using this class.
+ */
+public class Http2Util {
+
+    private Http2Util() {
+    }
+
+    /**
+     * Creates the cleartext HTTP/2 (h2c) connection factory to add to a plain HTTP/1.1 connector.
+     * 
+     * @param httpConfiguration
+     *            HttpConfiguration of the connector
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return ConnectionFactory
+     */
+    public static ConnectionFactory createH2cConnectionFactory(HttpConfiguration httpConfiguration, IJettyConfiguration iJettyConfiguration) {
+        return configure(new HTTP2CServerConnectionFactory(httpConfiguration), iJettyConfiguration);
+    }
+
+    /**
+     * Creates the connection factories of a TLS connector negotiating HTTP/2 (h2) with ALPN and falling back to HTTP/1.1.
+     * 
+     * @param sslContextFactory
+     *            SslContextFactory of the connector
+     * @param httpConfiguration
+     *            HttpConfiguration of the connector
+     * @param iJettyConfiguration
+     *            Jetty Configuration
+     * @return ConnectionFactory array
+     * @throws IllegalStateException
+     *             if no ALPN provider is available for the running JVM
+     */
+    public static ConnectionFactory[] createH2ConnectionFactories(SslContextFactory sslContextFactory, HttpConfiguration httpConfiguration,
+            IJettyConfiguration iJettyConfiguration) {
+        HttpConnectionFactory httpConnectionFactory = new HttpConnectionFactory(httpConfiguration);
+        HTTP2ServerConnectionFactory http2ConnectionFactory = configure(new HTTP2ServerConnectionFactory(httpConfiguration), iJettyConfiguration);
+
+        ALPNServerConnectionFactory alpnConnectionFactory = new ALPNServerConnectionFactory(http2ConnectionFactory.getProtocol(), httpConnectionFactory.getProtocol());
+        alpnConnectionFactory.setDefaultProtocol(HttpVersion.HTTP_1_1.asString());
+
+        // HTTP/2 blacklists most of the TLS 1.2 cipher suites, prefer the allowed ones
+        sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+        sslContextFactory.setUseCipherSuitesOrder(true);
+
+        SslConnectionFactory sslConnectionFactory = new SslConnectionFactory(sslContextFactory, alpnConnectionFactory.getProtocol());
+
+        return new ConnectionFactory[] { sslConnectionFactory, alpnConnectionFactory, http2ConnectionFactory, httpConnectionFactory };
+    }
+
+    private static <T extends AbstractHTTP2ServerConnectionFactory> T configure(T http2ConnectionFactory, IJettyConfiguration iJettyConfiguration) {
+        http2ConnectionFactory.setMaxConcurrentStreams(iJettyConfiguration.getHttp2MaxConcurrentStreams());
+        http2ConnectionFactory.setInitialSessionRecvWindow(iJettyConfiguration.getHttp2InitialSessionRecvWindow());
+        http2ConnectionFactory.setInitialStreamRecvWindow(iJettyConfiguration.getHttp2InitialStreamRecvWindow());
+        http2ConnectionFactory.setMaxDynamicTableSize(iJettyConfiguration.getHttp2HeaderTableSize());
+
+        return http2ConnectionFactory;
+    }
+}
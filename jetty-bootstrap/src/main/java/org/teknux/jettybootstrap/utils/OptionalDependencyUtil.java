@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.utils;
+
+import java.util.Arrays;
+
+
+/**
+ * Utility class checking that the optional dependencies of the connectors are available on the classpath.
+ * <p>
+ * Only class names are referenced here, so this class can be loaded whether the optional modules are present or not. Classes using the optional types (such as
+ * {@link Http2Util} or {@link UnixSocketUtil}) must only be loaded once the matching check succeeded.
+ */
+public class OptionalDependencyUtil {
+
+    private static final String HTTP2_SERVER_CONNECTION_FACTORY_CLASS = "org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory";
+    private static final String ALPN_SERVER_CONNECTION_FACTORY_CLASS = "org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory";
+    private static final String UNIX_SOCKET_CONNECTOR_CLASS = "org.eclipse.jetty.unixsocket.UnixSocketConnector";
+    private static final String UNIX_SERVER_SOCKET_CHANNEL_CLASS = "jnr.unixsocket.UnixServerSocketChannel";
+
+    private OptionalDependencyUtil() {
+    }
+
+    /**
+     * @return <code>true</code> if HTTP/2 classes (provided by the jetty-bootstrap-http2 module) are available on the classpath
+     */
+    public static boolean isHttp2Supported() {
+        return ClassUtil.classesExists(Arrays.asList(HTTP2_SERVER_CONNECTION_FACTORY_CLASS, ALPN_SERVER_CONNECTION_FACTORY_CLASS));
+    }
+
+    /**
+     * @return <code>true</code> if Unix domain socket classes (provided by the jetty-bootstrap-unixsocket module) are available on the classpath
+     */
+    public static boolean isUnixSocketSupported() {
+        return ClassUtil.classesExists(Arrays.asList(UNIX_SOCKET_CONNECTOR_CLASS, UNIX_SERVER_SOCKET_CHANNEL_CLASS));
+    }
+}
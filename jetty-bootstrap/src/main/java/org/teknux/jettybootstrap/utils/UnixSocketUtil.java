@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.utils;
+
+import org.eclipse.jetty.io.ByteBufferPool;
+import org.eclipse.jetty.server.ConnectionFactory;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.unixsocket.UnixSocketConnector;
+
+
+/**
+ * Utility class building the Unix domain socket connector.
+ * <p>
+ * Unix domain socket classes are optional dependencies (provided by the jetty-bootstrap-unixsocket module): check
+ * {@link OptionalDependencyUtil#isUnixSocketSupported()} before using this class.
+ */
+public class UnixSocketUtil {
+
+    private UnixSocketUtil() {
+    }
+
+    /**
+     * Creates a connector listening on a Unix domain socket.
+     * 
+     * @param server
+     *            Server
+     * @param byteBufferPool
+     *            ByteBufferPool
+     * @param unixSocketPath
+     *            Path of the socket file
+     * @param idleTimeout
+     *            Idle timeout (in ms)
+     * @param connectionFactories
+     *            ConnectionFactory array
+     * @return Connector
+     */
+    public static Connector createConnector(Server server, ByteBufferPool byteBufferPool, String unixSocketPath, long idleTimeout,
+            ConnectionFactory... connectionFactories) {
+        UnixSocketConnector unixSocketConnector = new UnixSocketConnector(server, null, null, byteBufferPool, -1, connectionFactories);
+        unixSocketConnector.setUnixSocket(unixSocketPath);
+        unixSocketConnector.setIdleTimeout(idleTimeout);
+
+        return unixSocketConnector;
+    }
+}
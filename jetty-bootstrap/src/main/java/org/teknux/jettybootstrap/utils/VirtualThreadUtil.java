@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Utility class to access virtual threads without requiring a Java 21 runtime at compile time.
+ */
+public class VirtualThreadUtil {
+
+    private static final String NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = "newVirtualThreadPerTaskExecutor";
+
+    private VirtualThreadUtil() {
+    }
+
+    /**
+     * @return <code>true</code> if the running JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        return getNewVirtualThreadPerTaskExecutorMethod() != null;
+    }
+
+    /**
+     * Creates an {@link ExecutorService} starting a new virtual thread for each task.
+     * 
+     * @return ExecutorService or <code>null</code> if the running JVM doesn't support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        Method method = getNewVirtualThreadPerTaskExecutorMethod();
+        if (method == null) {
+            return null;
+        }
+
+        try {
+            return (ExecutorService) method.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    private static Method getNewVirtualThreadPerTaskExecutorMethod() {
+        try {
+            return Executors.class.getMethod(NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.accesslog;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.MethodSorters;
+import org.teknux.jettybootstrap.accesslog.RolloverFileAccessLogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class RolloverFileAccessLogWriterTest {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void test01Batch() throws IOException {
+        File file = new File(temporaryFolder.getRoot(), "logs/request.log");
+
+        RolloverFileAccessLogWriter writer = new RolloverFileAccessLogWriter(file.getPath(), 31);
+        writer.write(Arrays.asList("first", "second"));
+        writer.write(Collections.singletonList("third"));
+        writer.close();
+
+        Assert.assertEquals(file, writer.getFile(LocalDate.now()));
+        Assert.assertEquals("first" + LINE_SEPARATOR + "second" + LINE_SEPARATOR + "third" + LINE_SEPARATOR, read(file));
+
+        // appends to the existing file
+        writer = new RolloverFileAccessLogWriter(file.getPath(), 31);
+        writer.write(Collections.singletonList("fourth"));
+        writer.close();
+
+        Assert.assertTrue(read(file).endsWith("third" + LINE_SEPARATOR + "fourth" + LINE_SEPARATOR));
+    }
+
+    @Test
+    public void test02Rollover() throws IOException {
+        File folder = temporaryFolder.getRoot();
+        File oldFile = new File(folder, "2014_01_01.request.log");
+        File otherFile = new File(folder, "2014_01_01.other.log");
+        FileUtils.touch(oldFile);
+        FileUtils.touch(otherFile);
+
+        MutableClock clock = new MutableClock(LocalDate.of(2014, 3, 1));
+        RolloverFileAccessLogWriter writer = new RolloverFileAccessLogWriter(new File(folder, RolloverFileAccessLogWriter.DATE_TOKEN + ".request.log").getPath(), 31,
+                clock);
+
+        writer.write(Collections.singletonList("day1"));
+        clock.setDate(LocalDate.of(2014, 3, 2));
+        writer.write(Collections.singletonList("day2"));
+        writer.close();
+
+        Assert.assertEquals("day1" + LINE_SEPARATOR, read(new File(folder, "2014_03_01.request.log")));
+        Assert.assertEquals("day2" + LINE_SEPARATOR, read(new File(folder, "2014_03_02.request.log")));
+
+        // older than the retain days
+        Assert.assertFalse(oldFile.exists());
+        Assert.assertTrue(otherFile.exists());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test03NoFilename() {
+        new RolloverFileAccessLogWriter("", 31);
+    }
+
+    private static String read(File file) throws IOException {
+        return FileUtils.readFileToString(file, StandardCharsets.UTF_8.name());
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        public MutableClock(LocalDate date) {
+            setDate(date);
+        }
+
+        public void setDate(LocalDate date) {
+            instant = date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
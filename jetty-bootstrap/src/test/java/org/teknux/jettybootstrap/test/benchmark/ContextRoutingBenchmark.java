@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.server.handler.ContextHandler;
+import org.eclipse.jetty.server.handler.HandlerList;
+import org.teknux.jettybootstrap.JettyBootstrap;
+import org.teknux.jettybootstrap.configuration.JettyConfiguration;
+
+
+/**
+ * Compares the dispatch cost of a {@link HandlerList} walking the contexts in order with the context routing of {@link JettyBootstrap}, for 1, 10 and 100 contexts.
+ * <p>
+ * Requests target the last added context (the worst case of the {@link HandlerList}). They are pipelined by batches on a {@link LocalConnector}, so that neither the
+ * network nor the connection setup hide the dispatch cost. Not run by the tests: launch the main method from the test classpath.
+ */
+public class ContextRoutingBenchmark {
+
+	private static final int[] CONTEXT_COUNTS = { 1, 10, 100 };
+	private static final int BATCH_SIZE = 100;
+	private static final int WARMUP_BATCHES = 500;
+	private static final int BATCHES = 2000;
+
+	public static void main(String[] args) throws Exception {
+		System.out.println(String.format("%-10s %20s %20s", "contexts", "HandlerList", "JettyBootstrap"));
+		for (int contextCount : CONTEXT_COUNTS) {
+			long handlerListNanos = run(contextCount, false);
+			long jettyBootstrapNanos = run(contextCount, true);
+
+			System.out.println(String.format("%-10d %15d ns/op %15d ns/op", contextCount, handlerListNanos, jettyBootstrapNanos));
+		}
+	}
+
+	private static long run(int contextCount, boolean routed) throws Exception {
+		Server server;
+		JettyBootstrap jettyBootstrap = null;
+		if (routed) {
+			JettyConfiguration jettyConfiguration = new JettyConfiguration();
+			jettyConfiguration.setStopAtShutdown(false);
+			jettyConfiguration.setAutoJoinOnStart(false);
+			jettyConfiguration.setTempDirectory(Files.createTempDirectory("benchmark").toFile());
+			jettyConfiguration.setCleanTempDir(true);
+			jettyConfiguration.setHost("127.0.0.1");
+			jettyConfiguration.setPort(0);
+
+			jettyBootstrap = new JettyBootstrap(jettyConfiguration);
+			for (int i = 0; i < contextCount; i++) {
+				jettyBootstrap.addHandler(createContext(i));
+			}
+			server = jettyBootstrap.getServer();
+		} else {
+			HandlerList handlerList = new HandlerList();
+			for (int i = 0; i < contextCount; i++) {
+				handlerList.addHandler(createContext(i));
+			}
+			server = new Server();
+			server.setHandler(handlerList);
+		}
+
+		LocalConnector localConnector = new LocalConnector(server);
+		server.addConnector(localConnector);
+
+		if (jettyBootstrap != null) {
+			jettyBootstrap.startServer();
+		} else {
+			server.start();
+		}
+
+		try {
+			String requests = createRequests("/context" + (contextCount - 1) + "/");
+			for (int i = 0; i < WARMUP_BATCHES; i++) {
+				localConnector.getResponses(requests);
+			}
+
+			long start = System.nanoTime();
+			for (int i = 0; i < BATCHES; i++) {
+				localConnector.getResponses(requests);
+			}
+
+			return (System.nanoTime() - start) / (BATCHES * BATCH_SIZE);
+		} finally {
+			if (jettyBootstrap != null) {
+				jettyBootstrap.stopServer();
+			} else {
+				server.stop();
+			}
+		}
+	}
+
+	private static String createRequests(String uri) {
+		StringBuilder requests = new StringBuilder();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			requests.append("GET ").append(uri).append(" HTTP/1.1\r\nHost: localhost\r\n");
+			if (i == BATCH_SIZE - 1) {
+				requests.append("Connection: close\r\n");
+			}
+			requests.append("\r\n");
+		}
+
+		return requests.toString();
+	}
+
+	private static Handler createContext(int index) {
+		ContextHandler context = new ContextHandler("/context" + index);
+		context.setHandler(new AbstractHandler() {
+
+			@Override
+			public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+				baseRequest.setHandled(true);
+				response.getWriter().print("ok");
+			}
+		});
+
+		return context;
+	}
+}
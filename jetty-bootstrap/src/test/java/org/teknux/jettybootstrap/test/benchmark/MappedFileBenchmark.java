@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jetty.server.ServerConnector;
+import org.teknux.jettybootstrap.JettyBootstrap;
+import org.teknux.jettybootstrap.configuration.JettyConfiguration;
+import org.teknux.jettybootstrap.handler.MappedFileDefaultServlet;
+
+import com.sun.management.OperatingSystemMXBean;
+
+
+/**
+ * Compares the CPU time spent per GB downloaded by the default servlet copying the files through a buffer with the {@link MappedFileDefaultServlet}, for 1 MB,
+ * 64 MB and 256 MB files.
+ * <p>
+ * The static content cache is disabled so that every download reads the file. Files are downloaded over a loopback connection and the CPU time of the whole process
+ * is measured, client included (the same for both). Not run by the tests: launch the main method from the test classpath.
+ */
+public class MappedFileBenchmark {
+
+	private static final int MB = 1024 * 1024;
+	private static final int[] FILE_SIZES = { MB, 64 * MB, 256 * MB };
+	private static final long WARMUP_BYTES = 512L * MB;
+	private static final long BYTES = 4096L * MB;
+
+	public static void main(String[] args) throws Exception {
+		File webAppDirectory = Files.createTempDirectory("benchmark-webapp").toFile();
+		try {
+			for (int fileSize : FILE_SIZES) {
+				try (RandomAccessFile file = new RandomAccessFile(new File(webAppDirectory, fileSize + ".bin"), "rw")) {
+					file.setLength(fileSize);
+				}
+			}
+
+			System.out.println(String.format("%-10s %20s %20s", "file", "copy", "mapped"));
+			for (int fileSize : FILE_SIZES) {
+				long copyNanos = run(webAppDirectory, fileSize, false);
+				long mappedNanos = run(webAppDirectory, fileSize, true);
+
+				System.out.println(String.format("%-10s %13d ms CPU/GB %13d ms CPU/GB", (fileSize / MB) + " MB", copyNanos / 1000000, mappedNanos / 1000000));
+			}
+		} finally {
+			FileUtils.deleteDirectory(webAppDirectory);
+		}
+	}
+
+	/**
+	 * @return CPU time (in ns) per GB downloaded
+	 */
+	private static long run(File webAppDirectory, int fileSize, boolean mapped) throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setStopAtShutdown(false);
+		jettyConfiguration.setAutoJoinOnStart(false);
+		jettyConfiguration.setTempDirectory(Files.createTempDirectory("benchmark").toFile());
+		jettyConfiguration.setCleanTempDir(true);
+		jettyConfiguration.setHost("127.0.0.1");
+		jettyConfiguration.setPort(0);
+		jettyConfiguration.setStaticCacheFileMappedBuffer(false);
+		jettyConfiguration.setStaticCacheMaxFileSize(0);
+
+		JettyBootstrap jettyBootstrap = new JettyBootstrap(jettyConfiguration);
+		if (mapped) {
+			jettyBootstrap.addExplodedWarApp(webAppDirectory.getPath(), null, "/", 0);
+		} else {
+			jettyBootstrap.addExplodedWarApp(webAppDirectory.getPath(), null, "/");
+		}
+		jettyBootstrap.startServer();
+
+		try {
+			int port = ((ServerConnector) jettyBootstrap.getServer().getConnectors()[0]).getLocalPort();
+			String request = "GET /" + fileSize + ".bin HTTP/1.0\r\n\r\n";
+			byte[] buffer = new byte[64 * 1024];
+
+			for (long downloaded = 0; downloaded < WARMUP_BYTES;) {
+				downloaded += download(port, request, buffer);
+			}
+
+			OperatingSystemMXBean operatingSystemMXBean = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+			long startCpuTime = operatingSystemMXBean.getProcessCpuTime();
+			long downloaded = 0;
+			while (downloaded < BYTES) {
+				downloaded += download(port, request, buffer);
+			}
+
+			return (operatingSystemMXBean.getProcessCpuTime() - startCpuTime) * 1024 * MB / downloaded;
+		} finally {
+			jettyBootstrap.stopServer();
+		}
+	}
+
+	private static long download(int port, String request, byte[] buffer) throws IOException {
+		try (Socket socket = new Socket("127.0.0.1", port)) {
+			OutputStream outputStream = socket.getOutputStream();
+			outputStream.write(request.getBytes(StandardCharsets.US_ASCII));
+			outputStream.flush();
+
+			InputStream inputStream = socket.getInputStream();
+			long read = 0;
+			int count;
+			while ((count = inputStream.read(buffer)) != -1) {
+				read += count;
+			}
+
+			return read;
+		}
+	}
+}
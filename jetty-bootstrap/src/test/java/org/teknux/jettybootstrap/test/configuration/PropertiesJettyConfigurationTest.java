@@ -23,8 +23,10 @@ package org.teknux.jettybootstrap.test.configuration;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.teknux.jettybootstrap.configuration.JettyAccessLogMode;
 import org.teknux.jettybootstrap.configuration.JettyConnector;
 import org.teknux.jettybootstrap.configuration.JettySslFileFormat;
+import org.teknux.jettybootstrap.configuration.JettyThreadPoolMode;
 import org.teknux.jettybootstrap.configuration.PropertiesJettyConfiguration;
 import org.teknux.jettybootstrap.keystore.JettyKeystoreGeneratorBuilder;
 
@@ -47,6 +49,7 @@ public class PropertiesJettyConfigurationTest {
         //system properties
         System.setProperty(PropertiesJettyConfiguration.KEY_AUTO_JOIN_ON_START, "true");
         System.setProperty(PropertiesJettyConfiguration.KEY_MAX_THREADS, "1");
+        System.setProperty(PropertiesJettyConfiguration.KEY_THREAD_POOL_MODE, "virtual");
         System.setProperty(PropertiesJettyConfiguration.KEY_STOP_AT_SHUTDOWN, "false");
         System.setProperty(PropertiesJettyConfiguration.KEY_STOP_TIMEOUT, "2");
         System.setProperty(PropertiesJettyConfiguration.KEY_IDLE_TIMEOUT, "3");
@@ -80,10 +83,85 @@ public class PropertiesJettyConfigurationTest {
         System.setProperty(PropertiesJettyConfiguration.KEY_THROW_IF_STARTUP_EXCEPTION, "true");
         System.setProperty(PropertiesJettyConfiguration.KEY_MAX_INACTIVE_INTERVAL, "6666");
 
+        System.setProperty(PropertiesJettyConfiguration.KEY_MIN_THREADS, "2");
+        System.setProperty(PropertiesJettyConfiguration.KEY_THREAD_IDLE_TIMEOUT, "3000");
+        System.setProperty(PropertiesJettyConfiguration.KEY_MAX_QUEUED_JOBS, "4");
+        System.setProperty(PropertiesJettyConfiguration.KEY_RESERVED_THREADS, "5");
+        System.setProperty(PropertiesJettyConfiguration.KEY_THREADS_PRIORITY, "6");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCEPTORS, "1");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SELECTORS, "3");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCEPT_QUEUE_SIZE, "50");
+        System.setProperty(PropertiesJettyConfiguration.KEY_REUSE_ADDRESS, "false");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCEPTOR_PRIORITY_DELTA, "1");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SSL_ACCEPTORS, "5");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SSL_SELECTORS, "7");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SSL_ACCEPT_QUEUE_SIZE, "150");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SSL_REUSE_ADDRESS, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SSL_ACCEPTOR_PRIORITY_DELTA, "2");
+        System.setProperty(PropertiesJettyConfiguration.KEY_HTTP2_MAX_CONCURRENT_STREAMS, "100");
+        System.setProperty(PropertiesJettyConfiguration.KEY_HTTP2_INITIAL_SESSION_RECV_WINDOW, "2097152");
+        System.setProperty(PropertiesJettyConfiguration.KEY_HTTP2_INITIAL_STREAM_RECV_WINDOW, "1048576");
+        System.setProperty(PropertiesJettyConfiguration.KEY_HTTP2_HEADER_TABLE_SIZE, "8192");
+        System.setProperty(PropertiesJettyConfiguration.KEY_UNIX_SOCKET_PATH, "/tmp/sys.sock");
+        System.setProperty(PropertiesJettyConfiguration.KEY_PROXY_PROTOCOL, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SSL_PROXY_PROTOCOL, "false");
+        System.setProperty(PropertiesJettyConfiguration.KEY_FORWARDED_HEADERS, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_OUTPUT_BUFFER_SIZE, "16384");
+        System.setProperty(PropertiesJettyConfiguration.KEY_OUTPUT_AGGREGATION_SIZE, "4096");
+        System.setProperty(PropertiesJettyConfiguration.KEY_REQUEST_HEADER_SIZE, "16384");
+        System.setProperty(PropertiesJettyConfiguration.KEY_RESPONSE_HEADER_SIZE, "4096");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SEND_SERVER_VERSION, "false");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SEND_DATE_HEADER, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_FACTOR, "2048");
+        System.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_MAX_CAPACITY, "32768");
+        System.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_MAX_HEAP_MEMORY, "1048576");
+        System.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_MAX_DIRECT_MEMORY, "4194304");
+        System.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_DIRECT_BUFFERS, "false");
+        System.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_ENABLED, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_MIN_SIZE, "256");
+        System.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_LEVEL, "9");
+        System.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_DEFLATER_POOL_CAPACITY, "32");
+        System.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_SYNC_FLUSH, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_INCLUDED_MIME_TYPES, "application/json,text/html");
+        System.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_EXCLUDED_MIME_TYPES, "image/png");
+        System.setProperty(PropertiesJettyConfiguration.KEY_PRECOMPRESS_ENABLED, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_PRECOMPRESS_MIN_SIZE, "0");
+        System.setProperty(PropertiesJettyConfiguration.KEY_PRECOMPRESS_EXTENSIONS, "js,css");
+        System.setProperty(PropertiesJettyConfiguration.KEY_STATIC_CACHE_MAX_SIZE, "1000");
+        System.setProperty(PropertiesJettyConfiguration.KEY_STATIC_CACHE_MAX_FILE_SIZE, "100");
+        System.setProperty(PropertiesJettyConfiguration.KEY_STATIC_CACHE_MAX_FILES, "10");
+        System.setProperty(PropertiesJettyConfiguration.KEY_STATIC_CACHE_FILE_MAPPED_BUFFER, "false");
+        System.setProperty(PropertiesJettyConfiguration.KEY_MAPPED_FILE_THRESHOLD, "1048576");
+        System.setProperty(PropertiesJettyConfiguration.KEY_STATISTICS_ENABLED, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_JMX_ENABLED, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_JMX_HOST, "127.0.0.1");
+        System.setProperty(PropertiesJettyConfiguration.KEY_JMX_PORT, "1099");
+        System.setProperty(PropertiesJettyConfiguration.KEY_CONNECTION_STATISTICS_ENABLED, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_ENABLED, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_MODE, "slf4j");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_FILENAME, "logs/sys.log");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_RETAIN_DAYS, "7");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_QUEUE_CAPACITY, "1024");
+        System.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_EXTENDED, "false");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SLOW_REQUEST_THRESHOLD, "500");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SLOW_REQUEST_STACK_SAMPLE_INTERVAL, "2000");
+        System.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_MONITOR_ENABLED, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_PERIOD, "500");
+        System.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_THREADS_THRESHOLD, "2");
+        System.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_MAX_CONNECTIONS, "100");
+        System.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_MAX_MEMORY, "1048576");
+        System.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_IDLE_TIMEOUT, "100");
+        System.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_MAX_TIME, "5000");
+        System.setProperty(PropertiesJettyConfiguration.KEY_MAX_CONNECTIONS, "1000");
+        System.setProperty(PropertiesJettyConfiguration.KEY_HTTP_MAX_CONNECTIONS, "100");
+        System.setProperty(PropertiesJettyConfiguration.KEY_SSL_MAX_CONNECTIONS, "300");
+        System.setProperty(PropertiesJettyConfiguration.KEY_GRACEFUL_SHUTDOWN, "true");
+        System.setProperty(PropertiesJettyConfiguration.KEY_GRACEFUL_SHUTDOWN_TIMEOUT, "10000");
         //test sys prop config only
         PropertiesJettyConfiguration cfg = new PropertiesJettyConfiguration();
         Assert.assertEquals(true, cfg.isAutoJoinOnStart());
         Assert.assertEquals(1, cfg.getMaxThreads());
+        Assert.assertEquals(JettyThreadPoolMode.VIRTUAL, cfg.getThreadPoolMode());
         Assert.assertEquals(false, cfg.isStopAtShutdown());
         Assert.assertEquals(2L, cfg.getStopTimeout());
         Assert.assertEquals(3L, cfg.getIdleTimeout());
@@ -116,11 +194,86 @@ public class PropertiesJettyConfigurationTest {
         Assert.assertEquals(true, cfg.isParentLoaderPriority());
         Assert.assertEquals(true, cfg.isThrowIfStartupException());
         Assert.assertEquals(6666, cfg.getMaxInactiveInterval());
+        Assert.assertEquals(2, cfg.getMinThreads());
+        Assert.assertEquals(3000, cfg.getThreadIdleTimeout());
+        Assert.assertEquals(4, cfg.getMaxQueuedJobs());
+        Assert.assertEquals(5, cfg.getReservedThreads());
+        Assert.assertEquals(6, cfg.getThreadsPriority());
+        Assert.assertEquals(1, cfg.getAcceptors());
+        Assert.assertEquals(3, cfg.getSelectors());
+        Assert.assertEquals(50, cfg.getAcceptQueueSize());
+        Assert.assertEquals(false, cfg.isReuseAddress());
+        Assert.assertEquals(1, cfg.getAcceptorPriorityDelta());
+        Assert.assertEquals(5, cfg.getSslAcceptors());
+        Assert.assertEquals(7, cfg.getSslSelectors());
+        Assert.assertEquals(150, cfg.getSslAcceptQueueSize());
+        Assert.assertEquals(true, cfg.isSslReuseAddress());
+        Assert.assertEquals(2, cfg.getSslAcceptorPriorityDelta());
+        Assert.assertEquals(100, cfg.getHttp2MaxConcurrentStreams());
+        Assert.assertEquals(2097152, cfg.getHttp2InitialSessionRecvWindow());
+        Assert.assertEquals(1048576, cfg.getHttp2InitialStreamRecvWindow());
+        Assert.assertEquals(8192, cfg.getHttp2HeaderTableSize());
+        Assert.assertEquals("/tmp/sys.sock", cfg.getUnixSocketPath());
+        Assert.assertEquals(true, cfg.isProxyProtocol());
+        Assert.assertEquals(false, cfg.isSslProxyProtocol());
+        Assert.assertEquals(true, cfg.isForwardedHeaders());
+        Assert.assertEquals(16384, cfg.getOutputBufferSize());
+        Assert.assertEquals(4096, cfg.getOutputAggregationSize());
+        Assert.assertEquals(16384, cfg.getRequestHeaderSize());
+        Assert.assertEquals(4096, cfg.getResponseHeaderSize());
+        Assert.assertEquals(false, cfg.isSendServerVersion());
+        Assert.assertEquals(true, cfg.isSendDateHeader());
+        Assert.assertEquals(2048, cfg.getBufferPoolFactor());
+        Assert.assertEquals(32768, cfg.getBufferPoolMaxCapacity());
+        Assert.assertEquals(1048576L, cfg.getBufferPoolMaxHeapMemory());
+        Assert.assertEquals(4194304L, cfg.getBufferPoolMaxDirectMemory());
+        Assert.assertEquals(false, cfg.isBufferPoolDirectBuffers());
+        Assert.assertEquals(true, cfg.isCompressionEnabled());
+        Assert.assertEquals(256, cfg.getCompressionMinSize());
+        Assert.assertEquals(9, cfg.getCompressionLevel());
+        Assert.assertEquals(32, cfg.getCompressionDeflaterPoolCapacity());
+        Assert.assertEquals(true, cfg.isCompressionSyncFlush());
+        Assert.assertArrayEquals(new String[] { "application/json", "text/html" }, cfg.getCompressionIncludedMimeTypes());
+        Assert.assertArrayEquals(new String[] { "image/png" }, cfg.getCompressionExcludedMimeTypes());
+        Assert.assertEquals(true, cfg.isPrecompressEnabled());
+        Assert.assertEquals(0, cfg.getPrecompressMinSize());
+        Assert.assertArrayEquals(new String[] { "js", "css" }, cfg.getPrecompressExtensions());
+        Assert.assertEquals(1000, cfg.getStaticCacheMaxSize());
+        Assert.assertEquals(100, cfg.getStaticCacheMaxFileSize());
+        Assert.assertEquals(10, cfg.getStaticCacheMaxFiles());
+        Assert.assertEquals(false, cfg.isStaticCacheFileMappedBuffer());
+        Assert.assertEquals(1048576L, cfg.getMappedFileThreshold());
+        Assert.assertEquals(true, cfg.isStatisticsEnabled());
+        Assert.assertEquals(true, cfg.isJmxEnabled());
+        Assert.assertEquals("127.0.0.1", cfg.getJmxHost());
+        Assert.assertEquals(1099, cfg.getJmxPort());
+        Assert.assertEquals(true, cfg.isConnectionStatisticsEnabled());
+        Assert.assertEquals(true, cfg.isAccessLogEnabled());
+        Assert.assertEquals(JettyAccessLogMode.SLF4J, cfg.getAccessLogMode());
+        Assert.assertEquals("logs/sys.log", cfg.getAccessLogFilename());
+        Assert.assertEquals(7, cfg.getAccessLogRetainDays());
+        Assert.assertEquals(1024, cfg.getAccessLogQueueCapacity());
+        Assert.assertEquals(false, cfg.isAccessLogExtended());
+        Assert.assertEquals(500L, cfg.getSlowRequestThreshold());
+        Assert.assertEquals(2000L, cfg.getSlowRequestStackSampleInterval());
+        Assert.assertEquals(true, cfg.isLowResourcesMonitorEnabled());
+        Assert.assertEquals(500, cfg.getLowResourcesPeriod());
+        Assert.assertEquals(2, cfg.getLowResourcesThreadsThreshold());
+        Assert.assertEquals(100, cfg.getLowResourcesMaxConnections());
+        Assert.assertEquals(1048576L, cfg.getLowResourcesMaxMemory());
+        Assert.assertEquals(100, cfg.getLowResourcesIdleTimeout());
+        Assert.assertEquals(5000, cfg.getLowResourcesMaxTime());
+        Assert.assertEquals(1000, cfg.getMaxConnections());
+        Assert.assertEquals(100, cfg.getHttpMaxConnections());
+        Assert.assertEquals(300, cfg.getSslMaxConnections());
+        Assert.assertEquals(true, cfg.isGracefulShutdown());
+        Assert.assertEquals(10000L, cfg.getGracefulShutdownTimeout());
 
         //custom properties
         final Properties properties = new Properties();
         properties.setProperty(PropertiesJettyConfiguration.KEY_AUTO_JOIN_ON_START, "false");
         properties.setProperty(PropertiesJettyConfiguration.KEY_MAX_THREADS, "11");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_THREAD_POOL_MODE, "PLATFORM");
         properties.setProperty(PropertiesJettyConfiguration.KEY_STOP_AT_SHUTDOWN, "true");
         properties.setProperty(PropertiesJettyConfiguration.KEY_STOP_TIMEOUT, "22");
         properties.setProperty(PropertiesJettyConfiguration.KEY_IDLE_TIMEOUT, "33");
@@ -152,11 +305,86 @@ public class PropertiesJettyConfigurationTest {
         properties.setProperty(PropertiesJettyConfiguration.KEY_PARENT_LOADER_PRIORITY, "false");
         properties.setProperty(PropertiesJettyConfiguration.KEY_THROW_IF_STARTUP_EXCEPTION, "false");
         properties.setProperty(PropertiesJettyConfiguration.KEY_MAX_INACTIVE_INTERVAL, "66");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_MIN_THREADS, "12");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_THREAD_IDLE_TIMEOUT, "13000");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_MAX_QUEUED_JOBS, "14");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_RESERVED_THREADS, "15");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_THREADS_PRIORITY, "7");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCEPTORS, "2");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SELECTORS, "4");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCEPT_QUEUE_SIZE, "100");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_REUSE_ADDRESS, "true");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCEPTOR_PRIORITY_DELTA, "-1");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SSL_ACCEPTORS, "6");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SSL_SELECTORS, "8");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SSL_ACCEPT_QUEUE_SIZE, "200");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SSL_REUSE_ADDRESS, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SSL_ACCEPTOR_PRIORITY_DELTA, "-2");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_HTTP2_MAX_CONCURRENT_STREAMS, "200");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_HTTP2_INITIAL_SESSION_RECV_WINDOW, "4194304");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_HTTP2_INITIAL_STREAM_RECV_WINDOW, "65535");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_HTTP2_HEADER_TABLE_SIZE, "0");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_UNIX_SOCKET_PATH, "/tmp/prop.sock");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_PROXY_PROTOCOL, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SSL_PROXY_PROTOCOL, "true");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_FORWARDED_HEADERS, "true");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_OUTPUT_BUFFER_SIZE, "65536");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_OUTPUT_AGGREGATION_SIZE, "2048");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_REQUEST_HEADER_SIZE, "4096");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_RESPONSE_HEADER_SIZE, "16384");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SEND_SERVER_VERSION, "true");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SEND_DATE_HEADER, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_FACTOR, "4096");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_MAX_CAPACITY, "131072");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_MAX_HEAP_MEMORY, "2097152");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_MAX_DIRECT_MEMORY, "8388608");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_BUFFER_POOL_DIRECT_BUFFERS, "true");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_ENABLED, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_MIN_SIZE, "1024");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_LEVEL, "1");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_DEFLATER_POOL_CAPACITY, "0");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_SYNC_FLUSH, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_INCLUDED_MIME_TYPES, "text/plain");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_COMPRESSION_EXCLUDED_MIME_TYPES, "image/jpeg,video/mp4");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_PRECOMPRESS_ENABLED, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_PRECOMPRESS_MIN_SIZE, "2048");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_PRECOMPRESS_EXTENSIONS, "html");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_STATIC_CACHE_MAX_SIZE, "2000");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_STATIC_CACHE_MAX_FILE_SIZE, "200");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_STATIC_CACHE_MAX_FILES, "20");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_STATIC_CACHE_FILE_MAPPED_BUFFER, "true");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_MAPPED_FILE_THRESHOLD, "0");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_STATISTICS_ENABLED, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_JMX_ENABLED, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_JMX_HOST, "0.0.0.0");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_JMX_PORT, "9999");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_CONNECTION_STATISTICS_ENABLED, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_ENABLED, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_MODE, "file");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_FILENAME, "logs/prop.log");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_RETAIN_DAYS, "14");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_QUEUE_CAPACITY, "2048");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_ACCESS_LOG_EXTENDED, "true");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SLOW_REQUEST_THRESHOLD, "1000");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SLOW_REQUEST_STACK_SAMPLE_INTERVAL, "3000");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_MONITOR_ENABLED, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_PERIOD, "2000");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_THREADS_THRESHOLD, "4");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_MAX_CONNECTIONS, "200");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_MAX_MEMORY, "2097152");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_IDLE_TIMEOUT, "200");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_LOW_RESOURCES_MAX_TIME, "6000");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_MAX_CONNECTIONS, "2000");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_HTTP_MAX_CONNECTIONS, "200");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_SSL_MAX_CONNECTIONS, "400");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_GRACEFUL_SHUTDOWN, "false");
+        properties.setProperty(PropertiesJettyConfiguration.KEY_GRACEFUL_SHUTDOWN_TIMEOUT, "20000");
 
         //test given prop config only
         cfg = new PropertiesJettyConfiguration(properties, true);
         Assert.assertEquals(false, cfg.isAutoJoinOnStart());
         Assert.assertEquals(11, cfg.getMaxThreads());
+        Assert.assertEquals(JettyThreadPoolMode.PLATFORM, cfg.getThreadPoolMode());
         Assert.assertEquals(true, cfg.isStopAtShutdown());
         Assert.assertEquals(22L, cfg.getStopTimeout());
         Assert.assertEquals(33L, cfg.getIdleTimeout());
@@ -190,11 +418,86 @@ public class PropertiesJettyConfigurationTest {
         Assert.assertEquals(false, cfg.isParentLoaderPriority());
         Assert.assertEquals(false, cfg.isThrowIfStartupException());
         Assert.assertEquals(66, cfg.getMaxInactiveInterval());
+        Assert.assertEquals(12, cfg.getMinThreads());
+        Assert.assertEquals(13000, cfg.getThreadIdleTimeout());
+        Assert.assertEquals(14, cfg.getMaxQueuedJobs());
+        Assert.assertEquals(15, cfg.getReservedThreads());
+        Assert.assertEquals(7, cfg.getThreadsPriority());
+        Assert.assertEquals(2, cfg.getAcceptors());
+        Assert.assertEquals(4, cfg.getSelectors());
+        Assert.assertEquals(100, cfg.getAcceptQueueSize());
+        Assert.assertEquals(true, cfg.isReuseAddress());
+        Assert.assertEquals(-1, cfg.getAcceptorPriorityDelta());
+        Assert.assertEquals(6, cfg.getSslAcceptors());
+        Assert.assertEquals(8, cfg.getSslSelectors());
+        Assert.assertEquals(200, cfg.getSslAcceptQueueSize());
+        Assert.assertEquals(false, cfg.isSslReuseAddress());
+        Assert.assertEquals(-2, cfg.getSslAcceptorPriorityDelta());
+        Assert.assertEquals(200, cfg.getHttp2MaxConcurrentStreams());
+        Assert.assertEquals(4194304, cfg.getHttp2InitialSessionRecvWindow());
+        Assert.assertEquals(65535, cfg.getHttp2InitialStreamRecvWindow());
+        Assert.assertEquals(0, cfg.getHttp2HeaderTableSize());
+        Assert.assertEquals("/tmp/prop.sock", cfg.getUnixSocketPath());
+        Assert.assertEquals(false, cfg.isProxyProtocol());
+        Assert.assertEquals(true, cfg.isSslProxyProtocol());
+        Assert.assertEquals(true, cfg.isForwardedHeaders());
+        Assert.assertEquals(65536, cfg.getOutputBufferSize());
+        Assert.assertEquals(2048, cfg.getOutputAggregationSize());
+        Assert.assertEquals(4096, cfg.getRequestHeaderSize());
+        Assert.assertEquals(16384, cfg.getResponseHeaderSize());
+        Assert.assertEquals(true, cfg.isSendServerVersion());
+        Assert.assertEquals(false, cfg.isSendDateHeader());
+        Assert.assertEquals(4096, cfg.getBufferPoolFactor());
+        Assert.assertEquals(131072, cfg.getBufferPoolMaxCapacity());
+        Assert.assertEquals(2097152L, cfg.getBufferPoolMaxHeapMemory());
+        Assert.assertEquals(8388608L, cfg.getBufferPoolMaxDirectMemory());
+        Assert.assertEquals(true, cfg.isBufferPoolDirectBuffers());
+        Assert.assertEquals(false, cfg.isCompressionEnabled());
+        Assert.assertEquals(1024, cfg.getCompressionMinSize());
+        Assert.assertEquals(1, cfg.getCompressionLevel());
+        Assert.assertEquals(0, cfg.getCompressionDeflaterPoolCapacity());
+        Assert.assertEquals(false, cfg.isCompressionSyncFlush());
+        Assert.assertArrayEquals(new String[] { "text/plain" }, cfg.getCompressionIncludedMimeTypes());
+        Assert.assertArrayEquals(new String[] { "image/jpeg", "video/mp4" }, cfg.getCompressionExcludedMimeTypes());
+        Assert.assertEquals(false, cfg.isPrecompressEnabled());
+        Assert.assertEquals(2048, cfg.getPrecompressMinSize());
+        Assert.assertArrayEquals(new String[] { "html" }, cfg.getPrecompressExtensions());
+        Assert.assertEquals(2000, cfg.getStaticCacheMaxSize());
+        Assert.assertEquals(200, cfg.getStaticCacheMaxFileSize());
+        Assert.assertEquals(20, cfg.getStaticCacheMaxFiles());
+        Assert.assertEquals(true, cfg.isStaticCacheFileMappedBuffer());
+        Assert.assertEquals(0L, cfg.getMappedFileThreshold());
+        Assert.assertEquals(false, cfg.isStatisticsEnabled());
+        Assert.assertEquals(false, cfg.isJmxEnabled());
+        Assert.assertEquals("0.0.0.0", cfg.getJmxHost());
+        Assert.assertEquals(9999, cfg.getJmxPort());
+        Assert.assertEquals(false, cfg.isConnectionStatisticsEnabled());
+        Assert.assertEquals(false, cfg.isAccessLogEnabled());
+        Assert.assertEquals(JettyAccessLogMode.FILE, cfg.getAccessLogMode());
+        Assert.assertEquals("logs/prop.log", cfg.getAccessLogFilename());
+        Assert.assertEquals(14, cfg.getAccessLogRetainDays());
+        Assert.assertEquals(2048, cfg.getAccessLogQueueCapacity());
+        Assert.assertEquals(true, cfg.isAccessLogExtended());
+        Assert.assertEquals(1000L, cfg.getSlowRequestThreshold());
+        Assert.assertEquals(3000L, cfg.getSlowRequestStackSampleInterval());
+        Assert.assertEquals(false, cfg.isLowResourcesMonitorEnabled());
+        Assert.assertEquals(2000, cfg.getLowResourcesPeriod());
+        Assert.assertEquals(4, cfg.getLowResourcesThreadsThreshold());
+        Assert.assertEquals(200, cfg.getLowResourcesMaxConnections());
+        Assert.assertEquals(2097152L, cfg.getLowResourcesMaxMemory());
+        Assert.assertEquals(200, cfg.getLowResourcesIdleTimeout());
+        Assert.assertEquals(6000, cfg.getLowResourcesMaxTime());
+        Assert.assertEquals(2000, cfg.getMaxConnections());
+        Assert.assertEquals(200, cfg.getHttpMaxConnections());
+        Assert.assertEquals(400, cfg.getSslMaxConnections());
+        Assert.assertEquals(false, cfg.isGracefulShutdown());
+        Assert.assertEquals(20000L, cfg.getGracefulShutdownTimeout());
 
         //test sys prop and custom config with system having higher priority
         cfg = new PropertiesJettyConfiguration(properties);
         Assert.assertEquals(true, cfg.isAutoJoinOnStart());
         Assert.assertEquals(1, cfg.getMaxThreads());
+        Assert.assertEquals(JettyThreadPoolMode.VIRTUAL, cfg.getThreadPoolMode());
         Assert.assertEquals(false, cfg.isStopAtShutdown());
         Assert.assertEquals(2L, cfg.getStopTimeout());
         Assert.assertEquals(3L, cfg.getIdleTimeout());
@@ -227,5 +530,79 @@ public class PropertiesJettyConfigurationTest {
         Assert.assertEquals(true, cfg.isParentLoaderPriority());
         Assert.assertEquals(true, cfg.isThrowIfStartupException());
         Assert.assertEquals(6666, cfg.getMaxInactiveInterval());
+        Assert.assertEquals(2, cfg.getMinThreads());
+        Assert.assertEquals(3000, cfg.getThreadIdleTimeout());
+        Assert.assertEquals(4, cfg.getMaxQueuedJobs());
+        Assert.assertEquals(5, cfg.getReservedThreads());
+        Assert.assertEquals(6, cfg.getThreadsPriority());
+        Assert.assertEquals(1, cfg.getAcceptors());
+        Assert.assertEquals(3, cfg.getSelectors());
+        Assert.assertEquals(50, cfg.getAcceptQueueSize());
+        Assert.assertEquals(false, cfg.isReuseAddress());
+        Assert.assertEquals(1, cfg.getAcceptorPriorityDelta());
+        Assert.assertEquals(5, cfg.getSslAcceptors());
+        Assert.assertEquals(7, cfg.getSslSelectors());
+        Assert.assertEquals(150, cfg.getSslAcceptQueueSize());
+        Assert.assertEquals(true, cfg.isSslReuseAddress());
+        Assert.assertEquals(2, cfg.getSslAcceptorPriorityDelta());
+        Assert.assertEquals(100, cfg.getHttp2MaxConcurrentStreams());
+        Assert.assertEquals(2097152, cfg.getHttp2InitialSessionRecvWindow());
+        Assert.assertEquals(1048576, cfg.getHttp2InitialStreamRecvWindow());
+        Assert.assertEquals(8192, cfg.getHttp2HeaderTableSize());
+        Assert.assertEquals("/tmp/sys.sock", cfg.getUnixSocketPath());
+        Assert.assertEquals(true, cfg.isProxyProtocol());
+        Assert.assertEquals(false, cfg.isSslProxyProtocol());
+        Assert.assertEquals(true, cfg.isForwardedHeaders());
+        Assert.assertEquals(16384, cfg.getOutputBufferSize());
+        Assert.assertEquals(4096, cfg.getOutputAggregationSize());
+        Assert.assertEquals(16384, cfg.getRequestHeaderSize());
+        Assert.assertEquals(4096, cfg.getResponseHeaderSize());
+        Assert.assertEquals(false, cfg.isSendServerVersion());
+        Assert.assertEquals(true, cfg.isSendDateHeader());
+        Assert.assertEquals(2048, cfg.getBufferPoolFactor());
+        Assert.assertEquals(32768, cfg.getBufferPoolMaxCapacity());
+        Assert.assertEquals(1048576L, cfg.getBufferPoolMaxHeapMemory());
+        Assert.assertEquals(4194304L, cfg.getBufferPoolMaxDirectMemory());
+        Assert.assertEquals(false, cfg.isBufferPoolDirectBuffers());
+        Assert.assertEquals(true, cfg.isCompressionEnabled());
+        Assert.assertEquals(256, cfg.getCompressionMinSize());
+        Assert.assertEquals(9, cfg.getCompressionLevel());
+        Assert.assertEquals(32, cfg.getCompressionDeflaterPoolCapacity());
+        Assert.assertEquals(true, cfg.isCompressionSyncFlush());
+        Assert.assertArrayEquals(new String[] { "application/json", "text/html" }, cfg.getCompressionIncludedMimeTypes());
+        Assert.assertArrayEquals(new String[] { "image/png" }, cfg.getCompressionExcludedMimeTypes());
+        Assert.assertEquals(true, cfg.isPrecompressEnabled());
+        Assert.assertEquals(0, cfg.getPrecompressMinSize());
+        Assert.assertArrayEquals(new String[] { "js", "css" }, cfg.getPrecompressExtensions());
+        Assert.assertEquals(1000, cfg.getStaticCacheMaxSize());
+        Assert.assertEquals(100, cfg.getStaticCacheMaxFileSize());
+        Assert.assertEquals(10, cfg.getStaticCacheMaxFiles());
+        Assert.assertEquals(false, cfg.isStaticCacheFileMappedBuffer());
+        Assert.assertEquals(1048576L, cfg.getMappedFileThreshold());
+        Assert.assertEquals(true, cfg.isStatisticsEnabled());
+        Assert.assertEquals(true, cfg.isJmxEnabled());
+        Assert.assertEquals("127.0.0.1", cfg.getJmxHost());
+        Assert.assertEquals(1099, cfg.getJmxPort());
+        Assert.assertEquals(true, cfg.isConnectionStatisticsEnabled());
+        Assert.assertEquals(true, cfg.isAccessLogEnabled());
+        Assert.assertEquals(JettyAccessLogMode.SLF4J, cfg.getAccessLogMode());
+        Assert.assertEquals("logs/sys.log", cfg.getAccessLogFilename());
+        Assert.assertEquals(7, cfg.getAccessLogRetainDays());
+        Assert.assertEquals(1024, cfg.getAccessLogQueueCapacity());
+        Assert.assertEquals(false, cfg.isAccessLogExtended());
+        Assert.assertEquals(500L, cfg.getSlowRequestThreshold());
+        Assert.assertEquals(2000L, cfg.getSlowRequestStackSampleInterval());
+        Assert.assertEquals(true, cfg.isLowResourcesMonitorEnabled());
+        Assert.assertEquals(500, cfg.getLowResourcesPeriod());
+        Assert.assertEquals(2, cfg.getLowResourcesThreadsThreshold());
+        Assert.assertEquals(100, cfg.getLowResourcesMaxConnections());
+        Assert.assertEquals(1048576L, cfg.getLowResourcesMaxMemory());
+        Assert.assertEquals(100, cfg.getLowResourcesIdleTimeout());
+        Assert.assertEquals(5000, cfg.getLowResourcesMaxTime());
+        Assert.assertEquals(1000, cfg.getMaxConnections());
+        Assert.assertEquals(100, cfg.getHttpMaxConnections());
+        Assert.assertEquals(300, cfg.getSslMaxConnections());
+        Assert.assertEquals(true, cfg.isGracefulShutdown());
+        Assert.assertEquals(10000L, cfg.getGracefulShutdownTimeout());
     }
 }
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.handler.util;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jetty.util.resource.Resource;
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.MethodSorters;
+import org.teknux.jettybootstrap.handler.util.PrecompressedResourceUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PrecompressedResourceUtilTest {
+
+    private static final Collection<String> EXTENSIONS = Arrays.asList("js", "css");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void test01Precompress() throws IOException {
+        File folder = temporaryFolder.newFolder("app");
+        File target = temporaryFolder.newFolder("app-precompressed");
+        write(new File(folder, "app.js"), 200);
+        write(new File(folder, "css/app.css"), 200);
+        write(new File(folder, "small.js"), 1);
+        write(new File(folder, "WEB-INF/hidden.js"), 200);
+
+        Assert.assertEquals(2, PrecompressedResourceUtil.precompress(Resource.newResource(folder), target, 1024, EXTENSIONS));
+        Assert.assertTrue(new File(target, "app.js.gz").isFile());
+        Assert.assertTrue(new File(target, "css/app.css.gz").isFile());
+        Assert.assertFalse(new File(target, "small.js.gz").exists());
+        Assert.assertFalse(new File(target, "WEB-INF").exists());
+
+        // up to date
+        Assert.assertEquals(0, PrecompressedResourceUtil.precompress(Resource.newResource(folder), target, 1024, EXTENSIONS));
+        Assert.assertTrue(new File(target, "app.js.gz").isFile());
+    }
+
+    @Test
+    public void test02DeleteStaleFiles() throws IOException {
+        File folder = temporaryFolder.newFolder("app");
+        File target = temporaryFolder.newFolder("app-precompressed");
+        write(new File(folder, "app.js"), 200);
+        write(new File(folder, "css/app.css"), 200);
+        write(new File(folder, "other.js"), 200);
+
+        Assert.assertEquals(3, PrecompressedResourceUtil.precompress(Resource.newResource(folder), target, 1024, EXTENSIONS));
+
+        // deleted sources, and a source no longer big enough to be compressed
+        FileUtils.deleteDirectory(new File(folder, "css"));
+        FileUtils.forceDelete(new File(folder, "app.js"));
+        write(new File(folder, "other.js"), 1);
+        FileUtils.touch(new File(target, "app.js.gz.tmp"));
+
+        Assert.assertEquals(0, PrecompressedResourceUtil.precompress(Resource.newResource(folder), target, 1024, EXTENSIONS));
+        Assert.assertFalse(new File(target, "app.js.gz").exists());
+        Assert.assertFalse(new File(target, "app.js.gz.tmp").exists());
+        Assert.assertFalse(new File(target, "css").exists());
+        Assert.assertFalse(new File(target, "other.js.gz").exists());
+        Assert.assertTrue(target.isDirectory());
+    }
+
+    private static void write(File file, int lines) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append("console.log('precompressed');\n");
+        }
+        FileUtils.writeStringToFile(file, content.toString(), StandardCharsets.US_ASCII.name());
+    }
+}
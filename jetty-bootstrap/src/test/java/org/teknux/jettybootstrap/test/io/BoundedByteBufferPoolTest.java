@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.io;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.jetty.util.BufferUtil;
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.teknux.jettybootstrap.io.BoundedByteBufferPool;
+
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BoundedByteBufferPoolTest {
+
+    @Test
+    public void test01AcquireRelease() {
+        BoundedByteBufferPool pool = new BoundedByteBufferPool(1024, 8 * 1024, -1, -1, true);
+
+        ByteBuffer buffer = pool.acquire(1500, false);
+        Assert.assertEquals(2048, buffer.capacity());
+        Assert.assertEquals(0, buffer.remaining());
+        Assert.assertFalse(buffer.isDirect());
+
+        BufferUtil.append(buffer, (byte) 1);
+        Assert.assertEquals(1, buffer.remaining());
+        pool.release(buffer);
+        Assert.assertEquals(2048, pool.getHeapMemory());
+
+        ByteBuffer reused = pool.acquire(2000, false);
+        Assert.assertSame(buffer, reused);
+        Assert.assertEquals(0, reused.remaining());
+        Assert.assertEquals(0, pool.getHeapMemory());
+
+        ByteBuffer direct = pool.acquire(100, true);
+        Assert.assertTrue(direct.isDirect());
+        pool.release(direct);
+        Assert.assertEquals(1024, pool.getDirectMemory());
+        Assert.assertEquals(0, pool.getHeapMemory());
+    }
+
+    @Test
+    public void test02MaxMemory() {
+        BoundedByteBufferPool pool = new BoundedByteBufferPool(1024, 8 * 1024, 3 * 1024, 1024, true);
+
+        pool.release(pool.acquire(2048, false));
+        pool.release(pool.acquire(1024, false));
+        Assert.assertEquals(3 * 1024, pool.getHeapMemory());
+
+        // exceeds the max heap memory, dropped
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        pool.release(buffer);
+        Assert.assertEquals(3 * 1024, pool.getHeapMemory());
+        Assert.assertNotSame(buffer, pool.acquire(1024, false));
+
+        pool.release(pool.acquire(2048, true));
+        Assert.assertEquals(0, pool.getDirectMemory());
+
+        pool.clear();
+        Assert.assertEquals(0, pool.getHeapMemory());
+    }
+
+    @Test
+    public void test03NotPooled() {
+        BoundedByteBufferPool pool = new BoundedByteBufferPool(1024, 4 * 1024, -1, -1, false);
+
+        ByteBuffer big = pool.acquire(10000, false);
+        Assert.assertEquals(10000, big.capacity());
+        pool.release(big);
+        Assert.assertEquals(0, pool.getHeapMemory());
+
+        pool.release(ByteBuffer.allocate(1000));
+        Assert.assertEquals(0, pool.getHeapMemory());
+
+        // direct buffers disabled
+        Assert.assertFalse(pool.acquire(1024, true).isDirect());
+        pool.release(ByteBuffer.allocateDirect(1024));
+        Assert.assertEquals(0, pool.getDirectMemory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test04InvalidFactor() {
+        new BoundedByteBufferPool(0, 1024, -1, -1, true);
+    }
+}
@@ -63,18 +63,25 @@ public abstract class AbstractJettyBootstrapTest {
 	private JettyBootstrap jettyBootstrap = null;
 
 	protected JettyBootstrap initServer(boolean ssl) throws JettyBootstrapException, IOException {
-		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		return initServer(ssl, new JettyConfiguration());
+	}
+
+	protected JettyBootstrap initServer(boolean ssl, JettyConfiguration jettyConfiguration) throws JettyBootstrapException, IOException {
+		return initServer(ssl, jettyConfiguration, ssl ? JettyConnector.HTTPS : JettyConnector.HTTP);
+	}
+
+	protected JettyBootstrap initServer(boolean ssl, JettyConfiguration jettyConfiguration, JettyConnector... jettyConnectors) throws JettyBootstrapException,
+			IOException {
 		jettyConfiguration.setStopAtShutdown(false);
 		jettyConfiguration.setAutoJoinOnStart(false);
 		jettyConfiguration.setTempDirectory(temporaryFolder.newFolder());
 		jettyConfiguration.setCleanTempDir(true);
 		jettyConfiguration.setPersistAppTempDirectories(false);
 		jettyConfiguration.setHost(HOST);
+		jettyConfiguration.setJettyConnectors(jettyConnectors);
 		if (ssl) {
-			jettyConfiguration.setJettyConnectors(JettyConnector.HTTPS);
 			jettyConfiguration.setSslPort(SSL_PORT);
 		} else {
-			jettyConfiguration.setJettyConnectors(JettyConnector.HTTP);
 			jettyConfiguration.setPort(PORT);
 		}
 
@@ -0,0 +1,1083 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.jettybootstrap;
+
+import jnr.unixsocket.UnixSocketAddress;
+import jnr.unixsocket.UnixSocketChannel;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.LowResourceMonitor;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.SecureRequestCustomizer;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.unixsocket.UnixSocketConnector;
+import org.eclipse.jetty.util.thread.ExecutorThreadPool;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.webapp.WebAppContext;
+import org.junit.Assert;
+import org.junit.Test;
+import org.teknux.jettybootstrap.JettyBootstrap;
+import org.teknux.jettybootstrap.JettyBootstrapException;
+import org.teknux.jettybootstrap.accesslog.AsyncAccessLog;
+import org.teknux.jettybootstrap.accesslog.RolloverFileAccessLogWriter;
+import org.teknux.jettybootstrap.configuration.JettyConfiguration;
+import org.teknux.jettybootstrap.configuration.JettyConnector;
+import org.teknux.jettybootstrap.configuration.JettyThreadPoolMode;
+import org.teknux.jettybootstrap.handler.MappedFileDefaultServlet;
+import org.teknux.jettybootstrap.handler.PooledGzipHandler;
+import org.teknux.jettybootstrap.handler.RequestDrainHandler;
+import org.teknux.jettybootstrap.handler.SlowRequestHandler;
+import org.teknux.jettybootstrap.io.BoundedByteBufferPool;
+import org.teknux.jettybootstrap.io.AcceptGate;
+import org.teknux.jettybootstrap.io.ConnectionLimiter;
+import org.teknux.jettybootstrap.statistics.ConnectorStatistics;
+import org.teknux.jettybootstrap.statistics.RequestStatistics;
+import org.teknux.jettybootstrap.utils.VirtualThreadUtil;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyManagementException;
+import java.security.KeyStoreException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+
+public class JettyBootstrapServerTest extends AbstractJettyBootstrapTest {
+
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+	@Test
+	public void virtualThreadPoolTest() throws IllegalStateException, IOException, JettyBootstrapException, KeyManagementException, NoSuchAlgorithmException,
+			KeyStoreException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setThreadPoolMode(JettyThreadPoolMode.VIRTUAL);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/virtual"));
+		jettyBootstrap.startServer();
+
+		if (VirtualThreadUtil.isSupported()) {
+			Assert.assertTrue(jettyBootstrap.getServer().getThreadPool() instanceof ExecutorThreadPool);
+		} else {
+			Assert.assertTrue(jettyBootstrap.getServer().getThreadPool() instanceof QueuedThreadPool);
+		}
+		Assert.assertEquals(new SimpleResponse(200, "ServletTestContent" + LINE_SEPARATOR), get("/virtual"));
+	}
+
+	@Test
+	public void queuedThreadPoolTest() throws IllegalStateException, IOException, JettyBootstrapException, KeyManagementException, NoSuchAlgorithmException,
+			KeyStoreException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setMaxThreads(20);
+		jettyConfiguration.setMinThreads(10);
+		jettyConfiguration.setThreadIdleTimeout(5000);
+		jettyConfiguration.setMaxQueuedJobs(100);
+		jettyConfiguration.setThreadsPriority(Thread.MAX_PRIORITY);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/queued"));
+		jettyBootstrap.startServer();
+
+		QueuedThreadPool queuedThreadPool = (QueuedThreadPool) jettyBootstrap.getServer().getThreadPool();
+		Assert.assertEquals(20, queuedThreadPool.getMaxThreads());
+		Assert.assertEquals(10, queuedThreadPool.getMinThreads());
+		Assert.assertEquals(5000, queuedThreadPool.getIdleTimeout());
+		Assert.assertEquals(Thread.MAX_PRIORITY, queuedThreadPool.getThreadsPriority());
+		Assert.assertEquals(new SimpleResponse(200, "ServletTestContent" + LINE_SEPARATOR), get("/queued"));
+	}
+
+	@Test
+	public void queuedThreadPoolRejectionTest() throws IOException, JettyBootstrapException, InterruptedException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setMaxThreads(20);
+		jettyConfiguration.setMinThreads(10);
+		jettyConfiguration.setMaxQueuedJobs(5);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/rejection"));
+		jettyBootstrap.startServer();
+
+		QueuedThreadPool queuedThreadPool = (QueuedThreadPool) jettyBootstrap.getServer().getThreadPool();
+		CountDownLatch release = new CountDownLatch(1);
+		Runnable blockingJob = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		// every thread blocked and the queue full: the excess job is rejected instead of queued
+		int accepted = 0;
+		boolean rejected = false;
+		try {
+			while (!rejected && accepted < 1000) {
+				try {
+					queuedThreadPool.execute(blockingJob);
+					accepted++;
+				} catch (RejectedExecutionException e) {
+					rejected = true;
+				}
+			}
+			Assert.assertTrue(rejected);
+			Assert.assertTrue(accepted <= 20 + 5);
+			Assert.assertEquals(5, queuedThreadPool.getQueueSize());
+		} finally {
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void connectorTest() throws IllegalStateException, IOException, JettyBootstrapException, KeyManagementException, NoSuchAlgorithmException, KeyStoreException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setAcceptors(2);
+		jettyConfiguration.setSelectors(3);
+		jettyConfiguration.setAcceptQueueSize(64);
+		jettyConfiguration.setAcceptorPriorityDelta(-1);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/connector"));
+		jettyBootstrap.startServer();
+
+		ServerConnector serverConnector = (ServerConnector) jettyBootstrap.getServer().getConnectors()[0];
+		Assert.assertEquals(2, serverConnector.getAcceptors());
+		Assert.assertEquals(3, serverConnector.getSelectorManager().getSelectorCount());
+		Assert.assertEquals(64, serverConnector.getAcceptQueueSize());
+		Assert.assertEquals(-1, serverConnector.getAcceptorPriorityDelta());
+		Assert.assertEquals(new SimpleResponse(200, "ServletTestContent" + LINE_SEPARATOR), get("/connector"));
+	}
+
+	@Test
+	public void h2cConnectorTest() throws IllegalStateException, IOException, JettyBootstrapException, KeyManagementException, NoSuchAlgorithmException, KeyStoreException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setHttp2MaxConcurrentStreams(64);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration, JettyConnector.H2C);
+		jettyBootstrap.addHandler(createTestContext("/h2c"));
+		jettyBootstrap.startServer();
+
+		ServerConnector serverConnector = (ServerConnector) jettyBootstrap.getServer().getConnectors()[0];
+		Assert.assertEquals(Arrays.asList("http/1.1", "h2c"), serverConnector.getProtocols());
+		Assert.assertEquals(64, serverConnector.getConnectionFactory(HTTP2CServerConnectionFactory.class).getMaxConcurrentStreams());
+		Assert.assertEquals(new SimpleResponse(200, "ServletTestContent" + LINE_SEPARATOR), get("/h2c"));
+	}
+
+	@Test
+	public void http2ConnectorTest() throws IllegalStateException, IOException, JettyBootstrapException, KeyManagementException, NoSuchAlgorithmException,
+			KeyStoreException {
+		JettyBootstrap jettyBootstrap = initServer(true, new JettyConfiguration(), JettyConnector.HTTP2);
+		jettyBootstrap.addHandler(createTestContext("/h2"));
+		jettyBootstrap.startServer();
+
+		ServerConnector serverConnector = (ServerConnector) jettyBootstrap.getServer().getConnectors()[0];
+		Assert.assertEquals(Arrays.asList("ssl", "alpn", "h2", "http/1.1"), serverConnector.getProtocols());
+		// client without ALPN falls back to HTTP/1.1
+		Assert.assertEquals(new SimpleResponse(200, "ServletTestContent" + LINE_SEPARATOR), get("/h2"));
+	}
+
+	@Test
+	public void unixSocketConnectorTest() throws IOException, JettyBootstrapException {
+		File unixSocketFile = new File(temporaryFolder.getRoot(), "jetty.sock");
+
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setUnixSocketPath(unixSocketFile.getPath());
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration, JettyConnector.UNIX_SOCKET);
+		jettyBootstrap.addHandler(createTestContext("/unix"));
+		jettyBootstrap.startServer();
+
+		Assert.assertTrue(jettyBootstrap.getServer().getConnectors()[0] instanceof UnixSocketConnector);
+
+		String response;
+		try (UnixSocketChannel unixSocketChannel = UnixSocketChannel.open(new UnixSocketAddress(unixSocketFile))) {
+			unixSocketChannel.write(ByteBuffer.wrap("GET /unix/ HTTP/1.0\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII)));
+
+			ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+			ByteBuffer buffer = ByteBuffer.allocate(1024);
+			while (unixSocketChannel.read(buffer) > 0) {
+				byteArrayOutputStream.write(buffer.array(), 0, buffer.position());
+				buffer.clear();
+			}
+			response = byteArrayOutputStream.toString(StandardCharsets.US_ASCII.name());
+		}
+
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+		Assert.assertTrue(response.endsWith("ServletTestContent" + LINE_SEPARATOR));
+	}
+
+	@Test
+	public void proxyProtocolTest() throws IOException, JettyBootstrapException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setProxyProtocol(true);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createRemoteAddrContext("/proxy"));
+		jettyBootstrap.startServer();
+
+		String response = rawGet("PROXY TCP4 192.0.2.1 127.0.0.1 40000 80\r\nGET /proxy/ HTTP/1.0\r\n\r\n");
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+		Assert.assertTrue(response.endsWith("192.0.2.1"));
+	}
+
+	@Test
+	public void forwardedHeadersTest() throws IOException, JettyBootstrapException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setForwardedHeaders(true);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createRemoteAddrContext("/forwarded"));
+		jettyBootstrap.startServer();
+
+		String response = rawGet("GET /forwarded/ HTTP/1.0\r\nX-Forwarded-For: 192.0.2.2\r\n\r\n");
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+		Assert.assertTrue(response.endsWith("192.0.2.2"));
+	}
+
+	@Test
+	public void httpConfigurationTest() throws IOException, JettyBootstrapException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setOutputBufferSize(16 * 1024);
+		jettyConfiguration.setOutputAggregationSize(4 * 1024);
+		jettyConfiguration.setRequestHeaderSize(4 * 1024);
+		jettyConfiguration.setResponseHeaderSize(4 * 1024);
+		jettyConfiguration.setSendServerVersion(false);
+		jettyConfiguration.setSendDateHeader(true);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/httpconfiguration"));
+		jettyBootstrap.startServer();
+
+		HttpConfiguration httpConfiguration = ((ServerConnector) jettyBootstrap.getServer().getConnectors()[0]).getConnectionFactory(HttpConnectionFactory.class)
+				.getHttpConfiguration();
+		Assert.assertEquals(16 * 1024, httpConfiguration.getOutputBufferSize());
+		Assert.assertEquals(4 * 1024, httpConfiguration.getOutputAggregationSize());
+		Assert.assertEquals(4 * 1024, httpConfiguration.getRequestHeaderSize());
+		Assert.assertEquals(4 * 1024, httpConfiguration.getResponseHeaderSize());
+
+		String response = rawGet("GET /httpconfiguration/ HTTP/1.0\r\n\r\n");
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+		Assert.assertFalse(response.contains("\r\nServer: "));
+		Assert.assertTrue(response.contains("\r\nDate: "));
+	}
+
+	@Test
+	public void httpsConfigurationTest() throws IllegalStateException, IOException, JettyBootstrapException, KeyManagementException, NoSuchAlgorithmException,
+			KeyStoreException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setIdleTimeout(12000);
+		jettyConfiguration.setBlockingTimeout(6000);
+		jettyConfiguration.setOutputBufferSize(16 * 1024);
+
+		JettyBootstrap jettyBootstrap = initServer(true, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/httpsconfiguration"));
+		jettyBootstrap.startServer();
+
+		HttpConfiguration httpConfiguration = ((ServerConnector) jettyBootstrap.getServer().getConnectors()[0]).getConnectionFactory(HttpConnectionFactory.class)
+				.getHttpConfiguration();
+		Assert.assertEquals(12000, httpConfiguration.getIdleTimeout());
+		Assert.assertEquals(6000, httpConfiguration.getBlockingTimeout());
+		Assert.assertEquals(16 * 1024, httpConfiguration.getOutputBufferSize());
+		Assert.assertNotNull(httpConfiguration.getCustomizer(SecureRequestCustomizer.class));
+		Assert.assertEquals(new SimpleResponse(200, "ServletTestContent" + LINE_SEPARATOR), get("/httpsconfiguration"));
+	}
+
+	@Test
+	public void byteBufferPoolTest() throws IllegalStateException, IOException, JettyBootstrapException, KeyManagementException, NoSuchAlgorithmException,
+			KeyStoreException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setSslPort(SSL_PORT);
+		jettyConfiguration.setBufferPoolMaxHeapMemory(1024 * 1024);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration, JettyConnector.HTTP, JettyConnector.HTTPS);
+		jettyBootstrap.addHandler(createTestContext("/pool"));
+		jettyBootstrap.startServer();
+
+		Connector[] connectors = jettyBootstrap.getServer().getConnectors();
+		Assert.assertEquals(2, connectors.length);
+		Assert.assertTrue(connectors[0].getByteBufferPool() instanceof BoundedByteBufferPool);
+		Assert.assertSame(connectors[0].getByteBufferPool(), connectors[1].getByteBufferPool());
+		Assert.assertEquals(1024 * 1024, ((BoundedByteBufferPool) connectors[0].getByteBufferPool()).getMaxHeapMemory());
+		Assert.assertEquals(new SimpleResponse(200, "ServletTestContent" + LINE_SEPARATOR), get("/pool"));
+	}
+
+	@Test
+	public void compressionTest() throws IOException, JettyBootstrapException, InterruptedException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setCompressionEnabled(true);
+		jettyConfiguration.setCompressionMinSize(0);
+		jettyConfiguration.setCompressionDeflaterPoolCapacity(4);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/compression"));
+		jettyBootstrap.startServer();
+
+		PooledGzipHandler gzipHandler = (PooledGzipHandler) jettyBootstrap.getServer().getHandler();
+		Assert.assertEquals(4, gzipHandler.getDeflaterPoolCapacity());
+
+		String response = rawGet("GET /compression/ HTTP/1.0\r\nAccept-Encoding: gzip\r\n\r\n");
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+		Assert.assertTrue(response.contains("\r\nContent-Encoding: gzip\r\n"));
+		// the deflater is recycled once the response is completed, which may happen after the client read it
+		long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+		while (gzipHandler.getPooledDeflaters() == 0 && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(1, gzipHandler.getPooledDeflaters());
+
+		response = rawGet("GET /compression/ HTTP/1.0\r\n\r\n");
+		Assert.assertFalse(response.contains("\r\nContent-Encoding: gzip\r\n"));
+		Assert.assertTrue(response.endsWith("ServletTestContent" + LINE_SEPARATOR));
+	}
+
+	@Test
+	public void precompressTest() throws IOException, JettyBootstrapException, URISyntaxException {
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+		StringBuilder script = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			script.append("console.log('precompressed');\n");
+		}
+		FileUtils.writeStringToFile(new File(folder, "app.js"), script.toString(), StandardCharsets.US_ASCII.name());
+
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setPrecompressEnabled(true);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/precompressed");
+		jettyBootstrap.startServer();
+
+		String response = rawGet("GET /precompressed/app.js HTTP/1.0\r\nAccept-Encoding: gzip\r\n\r\n");
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+		Assert.assertTrue(response.contains("\r\nContent-Encoding: gzip\r\n"));
+
+		response = rawGet("GET /precompressed/app.js HTTP/1.0\r\n\r\n");
+		Assert.assertFalse(response.contains("\r\nContent-Encoding: gzip\r\n"));
+		Assert.assertTrue(response.endsWith(script.toString()));
+
+		// too small to be precompressed
+		response = rawGet("GET /precompressed/index.html HTTP/1.0\r\nAccept-Encoding: gzip\r\n\r\n");
+		Assert.assertFalse(response.contains("\r\nContent-Encoding: gzip\r\n"));
+		Assert.assertTrue(response.endsWith("StaticResContent\n"));
+	}
+
+	@Test
+	public void staticCacheTest() throws IOException, JettyBootstrapException, URISyntaxException {
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setStaticCacheMaxSize(1024 * 1024);
+		jettyConfiguration.setStaticCacheMaxFileSize(64 * 1024);
+		jettyConfiguration.setStaticCacheMaxFiles(16);
+		jettyConfiguration.setStaticCacheFileMappedBuffer(false);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		WebAppContext webAppContext = jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/cached");
+		jettyBootstrap.startServer();
+
+		Assert.assertEquals("1048576", webAppContext.getInitParameter("org.eclipse.jetty.servlet.Default.maxCacheSize"));
+		Assert.assertEquals("65536", webAppContext.getInitParameter("org.eclipse.jetty.servlet.Default.maxCachedFileSize"));
+		Assert.assertEquals("16", webAppContext.getInitParameter("org.eclipse.jetty.servlet.Default.maxCachedFiles"));
+		Assert.assertEquals("false", webAppContext.getInitParameter("org.eclipse.jetty.servlet.Default.useFileMappedBuffer"));
+
+		// served twice, from the filesystem then from the cache
+		for (int i = 0; i < 2; i++) {
+			String response = rawGet("GET /cached/index.html HTTP/1.0\r\n\r\n");
+			Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+			Assert.assertTrue(response.endsWith("StaticResContent\n"));
+		}
+	}
+
+	@Test
+	public void mappedFileTest() throws Exception {
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+		StringBuilder download = new StringBuilder();
+		for (int i = 0; i < 64 * 1024; i++) {
+			download.append(i % 10);
+		}
+		FileUtils.writeStringToFile(new File(folder, "download.bin"), download.toString(), StandardCharsets.US_ASCII.name());
+		String cached = download.substring(0, 40 * 1024);
+		FileUtils.writeStringToFile(new File(folder, "cached.bin"), cached, StandardCharsets.US_ASCII.name());
+
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		// with file mapped buffers, the static content cache holds files of any size
+		jettyConfiguration.setStaticCacheFileMappedBuffer(false);
+		jettyConfiguration.setStaticCacheMaxFileSize(48 * 1024);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		WebAppContext webAppContext = jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/mapped", 32 * 1024);
+		jettyBootstrap.startServer();
+
+		Assert.assertTrue(webAppContext.getServletHandler().getServlet("default").getServlet() instanceof MappedFileDefaultServlet);
+		MappedFileDefaultServlet mappedFileDefaultServlet = (MappedFileDefaultServlet) webAppContext.getServletHandler().getServlet("default").getServlet();
+		Assert.assertEquals(0, mappedFileDefaultServlet.getMappedFileCount());
+
+		String response = rawGet("GET /mapped/download.bin HTTP/1.0\r\n\r\n");
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+		Assert.assertTrue(response.endsWith("\r\n\r\n" + download.toString()));
+		Assert.assertEquals(1, mappedFileDefaultServlet.getMappedFileCount());
+
+		// mapped once
+		response = rawGet("GET /mapped/download.bin HTTP/1.0\r\n\r\n");
+		Assert.assertTrue(response.endsWith("\r\n\r\n" + download.toString()));
+		Assert.assertEquals(1, mappedFileDefaultServlet.getMappedFileCount());
+
+		// below the threshold
+		response = rawGet("GET /mapped/index.html HTTP/1.0\r\n\r\n");
+		Assert.assertTrue(response.endsWith("StaticResContent\n"));
+		Assert.assertEquals(1, mappedFileDefaultServlet.getMappedFileCount());
+
+		// above the threshold but held by the static content cache
+		response = rawGet("GET /mapped/cached.bin HTTP/1.0\r\n\r\n");
+		Assert.assertTrue(response.endsWith("\r\n\r\n" + cached));
+		Assert.assertEquals(1, mappedFileDefaultServlet.getMappedFileCount());
+
+		// the mapping of a deleted file is dropped when another file is mapped
+		FileUtils.writeStringToFile(new File(folder, "other.bin"), download.toString(), StandardCharsets.US_ASCII.name());
+		Assert.assertTrue(new File(folder, "download.bin").delete());
+		response = rawGet("GET /mapped/other.bin HTTP/1.0\r\n\r\n");
+		Assert.assertTrue(response.endsWith("\r\n\r\n" + download.toString()));
+		Assert.assertEquals(1, mappedFileDefaultServlet.getMappedFileCount());
+	}
+
+	@Test
+	public void mappedFileTooLargeTest() throws Exception {
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+		// sparse file, which can not be mapped in one buffer
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(new File(folder, "large.bin"), "rw")) {
+			randomAccessFile.setLength(Integer.MAX_VALUE + 1024L);
+		}
+
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		// not held by the static content cache
+		jettyConfiguration.setStaticCacheFileMappedBuffer(false);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		WebAppContext webAppContext = jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/mapped", 32 * 1024);
+		jettyBootstrap.startServer();
+
+		MappedFileDefaultServlet mappedFileDefaultServlet = (MappedFileDefaultServlet) webAppContext.getServletHandler().getServlet("default").getServlet();
+
+		// copied: only the beginning of the content is read
+		try (Socket socket = new Socket(HOST, getPort())) {
+			socket.setSoTimeout(SOCKET_TIMEOUT);
+			socket.getOutputStream().write("GET /mapped/large.bin HTTP/1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+			BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			Assert.assertTrue(reader.readLine().startsWith("HTTP/1.1 200"));
+			while (!reader.readLine().isEmpty()) {
+				// headers
+			}
+			Assert.assertEquals(0, reader.read());
+		}
+		Assert.assertEquals(0, mappedFileDefaultServlet.getMappedFileCount());
+	}
+
+	@Test
+	public void statisticsTest() throws IllegalStateException, IOException, JettyBootstrapException, KeyManagementException, NoSuchAlgorithmException,
+			KeyStoreException {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setStatisticsEnabled(true);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/stats"));
+		jettyBootstrap.addHandler(createTestContext("/stats/sub"));
+		jettyBootstrap.startServer();
+
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals(new Integer(200), get("/stats/").getStatusCode());
+		}
+		Assert.assertEquals(new Integer(200), get("/stats/sub/").getStatusCode());
+		Assert.assertEquals(new Integer(404), get("/unknown").getStatusCode());
+
+		RequestStatistics serverStatistics = jettyBootstrap.getRequestStatistics();
+		Assert.assertEquals(5, serverStatistics.getRequests());
+		Assert.assertEquals(4, serverStatistics.getResponses2xx());
+		Assert.assertEquals(1, serverStatistics.getResponses4xx());
+		Assert.assertEquals(0, serverStatistics.getActiveRequests());
+		Assert.assertEquals(5, serverStatistics.getLatencies().getCount());
+		Assert.assertTrue(serverStatistics.getLatencyP999() >= serverStatistics.getLatencyP50());
+
+		Map<String, RequestStatistics> contextStatistics = jettyBootstrap.getContextRequestStatistics();
+		Assert.assertEquals(2, contextStatistics.size());
+		Assert.assertEquals(3, contextStatistics.get("/stats").getResponses2xx());
+		Assert.assertEquals(1, contextStatistics.get("/stats/sub").getRequests());
+
+		// added to the started server
+		jettyBootstrap.addHandler(createTestContext("/stats/added"));
+		Assert.assertEquals(new Integer(200), get("/stats/added/").getStatusCode());
+
+		contextStatistics = jettyBootstrap.getContextRequestStatistics();
+		Assert.assertEquals(3, contextStatistics.size());
+		Assert.assertEquals(1, contextStatistics.get("/stats/added").getRequests());
+		Assert.assertEquals(3, contextStatistics.get("/stats").getRequests());
+	}
+
+	@Test(expected = JettyBootstrapException.class)
+	public void statisticsDisabledTest() throws IOException, JettyBootstrapException {
+		initServer(false).getRequestStatistics();
+	}
+
+	@Test
+	public void jmxTest() throws Exception {
+		int jmxPort;
+		try (ServerSocket serverSocket = new ServerSocket(0)) {
+			jmxPort = serverSocket.getLocalPort();
+		}
+
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setJmxEnabled(true);
+		jettyConfiguration.setJmxHost(HOST);
+		jettyConfiguration.setJmxPort(jmxPort);
+
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/jmx");
+		jettyBootstrap.startServer();
+
+		JMXServiceURL jmxServiceURL = new JMXServiceURL("service:jmx:rmi:///jndi/rmi://" + HOST + ":" + jmxPort + "/jmxrmi");
+		try (JMXConnector jmxConnector = JMXConnectorFactory.connect(jmxServiceURL)) {
+			MBeanServerConnection mBeanServerConnection = jmxConnector.getMBeanServerConnection();
+			Assert.assertFalse(mBeanServerConnection.queryNames(new ObjectName("org.eclipse.jetty.server:type=server,*"), null).isEmpty());
+			Assert.assertFalse(mBeanServerConnection.queryNames(new ObjectName("org.eclipse.jetty.util.thread:type=queuedthreadpool,*"), null).isEmpty());
+			Assert.assertFalse(mBeanServerConnection.queryNames(new ObjectName("org.eclipse.jetty.server:type=serverconnector,*"), null).isEmpty());
+			Assert.assertFalse(mBeanServerConnection.queryNames(new ObjectName("org.eclipse.jetty.webapp:type=webappcontext,*"), null).isEmpty());
+		}
+	}
+
+	@Test
+	public void connectionStatisticsTest() throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setSslPort(SSL_PORT);
+		jettyConfiguration.setConnectionStatisticsEnabled(true);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration, JettyConnector.HTTP, JettyConnector.HTTPS);
+		jettyBootstrap.addHandler(createTestContext("/connections"));
+		jettyBootstrap.startServer();
+
+		String response = rawGet("GET /connections/ HTTP/1.0\r\n\r\n");
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(null, new TrustManager[] { new X509TrustManager() {
+
+			@Override
+			public void checkClientTrusted(X509Certificate[] chain, String authType) {
+			}
+
+			@Override
+			public void checkServerTrusted(X509Certificate[] chain, String authType) {
+			}
+
+			@Override
+			public X509Certificate[] getAcceptedIssuers() {
+				return new X509Certificate[0];
+			}
+		} }, null);
+		int sslPort = ((ServerConnector) jettyBootstrap.getServer().getConnectors()[1]).getLocalPort();
+		try (Socket socket = sslContext.getSocketFactory().createSocket(HOST, sslPort)) {
+			socket.setSoTimeout(SOCKET_TIMEOUT);
+			socket.getOutputStream().write("GET /connections/ HTTP/1.0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+			Assert.assertTrue(IOUtils.toString(socket.getInputStream(), StandardCharsets.US_ASCII.name()).startsWith("HTTP/1.1 200"));
+		}
+
+		Map<String, ConnectorStatistics> connectorStatistics = jettyBootstrap.getConnectorStatistics();
+		Assert.assertEquals(Arrays.asList(JettyBootstrap.CONNECTOR_NAME_HTTP, JettyBootstrap.CONNECTOR_NAME_HTTPS), new ArrayList<>(connectorStatistics.keySet()));
+
+		// connections are closed asynchronously by the server
+		long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+		while ((connectorStatistics.get(JettyBootstrap.CONNECTOR_NAME_HTTP).getConnectionsClosed() == 0 ||
+				connectorStatistics.get(JettyBootstrap.CONNECTOR_NAME_HTTPS).getConnectionsClosed() == 0) && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+
+		for (ConnectorStatistics statistics : connectorStatistics.values()) {
+			Assert.assertEquals(1, statistics.getConnectionsOpened());
+			Assert.assertEquals(1, statistics.getConnectionsClosed());
+			Assert.assertEquals(0, statistics.getConnections());
+			Assert.assertEquals(1, statistics.getConnectionsMax());
+			Assert.assertEquals(1, statistics.getMessagesIn());
+			Assert.assertEquals(1, statistics.getMessagesOut());
+			Assert.assertTrue(statistics.getBytesIn() > 0);
+			Assert.assertTrue(statistics.getBytesOut() > 0);
+			Assert.assertEquals(1, statistics.getConnectionDurations().getCount());
+		}
+		Assert.assertEquals(0, connectorStatistics.get(JettyBootstrap.CONNECTOR_NAME_HTTP).getHandshakeTimes().getCount());
+		Assert.assertEquals(1, connectorStatistics.get(JettyBootstrap.CONNECTOR_NAME_HTTPS).getHandshakeTimes().getCount());
+		Assert.assertEquals(0, connectorStatistics.get(JettyBootstrap.CONNECTOR_NAME_HTTPS).getHandshakeFailures());
+	}
+
+	@Test
+	public void accessLogTest() throws Exception {
+		File folder = temporaryFolder.newFolder();
+
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setAccessLogEnabled(true);
+		jettyConfiguration.setAccessLogFilename(new File(folder, RolloverFileAccessLogWriter.DATE_TOKEN + ".request.log").getPath());
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/access"));
+		jettyBootstrap.startServer();
+
+		Assert.assertTrue(jettyBootstrap.getServer().getRequestLog() instanceof AsyncAccessLog);
+
+		Assert.assertTrue(rawGet("GET /access/ HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 200"));
+
+		// entries are logged once the response is completed and written by a background thread
+		File file = new File(folder, LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy_MM_dd")) + ".request.log");
+		long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+		while ((!file.exists() || file.length() == 0) && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+
+		jettyBootstrap.stopServer();
+
+		String content = FileUtils.readFileToString(file, StandardCharsets.UTF_8.name());
+		Assert.assertTrue(content.contains("\"GET /access/ HTTP/1.0\" 200 "));
+		Assert.assertEquals(0, ((AsyncAccessLog) jettyBootstrap.getServer().getRequestLog()).getDroppedEntries());
+	}
+
+	@Test
+	public void slowRequestTest() throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setSlowRequestThreshold(50);
+
+		ServletContextHandler context = new ServletContextHandler();
+		context.setContextPath("/slow");
+		context.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				try {
+					Thread.sleep(300);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				resp.getWriter().print("slow");
+			}
+		}), "/*");
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(context);
+		jettyBootstrap.addHandler(createTestContext("/fast"));
+		jettyBootstrap.startServer();
+
+		Assert.assertTrue(jettyBootstrap.getServer().getHandler() instanceof SlowRequestHandler);
+		SlowRequestHandler slowRequestHandler = (SlowRequestHandler) jettyBootstrap.getServer().getHandler();
+
+		Assert.assertTrue(rawGet("GET /fast/ HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 200"));
+		Assert.assertEquals(0, slowRequestHandler.getSlowRequests());
+
+		Assert.assertTrue(rawGet("GET /slow/ HTTP/1.0\r\n\r\n").endsWith("slow"));
+		Assert.assertEquals(1, slowRequestHandler.getSlowRequests());
+		Assert.assertEquals(0, slowRequestHandler.getInFlightRequests());
+	}
+
+	@Test
+	public void lowResourcesTest() throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setLowResourcesMonitorEnabled(true);
+		jettyConfiguration.setLowResourcesPeriod(20);
+		jettyConfiguration.setLowResourcesMaxConnections(1);
+		jettyConfiguration.setLowResourcesIdleTimeout(200);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/low"));
+		jettyBootstrap.startServer();
+
+		LowResourceMonitor lowResourceMonitor = jettyBootstrap.getServer().getBean(LowResourceMonitor.class);
+		Assert.assertNotNull(lowResourceMonitor);
+		ServerConnector serverConnector = (ServerConnector) jettyBootstrap.getServer().getConnectors()[0];
+
+		Assert.assertTrue(rawGet("GET /low/ HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 200"));
+		Assert.assertFalse(lowResourceMonitor.isLowOnResources());
+
+		try (Socket socket1 = new Socket(HOST, getPort()); Socket socket2 = new Socket(HOST, getPort())) {
+			long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+			while (!lowResourceMonitor.isLowOnResources() && System.currentTimeMillis() < timeout) {
+				Thread.sleep(10);
+			}
+			Assert.assertTrue(lowResourceMonitor.isLowOnResources());
+			Assert.assertFalse(serverConnector.isAccepting());
+		}
+
+		// accepts again once the connections are closed
+		long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+		while (lowResourceMonitor.isLowOnResources() && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		Assert.assertFalse(lowResourceMonitor.isLowOnResources());
+		Assert.assertTrue(serverConnector.isAccepting());
+		Assert.assertTrue(rawGet("GET /low/ HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 200"));
+	}
+
+	@Test
+	public void maxConnectionsTest() throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setMaxConnections(1);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/limit"));
+		jettyBootstrap.startServer();
+
+		ServerConnector serverConnector = (ServerConnector) jettyBootstrap.getServer().getConnectors()[0];
+		ConnectionLimiter connectionLimiter = serverConnector.getBean(ConnectionLimiter.class);
+		Assert.assertNotNull(connectionLimiter);
+		Assert.assertEquals(1, connectionLimiter.getMaxConnections());
+
+		try (Socket socket = new Socket(HOST, getPort())) {
+			long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+			while (serverConnector.isAccepting() && System.currentTimeMillis() < timeout) {
+				Thread.sleep(10);
+			}
+			Assert.assertFalse(serverConnector.isAccepting());
+			Assert.assertFalse(connectionLimiter.isAccepting());
+			Assert.assertEquals(1, connectionLimiter.getConnections());
+		}
+
+		long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+		while (!serverConnector.isAccepting() && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		Assert.assertTrue(serverConnector.isAccepting());
+		Assert.assertTrue(rawGet("GET /limit/ HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 200"));
+	}
+
+	@Test
+	public void combinedMaxConnectionsTest() throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setSslPort(SSL_PORT);
+		jettyConfiguration.setHttpMaxConnections(1);
+		jettyConfiguration.setMaxConnections(2);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration, JettyConnector.HTTP, JettyConnector.HTTPS);
+		jettyBootstrap.addHandler(createTestContext("/limit"));
+		jettyBootstrap.startServer();
+
+		ServerConnector httpConnector = (ServerConnector) jettyBootstrap.getServer().getConnectors()[0];
+		ServerConnector httpsConnector = (ServerConnector) jettyBootstrap.getServer().getConnectors()[1];
+
+		try (Socket httpSocket = new Socket(HOST, httpConnector.getLocalPort())) {
+			// the HTTP limit is reached
+			waitAccepting(httpConnector, false);
+			Assert.assertTrue(httpsConnector.isAccepting());
+
+			try (Socket httpsSocket = new Socket(HOST, httpsConnector.getLocalPort())) {
+				// the server-wide limit is reached
+				waitAccepting(httpsConnector, false);
+				Assert.assertFalse(httpConnector.isAccepting());
+			}
+
+			// the server-wide limit is released, but HTTP still holds its own
+			waitAccepting(httpsConnector, true);
+			Assert.assertFalse(httpConnector.isAccepting());
+			Assert.assertTrue(httpConnector.getBean(AcceptGate.class).isPaused());
+		}
+
+		waitAccepting(httpConnector, true);
+		Assert.assertTrue(rawGet("GET /limit/ HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 200"));
+	}
+
+	@Test
+	public void gracefulShutdownTest() throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setGracefulShutdown(true);
+		jettyConfiguration.setGracefulShutdownTimeout(5000);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createSleepContext("/drain", 500));
+		jettyBootstrap.startServer();
+
+		RequestDrainHandler requestDrainHandler = (RequestDrainHandler) jettyBootstrap.getServer().getHandler();
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> response = executorService.submit(() -> rawGet("GET /drain/ HTTP/1.0\r\n\r\n"));
+			waitActiveRequests(requestDrainHandler, 1);
+
+			jettyBootstrap.stopServer();
+
+			Assert.assertTrue(response.get().startsWith("HTTP/1.1 200"));
+			Assert.assertTrue(requestDrainHandler.isDraining());
+			Assert.assertEquals(0, requestDrainHandler.getAbortedRequests());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void gracefulShutdownTimeoutTest() throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setGracefulShutdown(true);
+		jettyConfiguration.setGracefulShutdownTimeout(100);
+		jettyConfiguration.setStopTimeout(0);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createSleepContext("/drain", 5000));
+		jettyBootstrap.startServer();
+
+		RequestDrainHandler requestDrainHandler = (RequestDrainHandler) jettyBootstrap.getServer().getHandler();
+
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			executorService.submit(() -> rawGet("GET /drain/ HTTP/1.0\r\n\r\n"));
+			waitActiveRequests(requestDrainHandler, 1);
+
+			jettyBootstrap.stopServer();
+
+			Assert.assertEquals(1, requestDrainHandler.getAbortedRequests());
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	public void drainDeadlineTest() throws Exception {
+		JettyConfiguration jettyConfiguration = new JettyConfiguration();
+		jettyConfiguration.setGracefulShutdown(true);
+
+		JettyBootstrap jettyBootstrap = initServer(false, jettyConfiguration);
+		jettyBootstrap.addHandler(createTestContext("/drain"));
+		jettyBootstrap.startServer();
+
+		RequestDrainHandler requestDrainHandler = (RequestDrainHandler) jettyBootstrap.getServer().getHandler();
+		String request = "GET /drain/ HTTP/1.1\r\nHost: " + HOST + "\r\n\r\n";
+
+		// served until the deadline, the keep-alive connection being closed
+		requestDrainHandler.drain();
+		String response = rawGet(request);
+		Assert.assertTrue(response.startsWith("HTTP/1.1 200"));
+		Assert.assertTrue(response.contains("Connection: close"));
+		Assert.assertEquals(0, requestDrainHandler.getRejectedRequests());
+
+		// rejected after it, once the response is completed on the server side
+		waitActiveRequests(requestDrainHandler, 0);
+		Assert.assertEquals(0, requestDrainHandler.expire());
+		response = rawGet(request);
+		Assert.assertTrue(response.startsWith("HTTP/1.1 503"));
+		Assert.assertTrue(response.contains("Connection: close"));
+		Assert.assertEquals(1, requestDrainHandler.getRejectedRequests());
+		Assert.assertEquals(0, requestDrainHandler.getAbortedRequests());
+	}
+
+	private static void waitActiveRequests(RequestDrainHandler requestDrainHandler, int activeRequests) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+		while (requestDrainHandler.getActiveRequests() != activeRequests && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(activeRequests, requestDrainHandler.getActiveRequests());
+	}
+
+	private static void waitAccepting(AbstractConnector connector, boolean accepting) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + SOCKET_TIMEOUT;
+		while (connector.isAccepting() != accepting && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(accepting, connector.isAccepting());
+	}
+
+	private static ServletContextHandler createSleepContext(String contextPath, long sleep) {
+		ServletContextHandler context = new ServletContextHandler();
+		context.setContextPath(contextPath);
+		context.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				try {
+					Thread.sleep(sleep);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				resp.getWriter().print("slept");
+			}
+		}), "/*");
+
+		return context;
+	}
+
+	@Test
+	public void contextRoutingTest() throws Exception {
+		JettyBootstrap jettyBootstrap = initServer(false);
+		// not a context, only called when no context handles the request
+		jettyBootstrap.addHandler(new AbstractHandler() {
+
+			@Override
+			public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+				baseRequest.setHandled(true);
+				response.getWriter().print("fallback");
+			}
+		});
+		jettyBootstrap.addHandler(createContextPathContext("/route"));
+		jettyBootstrap.addHandler(createContextPathContext("/route/sub"));
+		jettyBootstrap.addHandler(createContextPathContext("/routes"));
+		jettyBootstrap.startServer();
+
+		Assert.assertTrue(rawGet("GET /route/ HTTP/1.0\r\n\r\n").endsWith("\r\n\r\n/route"));
+		Assert.assertTrue(rawGet("GET /route/other HTTP/1.0\r\n\r\n").endsWith("\r\n\r\n/route"));
+		Assert.assertTrue(rawGet("GET /route/sub/ HTTP/1.0\r\n\r\n").endsWith("\r\n\r\n/route/sub"));
+		Assert.assertTrue(rawGet("GET /routes/ HTTP/1.0\r\n\r\n").endsWith("\r\n\r\n/routes"));
+		Assert.assertTrue(rawGet("GET /unknown HTTP/1.0\r\n\r\n").endsWith("\r\n\r\nfallback"));
+
+		// added once started
+		Assert.assertTrue(jettyBootstrap.addHandler(createContextPathContext("/late")).isStarted());
+		Assert.assertTrue(rawGet("GET /late/ HTTP/1.0\r\n\r\n").endsWith("\r\n\r\n/late"));
+	}
+
+	@Test
+	public void virtualHostTest() throws Exception {
+		JettyBootstrap jettyBootstrap = initServer(false);
+		jettyBootstrap.addHandler(createVirtualHostContext("/tenant", "default"));
+		jettyBootstrap.addHandler(createVirtualHostContext("/tenant", "a", "a.example.com"));
+		jettyBootstrap.addHandler(createVirtualHostContext("/tenant", "b", "*.b.example.com", "b.example.com"));
+		jettyBootstrap.addHandler(createVirtualHostContext("/", "a-root", "a.example.com"));
+		jettyBootstrap.addHandler(createVirtualHostContext("/api", "api"));
+		jettyBootstrap.startServer();
+
+		Assert.assertTrue(rawGet("GET /tenant/ HTTP/1.0\r\nHost: a.example.com\r\n\r\n").endsWith("\r\n\r\na"));
+		Assert.assertTrue(rawGet("GET /tenant/ HTTP/1.0\r\nHost: A.Example.com.:8080\r\n\r\n").endsWith("\r\n\r\na"));
+		Assert.assertTrue(rawGet("GET /other HTTP/1.0\r\nHost: a.example.com\r\n\r\n").endsWith("\r\n\r\na-root"));
+		// the host root context does not hide a more specific shared context
+		Assert.assertTrue(rawGet("GET /api/ HTTP/1.0\r\nHost: a.example.com\r\n\r\n").endsWith("\r\n\r\napi"));
+		Assert.assertTrue(rawGet("GET /api HTTP/1.0\r\nHost: a.example.com\r\n\r\n").contains(" 302 "));
+		Assert.assertTrue(rawGet("GET /apis HTTP/1.0\r\nHost: a.example.com\r\n\r\n").endsWith("\r\n\r\na-root"));
+		Assert.assertTrue(rawGet("GET /tenant/ HTTP/1.0\r\nHost: b.example.com\r\n\r\n").endsWith("\r\n\r\nb"));
+		Assert.assertTrue(rawGet("GET /tenant/ HTTP/1.0\r\nHost: www.b.example.com\r\n\r\n").endsWith("\r\n\r\nb"));
+		// wildcards only match one level of sub domain
+		Assert.assertTrue(rawGet("GET /tenant/ HTTP/1.0\r\nHost: a.www.b.example.com\r\n\r\n").endsWith("\r\n\r\ndefault"));
+		Assert.assertTrue(rawGet("GET /tenant/ HTTP/1.0\r\nHost: c.example.com\r\n\r\n").endsWith("\r\n\r\ndefault"));
+		Assert.assertTrue(rawGet("GET /tenant/ HTTP/1.0\r\n\r\n").endsWith("\r\n\r\ndefault"));
+	}
+
+	private static ServletContextHandler createVirtualHostContext(String contextPath, final String body, String... virtualHosts) {
+		ServletContextHandler context = new ServletContextHandler();
+		context.setContextPath(contextPath);
+		context.setVirtualHosts(virtualHosts.length == 0 ? null : virtualHosts);
+		context.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				resp.getWriter().print(body);
+			}
+		}), "/*");
+
+		return context;
+	}
+
+	private static ServletContextHandler createContextPathContext(String contextPath) {
+		ServletContextHandler context = new ServletContextHandler();
+		context.setContextPath(contextPath);
+		context.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				resp.getWriter().print(req.getContextPath());
+			}
+		}), "/*");
+
+		return context;
+	}
+
+	private String rawGet(String request) throws IOException, JettyBootstrapException {
+		try (Socket socket = new Socket(HOST, getPort())) {
+			socket.setSoTimeout(SOCKET_TIMEOUT);
+			socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+
+			return IOUtils.toString(socket.getInputStream(), StandardCharsets.US_ASCII.name());
+		}
+	}
+
+	private ServletContextHandler createRemoteAddrContext(String contextPath) {
+		ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
+		context.setContextPath(contextPath);
+		context.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+				response.setContentType("text/plain");
+				response.getWriter().print(request.getRemoteAddr());
+			}
+		}), "/*");
+
+		return context;
+	}
+
+	private ServletContextHandler createTestContext(String contextPath) {
+		ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
+		context.setContextPath(contextPath);
+		context.addServlet(new ServletHolder(new TestServlet()), "/*");
+
+		return context;
+	}
+}
@@ -21,8 +21,11 @@
  *******************************************************************************/
 package org.teknux.jettybootstrap.test.jettybootstrap;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.webapp.WebAppContext;
 import org.junit.Assert;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
@@ -33,9 +36,20 @@ import org.teknux.jettybootstrap.JettyBootstrapException;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
@@ -285,4 +299,182 @@ public class JettyBootstrapTest extends AbstractJettyBootstrapTest {
 		Assert.assertEquals(new SimpleResponse(200, "ServletTestContent" + LINE_SEPARATOR), get("/sslHandler"));
 	}
 
+	@Test
+	public void do21RedeployTest() throws Exception {
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+
+		JettyBootstrap jettyBootstrap = initServer(false);
+		WebAppContext webAppContext = jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/redeploy");
+		// only in the first deployment, its in-flight requests are completed before it is stopped
+		webAppContext.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				try {
+					Thread.sleep(500);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				resp.getWriter().print("slow");
+			}
+		}), "/slow");
+		jettyBootstrap.startServer();
+
+		Assert.assertEquals(new SimpleResponse(200, "StaticResContent\n"), get("/redeploy/index.html"));
+
+		FileUtils.writeStringToFile(new File(folder, "index.html"), "Redeployed\n");
+		FutureTask<SimpleResponse> slowRequest = new FutureTask<>(() -> get("/redeploy/slow"));
+		new Thread(slowRequest).start();
+		Thread.sleep(200);
+
+		List<WebAppContext> webAppContexts = jettyBootstrap.redeploy("/redeploy");
+
+		Assert.assertEquals(new SimpleResponse(200, "slow"), slowRequest.get(5, TimeUnit.SECONDS));
+		Assert.assertTrue(webAppContext.isStopped());
+		Assert.assertEquals(1, webAppContexts.size());
+		Assert.assertTrue(webAppContexts.get(0).isAvailable());
+		Assert.assertEquals(new SimpleResponse(200, "Redeployed\n"), get("/redeploy/index.html"));
+		Assert.assertEquals(new Integer(404), get("/redeploy/slow").getStatusCode());
+
+		// stopped with the server
+		jettyBootstrap.stopServer();
+		Assert.assertTrue(webAppContexts.get(0).isStopped());
+	}
+
+	@Test(expected = JettyBootstrapException.class)
+	public void do22RedeployUnknownContextPathTest() throws JettyBootstrapException, IOException {
+		JettyBootstrap jettyBootstrap = initServer(false);
+		jettyBootstrap.startServer();
+
+		jettyBootstrap.redeploy("/unknown");
+	}
+
+	@Test
+	public void do23UndeployTest() throws Exception {
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+
+		JettyBootstrap jettyBootstrap = initServer(false);
+		WebAppContext webAppContext = jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/undeploy");
+		jettyBootstrap.startServer();
+
+		Assert.assertEquals(new SimpleResponse(200, "StaticResContent\n"), get("/undeploy/index.html"));
+
+		Assert.assertEquals(1, jettyBootstrap.undeploy("/undeploy").size());
+		Assert.assertTrue(webAppContext.isStopped());
+		Assert.assertEquals(new Integer(404), get("/undeploy/index.html").getStatusCode());
+
+		// added again
+		jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/undeploy");
+		Assert.assertEquals(new SimpleResponse(200, "StaticResContent\n"), get("/undeploy/index.html"));
+	}
+
+	@Test
+	public void do24RedeployDrainNotBlockingTest() throws Exception {
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+
+		JettyBootstrap jettyBootstrap = initServer(false);
+		WebAppContext webAppContext = jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/redeploy");
+		final CountDownLatch latch = new CountDownLatch(1);
+		webAppContext.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				try {
+					latch.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				resp.getWriter().print("blocked");
+			}
+		}), "/blocked");
+		jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/other");
+		jettyBootstrap.startServer();
+
+		URL blockedUrl = new URL("http://" + HOST + ":" + getPort() + "/redeploy/blocked");
+		FutureTask<String> blockedRequest = new FutureTask<>(() -> IOUtils.toString(blockedUrl, StandardCharsets.UTF_8));
+		new Thread(blockedRequest).start();
+		Thread.sleep(200);
+
+		FutureTask<List<WebAppContext>> redeploy = new FutureTask<>(() -> jettyBootstrap.redeploy("/redeploy"));
+		new Thread(redeploy).start();
+
+		// swapped once the old deployment is no longer routed
+		long timeout = System.currentTimeMillis() + 5000;
+		while (Arrays.asList(jettyBootstrap.getServer().getChildHandlersByClass(WebAppContext.class)).contains(webAppContext)
+				&& System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(new Integer(404), get("/redeploy/blocked").getStatusCode());
+
+		// the drain of the old deployment does not block the other deployments
+		Assert.assertEquals(1, jettyBootstrap.undeploy("/other").size());
+		Assert.assertFalse(blockedRequest.isDone());
+		Assert.assertFalse(redeploy.isDone());
+
+		latch.countDown();
+		Assert.assertEquals("blocked", blockedRequest.get(5, TimeUnit.SECONDS));
+		Assert.assertEquals(1, redeploy.get(5, TimeUnit.SECONDS).size());
+		Assert.assertTrue(webAppContext.isStopped());
+	}
+
+	@Test
+	public void do25ConcurrentRedeployTest() throws Exception {
+		File folder = temporaryFolder.newFolder();
+		copyResourceToFile("/webapp", folder);
+
+		JettyBootstrap jettyBootstrap = initServer(false);
+		WebAppContext webAppContext = jettyBootstrap.addExplodedWarApp(folder.getPath(), null, "/redeploy");
+		final CountDownLatch latch = new CountDownLatch(1);
+		webAppContext.addServlet(new ServletHolder(new HttpServlet() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+				try {
+					latch.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				resp.getWriter().print("blocked");
+			}
+		}), "/blocked");
+		jettyBootstrap.startServer();
+
+		File marker = new File(webAppContext.getTempDirectory(), "marker");
+		Assert.assertTrue(marker.createNewFile());
+
+		URL blockedUrl = new URL("http://" + HOST + ":" + getPort() + "/redeploy/blocked");
+		FutureTask<String> blockedRequest = new FutureTask<>(() -> IOUtils.toString(blockedUrl, StandardCharsets.UTF_8));
+		new Thread(blockedRequest).start();
+		Thread.sleep(200);
+
+		// the first redeploy drains the blocked request
+		FutureTask<List<WebAppContext>> redeploy = new FutureTask<>(() -> jettyBootstrap.redeploy("/redeploy"));
+		new Thread(redeploy).start();
+		long timeout = System.currentTimeMillis() + 5000;
+		while (Arrays.asList(jettyBootstrap.getServer().getChildHandlersByClass(WebAppContext.class)).contains(webAppContext)
+				&& System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+
+		// the second one does not reuse the directory of the deployment still draining
+		List<WebAppContext> webAppContexts = jettyBootstrap.redeploy("/redeploy");
+		Assert.assertNotEquals(webAppContext.getTempDirectory(), webAppContexts.get(0).getTempDirectory());
+		Assert.assertTrue(marker.exists());
+		Assert.assertFalse(blockedRequest.isDone());
+
+		latch.countDown();
+		Assert.assertEquals("blocked", blockedRequest.get(5, TimeUnit.SECONDS));
+		Assert.assertEquals(1, redeploy.get(5, TimeUnit.SECONDS).size());
+		Assert.assertTrue(webAppContext.isStopped());
+		Assert.assertEquals(new SimpleResponse(200, "StaticResContent\n"), get("/redeploy/index.html"));
+	}
 }
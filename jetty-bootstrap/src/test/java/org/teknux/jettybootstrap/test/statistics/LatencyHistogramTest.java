@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * (C) Copyright 2014 Teknux.org (http://teknux.org/).
+ *  
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *  
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *  
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *  
+ * Contributors:
+ *      "Pierre PINON"
+ *      "Francois EYL"
+ *      "Laurent MARCHAL"
+ *  
+ *******************************************************************************/
+package org.teknux.jettybootstrap.test.statistics;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+import org.teknux.jettybootstrap.statistics.LatencyHistogram;
+
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class LatencyHistogramTest {
+
+    @Test
+    public void test01Empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getMax());
+        Assert.assertEquals(0, histogram.getMean(), 0);
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void test02ExactValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(10, histogram.getCount());
+        Assert.assertEquals(10, histogram.getMax());
+        Assert.assertEquals(5.5, histogram.getMean(), 0);
+        Assert.assertEquals(5, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(10, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void test03Percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-1);
+
+        assertNear(50000, histogram.getValueAtPercentile(50));
+        assertNear(99000, histogram.getValueAtPercentile(99));
+        assertNear(99900, histogram.getValueAtPercentile(99.9));
+        Assert.assertEquals(100000, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(100000, histogram.getMax());
+        Assert.assertEquals(100001, histogram.getCount());
+    }
+
+    @Test
+    public void test04Reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(50));
+
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    private static void assertNear(long expected, long actual) {
+        Assert.assertTrue("Expected about " + expected + " but was " + actual, actual >= expected && actual <= expected * 1.125);
+    }
+}